@@ -1,5 +1,14 @@
 package com.genvetclinic;
 
+import com.genvetclinic.services.DashboardService;
+import com.genvetclinic.services.DatabaseConnection;
+import com.genvetclinic.services.EntityStatusCountsDao;
+import com.genvetclinic.services.MicrochipIndex;
+import com.genvetclinic.services.NotificationService;
+import com.genvetclinic.services.OwnerIndex;
+import com.genvetclinic.services.SchemaMigrator;
+import com.genvetclinic.services.TransactionArchiver;
+import com.genvetclinic.utils.EffectsUtils;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -19,6 +28,15 @@ public class App extends Application {
 
     private static Scene scene;
 
+    /**
+     * Brings the database schema and the status counters up to date before any window opens.
+     */
+    @Override
+    public void init() {
+        SchemaMigrator.migrateOnStartup();
+        EntityStatusCountsDao.reconcileOnStartup();
+    }
+
     /**
      * Initializes the main application window.
      *
@@ -28,10 +46,26 @@ public class App extends Application {
     @Override
     public void start(Stage stage) throws IOException {
         scene = new Scene(loadFXML("vcms-login"), 695, 800);
+        EffectsUtils.applyStylesheet(scene);
 
         stage.setScene(scene);
         stage.show();
 
+        MicrochipIndex.warmInBackground();
+        OwnerIndex.rebuildInBackground();
+        NotificationService.startInBackground();
+        TransactionArchiver.startInBackground();
+
+    }
+
+    /**
+     * Releases application-wide resources when the application exits.
+     */
+    @Override
+    public void stop() {
+        DashboardService.shutdown();
+        TransactionArchiver.shutdown();
+        DatabaseConnection.shutdownPool();
     }
 
     /**
@@ -3,7 +3,11 @@ package com.genvetclinic.controllers;
 import java.sql.*;
 import java.time.*;
 import java.time.format.*;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import com.genvetclinic.models.Appointment;
 import com.genvetclinic.services.*;
@@ -11,7 +15,6 @@ import com.genvetclinic.utils.*;
 import javafx.collections.*;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.*;
 import javafx.scene.input.*;
 import javafx.scene.image.*;
 
@@ -26,13 +29,24 @@ import javafx.scene.image.*;
  * @version 1.0
  * @since 2023-11-19
  */
-public class AppointmentsPanelController {
+public class AppointmentsPanelController implements ReactivatablePanel, RecordPanel {
 
     private AppointmentDao appointmentDao;
-    private PersonnelDao personnelDao;
+    private AsyncTableLoader<Appointment> appointmentTableLoader;
     private DatabaseConnection databaseConnection;
     private Appointment lastSelectedAppointment;
 
+    // The assigned personnel menu shows a filter field and at most this many matching personnel.
+    private static final int PERSONNEL_MENU_LIMIT = 25;
+    private final PersonnelRoster personnelRoster = PersonnelRoster.getInstance();
+    private final Map<String, MenuItem> personnelMenuItems = new HashMap<>();
+    private long personnelMenuVersion = -1;
+    private TextField personnelFilterField;
+    private CustomMenuItem personnelFilterItem;
+
+    private static final String SCHEDULE_CONFLICT_STYLE_CLASS = "schedule-conflict";
+    private final AppointmentSchedule appointmentSchedule = AppointmentSchedule.getInstance();
+
     @FXML private TextField clientNameField;
     @FXML private TextField clientContactField;
     @FXML private MenuButton serviceRequiredMenu;
@@ -50,8 +64,8 @@ public class AppointmentsPanelController {
     @FXML private TableColumn<Appointment, String> clientContactColumn;
     @FXML private TableColumn<Appointment, String> serviceRequiredColumn;
     @FXML private TableColumn<Appointment, String> assignedPersonnelColumn;
-    @FXML private TableColumn<Appointment, String> appointmentDateColumn;
-    @FXML private TableColumn<Appointment, String> appointmentTimeColumn;
+    @FXML private TableColumn<Appointment, LocalDate> appointmentDateColumn;
+    @FXML private TableColumn<Appointment, LocalTime> appointmentTimeColumn;
     @FXML private TableColumn<Appointment, String> appointmentStatusColumn;
     @FXML private Button deleteAppointmentButton;
     @FXML private Button saveAppointmentButton;
@@ -63,7 +77,6 @@ public class AppointmentsPanelController {
         try {
             this.databaseConnection = new DatabaseConnection();
             this.appointmentDao = new AppointmentDao(databaseConnection);
-            this.personnelDao = new PersonnelDao(databaseConnection);
         } catch (SQLException e) {
             e.printStackTrace();
             AlertUtils.showErrorAlert("Error", "Unable to establish a database connection.");
@@ -77,17 +90,40 @@ public class AppointmentsPanelController {
     private void initialize() {
         
         initializeAppointmentTable();
+        appointmentTableLoader = new AsyncTableLoader<>(appointmentTableView, Appointment::getAppointmentId,
+                "No appointments found in the database.", "Unable to fetch appointments from the database.");
+        appointmentTableLoader.trackChanges(Appointment.class);
         populateAppointmentTable();
         enableAppointmentTableSelection();
         initializeAppStatusMenu();
         initializeServiceMenu();
+        initializePersonnelFilter();
         initializePersonnelMenu();
         initializeButtons();
         setupEventHandlers();
+        initializeAvailabilityCheck();
         setImageForIcons();
         addHoverEffect();
 
-        EffectsUtils.setTableSelectionColor(appointmentTableView, "#358856");
+        EffectsUtils.setTableSelectionStyle(appointmentTableView);
+    }
+
+    /**
+     * Brings the panel's data up to date when it is shown again from the panel cache; the table is only
+     * queried again if a write has not already been patched into it.
+     */
+    @Override
+    public void onPanelReactivated() {
+        appointmentTableLoader.reloadIfChanged();
+        initializePersonnelMenu();
+    }
+
+    /**
+     * Selects the record picked in the owner search.
+     */
+    @Override
+    public void showRecord(String id, String name) {
+        appointmentTableLoader.select(id);
     }
 
     /**
@@ -115,14 +151,14 @@ public class AppointmentsPanelController {
      * Initializes the appointments table by setting up the cell value factories for each column.
      */
     private void initializeAppointmentTable() {
-        appointmentIdColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentId"));
-        clientNameColumn.setCellValueFactory(new PropertyValueFactory<>("clientName"));
-        clientContactColumn.setCellValueFactory(new PropertyValueFactory<>("clientContact"));
-        serviceRequiredColumn.setCellValueFactory(new PropertyValueFactory<>("serviceRequired"));
-        assignedPersonnelColumn.setCellValueFactory(new PropertyValueFactory<>("assignedPersonnel"));
-        appointmentDateColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentDate"));
-        appointmentTimeColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentTime"));
-        appointmentStatusColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentStatus"));
+        ColumnBinding.bind(appointmentIdColumn, Appointment::getAppointmentId);
+        ColumnBinding.bind(clientNameColumn, Appointment::getClientName);
+        ColumnBinding.bind(clientContactColumn, Appointment::getClientContact);
+        ColumnBinding.bind(serviceRequiredColumn, Appointment::getServiceRequired);
+        ColumnBinding.bind(assignedPersonnelColumn, Appointment::getAssignedPersonnel);
+        ColumnBinding.bind(appointmentDateColumn, Appointment::getAppointmentDate);
+        ColumnBinding.bind(appointmentTimeColumn, Appointment::getAppointmentTime);
+        ColumnBinding.bind(appointmentStatusColumn, Appointment::getAppointmentStatus);
     }
 
     /**
@@ -180,8 +216,8 @@ public class AppointmentsPanelController {
      * Sets the image for icons.
      */
     private void setImageForIcons() {
-        Image createApptIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Add Appointment Icon.png"));
-        Image manageApptIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Manage Appointment Icon.png"));
+        Image createApptIcon = ImageCache.getImage("Add Appointment Icon.png", 32, 32);
+        Image manageApptIcon = ImageCache.getImage("Manage Appointment Icon.png", 32, 32);
         createApptconViewer.setImage(createApptIcon);
         manageApptIconViewer.setImage(manageApptIcon);
     }
@@ -247,11 +283,15 @@ public class AppointmentsPanelController {
             Appointment appointment = new Appointment(appointmentId, clientName, clientContact, serviceRequired,
                     assignedPersonnel, appointmentDate, appointmentTime, appointmentStatus);
 
-            // Add the appointment to the table view
-            appointmentTableView.getItems().add(appointment);
+            // Check that the assigned personnel is free for the whole slot
+            Optional<Appointment> conflict = appointmentSchedule.findConflict(appointment);
+            if (conflict.isPresent()) {
+                AlertUtils.showErrorAlert("Error", describeConflict(appointment, conflict.get()));
+                return;
+            }
 
-            // Save the appointment and show success message
-            appointmentDao.saveAppointment(appointment);
+            // Save the appointment, add it to the table view and show success message
+            appointmentTableLoader.applySaved(appointmentDao.saveAppointment(appointment));
             clearAppointmentFields();
             AlertUtils.showInformationAlert("Success", "Appointment created successfully.");
 
@@ -317,8 +357,14 @@ public class AppointmentsPanelController {
                         updatedClientContact, updatedServiceRequired, updatedAssignedPersonnel, updatedAppointmentDate,
                         updatedAppointmentTime, updatedAppointmentStatus);
 
-                appointmentDao.updateAppointment(selectedAppointment);
-                refreshAppointmentTable();
+                // Check that the assigned personnel is free for the whole slot
+                Optional<Appointment> conflict = appointmentSchedule.findConflict(selectedAppointment);
+                if (conflict.isPresent()) {
+                    AlertUtils.showErrorAlert("Error", describeConflict(selectedAppointment, conflict.get()));
+                    return;
+                }
+
+                appointmentTableLoader.applySaved(appointmentDao.updateAppointment(selectedAppointment));
                 AlertUtils.showInformationAlert("Success", "Appointment updated successfully.");
             } else {
                 // No changes were made
@@ -345,8 +391,9 @@ public class AppointmentsPanelController {
 
         if (confirmed) {
             try {
-                appointmentTableView.getItems().remove(selectedAppointment);
-                appointmentDao.deleteAppointment(selectedAppointment);
+                if (appointmentDao.deleteAppointment(selectedAppointment)) {
+                    appointmentTableLoader.applyDeleted(selectedAppointment);
+                }
                 clearAppointmentFields();
                 AlertUtils.showInformationAlert("Success", "Appointment deleted successfully.");
             } catch (Exception e) {
@@ -375,46 +422,11 @@ public class AppointmentsPanelController {
      * Populates the appointment table with data from the database.
      */
     private void populateAppointmentTable() {
-        try {
-            ObservableList<Appointment> appointments = FXCollections.observableArrayList();
-
-            try (Connection connection = databaseConnection.getConnection();
-                PreparedStatement statement = connection.prepareStatement("SELECT * FROM appointment");
-                ResultSet resultSet = statement.executeQuery()) {
-
-                while (resultSet.next()) {
-                    Appointment appointment = new Appointment(
-                            resultSet.getString("appointment_id"),
-                            resultSet.getString("client_name"),
-                            resultSet.getString("client_contact"),
-                            resultSet.getString("service_required"),
-                            resultSet.getString("assigned_personnel"),
-                            resultSet.getDate("appointment_date").toLocalDate(),
-                            resultSet.getTime("appointment_time").toLocalTime(),
-                            resultSet.getString("appointment_status")
-                    );
-
-                    appointments.add(appointment);
-                }
-            }
-
-            if (appointments.isEmpty()) {
-                appointmentTableView.setPlaceholder(new Label("No appointments found in the database."));
-            } else {
-                appointmentTableView.setItems(appointments);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            AlertUtils.showErrorAlert("Error", "Unable to fetch appointments from the database.");
-        }
-    }
-
-    /**
-     * Refreshes the appointment table by clearing and repopulating the data.
-     */
-    private void refreshAppointmentTable() {
-        appointmentTableView.getItems().clear();
-        populateAppointmentTable();
+        appointmentTableLoader.load(() -> {
+            ObservableList<Appointment> rows = FXCollections.observableArrayList();
+            appointmentDao.streamAppointments(rows::add);
+            return rows;
+        });
     }
 
     /**
@@ -480,25 +492,132 @@ public class AppointmentsPanelController {
     
     }
 
-    // Fill assigned aersonnel menu with personnel names + job titles from personnel table
+    // Adds a type-ahead field to the top of the assigned personnel menu
+    private void initializePersonnelFilter() {
+        personnelFilterField = new TextField();
+        personnelFilterField.setPromptText("Type to filter personnel");
+        personnelFilterField.textProperty().addListener((observable, oldText, newText) -> filterPersonnelMenu(newText));
+
+        // Enter assigns the first match
+        personnelFilterField.setOnAction(event -> assignedPersonnelMenu.getItems().stream()
+                .filter(item -> personnelMenuItems.containsValue(item))
+                .findFirst()
+                .ifPresent(item -> {
+                    handlePersonnelMenuItem(item.getText());
+                    assignedPersonnelMenu.hide();
+                }));
+
+        personnelFilterItem = new CustomMenuItem(personnelFilterField, false);
+        assignedPersonnelMenu.setOnShown(event -> personnelFilterField.requestFocus());
+        assignedPersonnelMenu.setOnHidden(event -> personnelFilterField.clear());
+    }
+
+    // Fill assigned personnel menu from the cached roster, unless it already shows the current roster
     private void initializePersonnelMenu() {
-        assignedPersonnelMenu.getItems().clear();
         try {
-            // Retrieve a list of personnel names with job titles from the database
-            List<String> personnelNamesWithJobTitle = personnelDao.getAllPersonnelNamesWithJobTitle();
-    
-            // Create menu items for each personnel name with job title
-            for (String fullNameWithJobTitle : personnelNamesWithJobTitle) {
-                MenuItem menuItem = new MenuItem(fullNameWithJobTitle);
-                menuItem.setOnAction(event -> handlePersonnelMenuItem(fullNameWithJobTitle));
-                assignedPersonnelMenu.getItems().add(menuItem);
+            if (personnelRoster.getVersion() != personnelMenuVersion) {
+                showPersonnelMenuItems(personnelFilterField.getText());
             }
         } catch (SQLException e) {
             e.printStackTrace();
-            // Handle the exception appropriately
+            AlertUtils.showErrorAlert("Error", "Unable to fetch personnel from the database.");
+        }
+    }
+
+    // Shows the personnel matching the filter field's text
+    private void filterPersonnelMenu(String query) {
+        try {
+            showPersonnelMenuItems(query);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            AlertUtils.showErrorAlert("Error", "Unable to fetch personnel from the database.");
         }
     }
+
+    private void showPersonnelMenuItems(String query) throws SQLException {
+        // Menu items are only recreated when the roster has changed
+        long version = personnelRoster.getVersion();
+        if (version != personnelMenuVersion) {
+            personnelMenuItems.clear();
+            for (String fullNameWithJobTitle : personnelRoster.getEntries()) {
+                MenuItem menuItem = new MenuItem(fullNameWithJobTitle);
+                menuItem.setOnAction(event -> handlePersonnelMenuItem(fullNameWithJobTitle));
+                personnelMenuItems.put(fullNameWithJobTitle, menuItem);
+            }
+            personnelMenuVersion = version;
+        }
+
+        List<MenuItem> items = new ArrayList<>();
+        items.add(personnelFilterItem);
+        items.add(new SeparatorMenuItem());
+        List<String> matches = personnelRoster.filter(query, PERSONNEL_MENU_LIMIT + 1);
+        for (String match : matches.subList(0, Math.min(matches.size(), PERSONNEL_MENU_LIMIT))) {
+            MenuItem menuItem = personnelMenuItems.get(match);
+            if (menuItem != null) {
+                items.add(menuItem);
+            }
+        }
+        if (matches.size() > PERSONNEL_MENU_LIMIT) {
+            MenuItem moreItem = new MenuItem("Keep typing to see more personnel...");
+            moreItem.setDisable(true);
+            items.add(moreItem);
+        }
+        assignedPersonnelMenu.getItems().setAll(items);
+    }
     
+    // Re-checks the assigned personnel's availability whenever the slot, personnel or status changes
+    private void initializeAvailabilityCheck() {
+        appointmentTimeField.textProperty().addListener((observable, oldValue, newValue) -> checkPersonnelAvailability());
+        appointmentDateField.valueProperty().addListener((observable, oldValue, newValue) -> checkPersonnelAvailability());
+        assignedPersonnelMenu.textProperty().addListener((observable, oldValue, newValue) -> checkPersonnelAvailability());
+        appointmentStatusMenu.textProperty().addListener((observable, oldValue, newValue) -> checkPersonnelAvailability());
+    }
+
+    // Flags the time field while the assigned personnel is booked for an overlapping slot. Only the in-memory
+    // schedule is consulted; slots outside its window are checked against the database when the appointment is saved.
+    private void checkPersonnelAvailability() {
+        LocalDate appointmentDate = appointmentDateField.getValue();
+        LocalTime appointmentTime = ParseUtils.parseLocalTime(appointmentTimeField.getText());
+        String assignedPersonnel = assignedPersonnelMenu.getText();
+        String conflictMessage = null;
+
+        if (appointmentDate != null && appointmentTime != null && !"Assigned Personnel".equals(assignedPersonnel)) {
+            Appointment selectedAppointment = appointmentTableView.getSelectionModel().getSelectedItem();
+            Appointment appointment = new Appointment(
+                    selectedAppointment != null ? selectedAppointment.getAppointmentId() : null, null, null, null,
+                    assignedPersonnel, appointmentDate, appointmentTime, appointmentStatusMenu.getText());
+            Optional<Appointment> conflict = appointmentSchedule.findKnownConflict(appointment);
+            if (conflict.isPresent()) {
+                conflictMessage = describeConflict(appointment, conflict.get());
+            }
+        }
+
+        if (conflictMessage != null) {
+            if (!appointmentTimeField.getStyleClass().contains(SCHEDULE_CONFLICT_STYLE_CLASS)) {
+                appointmentTimeField.getStyleClass().add(SCHEDULE_CONFLICT_STYLE_CLASS);
+            }
+            appointmentTimeField.setTooltip(new Tooltip(conflictMessage));
+        } else {
+            appointmentTimeField.getStyleClass().remove(SCHEDULE_CONFLICT_STYLE_CLASS);
+            appointmentTimeField.setTooltip(null);
+        }
+    }
+
+    // Describes a double booking and suggests the assigned personnel's next free slot
+    private String describeConflict(Appointment appointment, Appointment conflict) {
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+        LocalDateTime conflictStart = LocalDateTime.of(conflict.getAppointmentDate(), conflict.getAppointmentTime());
+        Optional<LocalDateTime> nextFreeSlot = appointmentSchedule.findNextFreeSlot(appointment.getAssignedPersonnel(),
+                LocalDateTime.of(appointment.getAppointmentDate(), appointment.getAppointmentTime()),
+                appointment.getAppointmentId());
+
+        return appointment.getAssignedPersonnel() + " already has an appointment on " + conflict.getAppointmentDate()
+                + " from " + conflictStart.format(timeFormatter) + " to "
+                + conflictStart.plus(AppointmentSchedule.SLOT_LENGTH).format(timeFormatter) + "."
+                + nextFreeSlot.map(slot -> " The next free slot is on " + slot.toLocalDate() + " at "
+                        + slot.format(timeFormatter) + ".").orElse("");
+    }
+
     /**
      * Clears all the appointment fields.
      */    
@@ -0,0 +1,299 @@
+package com.genvetclinic.controllers;
+
+import com.genvetclinic.services.EventBus;
+import com.genvetclinic.utils.AlertUtils;
+import com.genvetclinic.utils.PagedObservableList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+
+/**
+ * The {@code AsyncTableLoader} class fills a {@link TableView} from a database query without blocking
+ * the JavaFX Application Thread, and keeps it in step with the database after single-row writes.
+ *
+ * <p>Each call to {@link #load(TableQuery)} runs the query on a shared pool of background threads while
+ * the table shows a progress indicator as its placeholder. When the query completes, its rows are
+ * applied with a single {@code setItems} call. Starting a new load cancels the previous one, and the
+ * result of a superseded load is never applied, so a slow query cannot overwrite newer data.
+ *
+ * <p>After a row is saved, updated or deleted, {@link #applySaved(Object)} and {@link #applyDeleted(Object)}
+ * patch that one row in the table's list, matching rows by key, instead of reloading the whole table.
+ * The table is only reloaded when the change cannot be patched, for example while a load is still running.
+ *
+ * <p>A loader that {@link #trackChanges(Class) tracks} a model class counts the writes the DAOs publish on the
+ * {@link EventBus} for it. Every load and every patched row catches the table up by one, so
+ * {@link #reloadIfChanged()} only runs the query again when some write has not reached the table, such as a
+ * write made from another panel or rows moved by the transaction archiver.
+ *
+ * @param <T> the type of the table rows.
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class AsyncTableLoader<T> {
+
+    /**
+     * Runs a query for a table. Called on a background thread.
+     *
+     * @param <T> the type of the table rows.
+     */
+    @FunctionalInterface
+    public interface TableQuery<T> {
+        List<T> fetch() throws Exception;
+    }
+
+    /**
+     * The number of threads running table queries, shared by every panel.
+     */
+    private static final int LOADER_THREADS = 3;
+
+    private static final ExecutorService TABLE_LOADER = createTableLoader();
+
+    private final TableView<T> tableView;
+    private final Function<? super T, ?> rowKey;
+    private final String emptyMessage;
+    private final String errorMessage;
+
+    private Task<ObservableList<T>> currentLoad;
+    private TableQuery<T> lastQuery;
+
+    // The key of the row to select once the running load has finished
+    private Object pendingSelection;
+
+    // Writes published for the tracked model class, and how many of them the table already shows
+    private final AtomicLong publishedChanges = new AtomicLong();
+    private long appliedChanges;
+
+    // Held here because the event bus only holds it weakly, so a dropped panel is not kept alive by the bus
+    private Consumer<Object> changeCounter;
+
+    /**
+     * Constructs a new {@code AsyncTableLoader} for the specified table.
+     *
+     * @param tableView    the table to fill.
+     * @param rowKey       returns the key identifying a row, usually its database ID.
+     * @param emptyMessage the placeholder text shown when the query returns no rows.
+     * @param errorMessage the message of the error alert shown when the query fails, or {@code null}
+     *                     to only log the failure.
+     */
+    public AsyncTableLoader(TableView<T> tableView, Function<? super T, ?> rowKey, String emptyMessage,
+            String errorMessage) {
+        this.tableView = tableView;
+        this.rowKey = rowKey;
+        this.emptyMessage = emptyMessage;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Runs the query in the background and replaces the table's items with its rows, cancelling any
+     * load still running for this table.
+     *
+     * @param query the query that fetches the rows.
+     */
+    public void load(TableQuery<T> query) {
+        load(query, null);
+    }
+
+    /**
+     * Runs the query in the background like {@link #load(TableQuery)}, then runs the callback on the
+     * JavaFX Application Thread once the rows are in the table. The callback is skipped if the load fails
+     * or is superseded by a newer one.
+     *
+     * @param query    the query that fetches the rows.
+     * @param onLoaded the callback to run after the rows have been set, or {@code null}.
+     */
+    public void load(TableQuery<T> query, Runnable onLoaded) {
+        if (currentLoad != null) {
+            currentLoad.cancel();
+        }
+        lastQuery = query;
+        appliedChanges = publishedChanges.get();
+
+        Task<ObservableList<T>> task = new Task<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            protected ObservableList<T> call() throws Exception {
+                List<T> rows = query.fetch();
+                return rows instanceof ObservableList ? (ObservableList<T>) rows : FXCollections.observableArrayList(rows);
+            }
+        };
+        currentLoad = task;
+
+        ProgressIndicator progressIndicator = new ProgressIndicator();
+        progressIndicator.setMaxSize(40, 40);
+        tableView.setPlaceholder(progressIndicator);
+
+        task.setOnSucceeded(event -> {
+            if (task != currentLoad) {
+                return;
+            }
+            currentLoad = null;
+            tableView.setPlaceholder(new Label(emptyMessage));
+            tableView.setItems(task.getValue());
+            if (onLoaded != null) {
+                onLoaded.run();
+            }
+            if (pendingSelection != null) {
+                selectRow(pendingSelection);
+                pendingSelection = null;
+            }
+        });
+
+        task.setOnFailed(event -> {
+            if (task != currentLoad) {
+                return;
+            }
+            currentLoad = null;
+            task.getException().printStackTrace();
+            tableView.setPlaceholder(new Label(emptyMessage));
+            if (errorMessage != null) {
+                AlertUtils.showErrorAlert("Error", errorMessage);
+            }
+        });
+
+        TABLE_LOADER.execute(task);
+    }
+
+    /**
+     * Runs the last query again. Used when the user explicitly asks for fresh data.
+     */
+    public void reload() {
+        if (lastQuery != null) {
+            load(lastQuery);
+        }
+    }
+
+    /**
+     * Counts the writes published on the {@link EventBus} for a model class, so that
+     * {@link #reloadIfChanged()} can tell whether the table has fallen behind. The bus holds the subscription
+     * weakly, so it ends once the panel owning this loader is no longer referenced.
+     *
+     * @param entityType the model class shown in the table.
+     * @param <E>        the model class.
+     */
+    public <E> void trackChanges(Class<E> entityType) {
+        changeCounter = event -> publishedChanges.incrementAndGet();
+        EventBus.getInstance().subscribeWeakly(entityType, changeCounter);
+    }
+
+    /**
+     * Runs the last query again if a write to the tracked model class has been published since the table was
+     * loaded and has not been patched in. Used when a cached panel is shown again.
+     */
+    public void reloadIfChanged() {
+        if (publishedChanges.get() > appliedChanges) {
+            reload();
+        }
+    }
+
+    /**
+     * Shows a row that has just been saved or updated, replacing the row with the same key or adding it
+     * at the end of the table.
+     *
+     * @param row the row as persisted.
+     */
+    public void applySaved(T row) {
+        ObservableList<T> rows = tableView.getItems();
+        int index = indexOfRow(rows, rowKey.apply(row));
+        if (isLoading() || (index < 0 && rows instanceof PagedObservableList)) {
+            reload();
+        } else if (index >= 0) {
+            rows.set(index, row);
+            markChangeApplied();
+        } else {
+            rows.add(row);
+            markChangeApplied();
+        }
+    }
+
+    /**
+     * Removes a row that has just been deleted.
+     *
+     * @param row the deleted row.
+     */
+    public void applyDeleted(T row) {
+        ObservableList<T> rows = tableView.getItems();
+        if (isLoading() || rows instanceof PagedObservableList) {
+            reload();
+            return;
+        }
+        int index = indexOfRow(rows, rowKey.apply(row));
+        if (index >= 0) {
+            rows.remove(index);
+        }
+        markChangeApplied();
+    }
+
+    /**
+     * Selects the row with the given key and scrolls it into view. If a load is running, the row is
+     * selected once the load has finished. Nothing is selected if the table has no such row.
+     *
+     * @param key the key of the row to select.
+     */
+    public void select(Object key) {
+        if (isLoading()) {
+            pendingSelection = key;
+        } else {
+            selectRow(key);
+        }
+    }
+
+    /**
+     * Checks whether a load is still running for this table.
+     *
+     * @return {@code true} if a load has been started and has not completed.
+     */
+    public boolean isLoading() {
+        return currentLoad != null;
+    }
+
+    private void selectRow(Object key) {
+        int index = indexOfRow(tableView.getItems(), key);
+        if (index >= 0) {
+            tableView.getSelectionModel().clearAndSelect(index);
+            tableView.scrollTo(index);
+        }
+    }
+
+    // The write behind a patched row has been published already; never count past what was published.
+    private void markChangeApplied() {
+        appliedChanges = Math.min(appliedChanges + 1, publishedChanges.get());
+    }
+
+    // Paged lists are only searched in memory, so a lookup never fetches the whole table.
+    @SuppressWarnings("unchecked")
+    private int indexOfRow(ObservableList<T> rows, Object key) {
+        if (rows instanceof PagedObservableList) {
+            return ((PagedObservableList<T>) rows).indexOfCached(row -> row != null && Objects.equals(key, rowKey.apply(row)));
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            if (Objects.equals(key, rowKey.apply(rows.get(i)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ExecutorService createTableLoader() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(LOADER_THREADS, LOADER_THREADS, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "vcms-table-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -6,7 +6,6 @@ import com.genvetclinic.utils.*;
 import javafx.collections.*;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.MouseButton;
 import javafx.scene.image.*;
 import java.math.BigDecimal;
@@ -24,9 +23,10 @@ import java.time.*;
  * @version 1.0
  * @since 2023-11-19
  */
-public class BoardersPanelController {
+public class BoardersPanelController implements ReactivatablePanel, RecordPanel {
 
     private BoarderDao boarderDao;
+    private AsyncTableLoader<Boarder> boarderTableLoader;
     private DatabaseConnection databaseConnection;
     private Boarder lastSelectedBoarder;
 
@@ -57,15 +57,15 @@ public class BoardersPanelController {
     @FXML private TableColumn<Boarder, String> boarderSpeciesColumn;
     @FXML private TableColumn<Boarder, String> boarderBreedColumn;
     @FXML private TableColumn<Boarder, String> boarderColorColumn;
-    @FXML private TableColumn<Boarder, Number> boarderAgeColumn;
+    @FXML private TableColumn<Boarder, BigDecimal> boarderAgeColumn;
     @FXML private TableColumn<Boarder, String> boarderGenderColumn;
-    @FXML private TableColumn<Boarder, Number> boarderWeightColumn;
+    @FXML private TableColumn<Boarder, BigDecimal> boarderWeightColumn;
     @FXML private TableColumn<Boarder, String> brdrOwnerNameColumn;
     @FXML private TableColumn<Boarder, String> brdrOwnerContactColumn;
     @FXML private TableColumn<Boarder, String> brdrOwnerAddColumn;
     @FXML private TableColumn<Boarder, String> brdrOwnerEmailColumn;
-    @FXML private TableColumn<Boarder, String> departureDateColumn;
-    @FXML private TableColumn<Boarder, String> boardAdmitColumn;
+    @FXML private TableColumn<Boarder, LocalDate> departureDateColumn;
+    @FXML private TableColumn<Boarder, LocalDate> boardAdmitColumn;
 
     /**
      * Initializes the Boarders Panel Controller.
@@ -86,6 +86,9 @@ public class BoardersPanelController {
     private void initialize() {
         
         initializeBoarderTable();
+        boarderTableLoader = new AsyncTableLoader<>(boarderTableView, Boarder::getBoarderId,
+                "No boarders found.", "Unable to fetch boarders from the database.");
+        boarderTableLoader.trackChanges(Boarder.class);
         populateBoarderTable();
         enableBoarderTableSelection();
         initializeGenderMenu();
@@ -94,7 +97,24 @@ public class BoardersPanelController {
         setImageForIcons();
         addHoverEffect();
 
-        EffectsUtils.setTableSelectionColor(boarderTableView, "#358856");
+        EffectsUtils.setTableSelectionStyle(boarderTableView);
+    }
+
+    /**
+     * Brings the panel's data up to date when it is shown again from the panel cache; the table is only
+     * queried again if a write has not already been patched into it.
+     */
+    @Override
+    public void onPanelReactivated() {
+        boarderTableLoader.reloadIfChanged();
+    }
+
+    /**
+     * Selects the record picked in the owner search.
+     */
+    @Override
+    public void showRecord(String id, String name) {
+        boarderTableLoader.select(id);
     }
 
     /**
@@ -119,20 +139,20 @@ public class BoardersPanelController {
      * Initializes the boarder table by setting the cell value factories for each column.
      */    
     private void initializeBoarderTable() {
-        boarderIdColumn.setCellValueFactory(new PropertyValueFactory<>("boarderId"));
-        boarderNameColumn.setCellValueFactory(new PropertyValueFactory<>("boarderName"));
-        boarderSpeciesColumn.setCellValueFactory(new PropertyValueFactory<>("boarderSpecies"));
-        boarderBreedColumn.setCellValueFactory(new PropertyValueFactory<>("boarderBreed"));
-        boarderColorColumn.setCellValueFactory(new PropertyValueFactory<>("boarderColor"));
-        boarderAgeColumn.setCellValueFactory(new PropertyValueFactory<>("boarderAge"));
-        boarderGenderColumn.setCellValueFactory(new PropertyValueFactory<>("boarderGender"));
-        boarderWeightColumn.setCellValueFactory(new PropertyValueFactory<>("boarderWeight"));
-        brdrOwnerNameColumn.setCellValueFactory(new PropertyValueFactory<>("brdrOwnerName"));
-        brdrOwnerContactColumn.setCellValueFactory(new PropertyValueFactory<>("brdrOwnerContact"));
-        brdrOwnerEmailColumn.setCellValueFactory(new PropertyValueFactory<>("brdrOwnerEmail"));
-        brdrOwnerAddColumn.setCellValueFactory(new PropertyValueFactory<>("brdrOwnerAddress"));
-        departureDateColumn.setCellValueFactory(new PropertyValueFactory<>("dateDeparted"));
-        boardAdmitColumn.setCellValueFactory(new PropertyValueFactory<>("boardedDate"));
+        ColumnBinding.bind(boarderIdColumn, Boarder::getBoarderId);
+        ColumnBinding.bind(boarderNameColumn, Boarder::getBoarderName);
+        ColumnBinding.bind(boarderSpeciesColumn, Boarder::getBoarderSpecies);
+        ColumnBinding.bind(boarderBreedColumn, Boarder::getBoarderBreed);
+        ColumnBinding.bind(boarderColorColumn, Boarder::getBoarderColor);
+        ColumnBinding.bind(boarderAgeColumn, Boarder::getBoarderAge);
+        ColumnBinding.bind(boarderGenderColumn, Boarder::getBoarderGender);
+        ColumnBinding.bind(boarderWeightColumn, Boarder::getBoarderWeight);
+        ColumnBinding.bind(brdrOwnerNameColumn, Boarder::getBrdrOwnerName);
+        ColumnBinding.bind(brdrOwnerContactColumn, Boarder::getBrdrOwnerContact);
+        ColumnBinding.bind(brdrOwnerEmailColumn, Boarder::getBrdrOwnerEmail);
+        ColumnBinding.bind(brdrOwnerAddColumn, Boarder::getBrdrOwnerAddress);
+        ColumnBinding.bind(departureDateColumn, Boarder::getDateDeparted);
+        ColumnBinding.bind(boardAdmitColumn, Boarder::getBoardedDate);
     }
 
     /**
@@ -189,8 +209,8 @@ public class BoardersPanelController {
      * Sets the image for icons.
      */
     private void setImageForIcons() {
-        Image admitBoarderIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Add Boarder 2.png"));
-        Image manageBoarderIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Manage Boarder Icon.png"));
+        Image admitBoarderIcon = ImageCache.getImage("Add Boarder 2.png", 32, 32);
+        Image manageBoarderIcon = ImageCache.getImage("Manage Boarder Icon.png", 32, 32);
         admitBoarderIconViewer.setImage(admitBoarderIcon);
         manageBoarderIconViewer.setImage(manageBoarderIcon);
     }
@@ -279,8 +299,7 @@ public class BoardersPanelController {
                 );
 
                 // Save the boarder and show success message
-                boarderDao.saveBoarder(newBoarder);
-                populateBoarderTable();
+                boarderTableLoader.applySaved(boarderDao.saveBoarder(newBoarder));
                 clearBoarderFields();
                 AlertUtils.showInformationAlert("Success", "Boarder added successfully.");
             }
@@ -376,8 +395,7 @@ public class BoardersPanelController {
 
                 // Try to update the boarder in the database
                 try {
-                    boarderDao.updateBoarder(updatedBoarder);
-                    refreshBoarderTable();
+                    boarderTableLoader.applySaved(boarderDao.updateBoarder(updatedBoarder));
                     AlertUtils.showInformationAlert("Success", "Boarder information updated successfully.");
                 } catch (SQLException e) {
                     e.printStackTrace();
@@ -404,8 +422,9 @@ public class BoardersPanelController {
 
         if (confirmed) {
             try {
-                boarderTableView.getItems().remove(selectedBoarder);
-                boarderDao.deleteBoarder(selectedBoarder);
+                if (boarderDao.deleteBoarder(selectedBoarder)) {
+                    boarderTableLoader.applyDeleted(selectedBoarder);
+                }
                 clearBoarderFields();
                 AlertUtils.showInformationAlert("Success", "Boarder deleted successfully.");
             } catch (Exception e) {
@@ -441,53 +460,11 @@ public class BoardersPanelController {
      * Populates the boarder table with data from the database.
      */
     private void populateBoarderTable() {
-        try {
-            ObservableList<Boarder> boarders = FXCollections.observableArrayList();
-    
-            try (Connection connection = databaseConnection.getConnection();
-                 PreparedStatement statement = connection.prepareStatement("SELECT * FROM boarders");
-                 ResultSet resultSet = statement.executeQuery()) {
-    
-                while (resultSet.next()) {
-                    Boarder boarder = new Boarder(
-                            resultSet.getString("boarder_id"),
-                            resultSet.getString("boarder_name"),
-                            resultSet.getString("boarder_species"),
-                            resultSet.getString("boarder_breed"),
-                            resultSet.getString("boarder_color"),
-                            resultSet.getString("b_special_instructions"),
-                            resultSet.getString("b_owner_name"),
-                            resultSet.getString("b_owner_contact"),
-                            resultSet.getString("b_owner_address"),
-                            resultSet.getDate("date_boarded").toLocalDate(),
-                            resultSet.getBigDecimal("boarder_age"),
-                            resultSet.getString("boarder_gender"),
-                            resultSet.getBigDecimal("boarder_weight"),
-                            resultSet.getDate("date_departed").toLocalDate(),
-                            resultSet.getString("b_owner_email")
-                    );
-    
-                    boarders.add(boarder);
-                }
-            }
-    
-            if (boarders.isEmpty()) {
-                boarderTableView.setPlaceholder(new Label("No boarders found."));
-            } else {
-                boarderTableView.setItems(boarders);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            AlertUtils.showErrorAlert("Error", "Unable to fetch boarders from the database.");
-        }
-    }    
-
-    /**
-     * Refreshes the boarder table.
-     */
-    private void refreshBoarderTable() {
-        boarderTableView.getItems().clear();
-        populateBoarderTable();
+        boarderTableLoader.load(() -> {
+            ObservableList<Boarder> rows = FXCollections.observableArrayList();
+            boarderDao.streamBoarders(rows::add);
+            return rows;
+        });
     }
 
     /**
@@ -1,12 +1,28 @@
 package com.genvetclinic.controllers;
 
+import com.genvetclinic.services.OwnerIndex;
+import com.genvetclinic.utils.ImageCache;
+import com.genvetclinic.utils.PanelCache;
+import com.genvetclinic.utils.PanelCache.CachedPanel;
+import com.genvetclinic.utils.PanelPrewarmer;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javafx.concurrent.Task;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Side;
 import javafx.scene.control.*;
 import javafx.scene.image.*;
 import javafx.scene.layout.Pane;
-import javafx.scene.input.MouseEvent;
 
 /**
  * The {@code DashboardController} class is responsible for managing the veterinary clinic's dashboard
@@ -16,12 +32,77 @@ import javafx.scene.input.MouseEvent;
  * <p>The class uses JavaFX components for UI elements, including buttons, images, and progress indicators.
  * It asynchronously loads different panels using JavaFX Task and ProgressIndicator.
  *
+ * <p>Loaded panels are kept in a {@link PanelCache}, so switching back to a panel shows the existing
+ * scene graph and controller instead of loading its FXML again. Panel controllers that implement
+ * {@link ReactivatablePanel} are told when they are shown again so they can refresh their data.
+ *
  * @author vcms-group
  * @version 1.0
  * @since 2023-11-19
  */
 public class DashboardController {
-    
+
+    /**
+     * The maximum number of loaded panels kept alive by the panel cache.
+     */
+    private static final int MAX_CACHED_PANELS = 8;
+    /**
+     * The number of threads loading panel FXML in the background.
+     */
+    private static final int PANEL_LOADER_THREADS = 2;
+    /**
+     * The maximum number of panel loads waiting for a loader thread.
+     */
+    private static final int PANEL_LOADER_QUEUE_SIZE = 16;
+
+    /**
+     * Panels warmed in the background after login, most visited first. The list leaves room in the
+     * panel cache for the dashboard panel itself.
+     */
+    static final List<String> PREWARM_PANELS = List.of(
+            "/com/genvetclinic/ui/vcms-patientspanel.fxml",
+            "/com/genvetclinic/ui/vcms-appointmentspanel.fxml",
+            "/com/genvetclinic/ui/vcms-transactionspanel.fxml",
+            "/com/genvetclinic/ui/vcms-boarderspanel.fxml",
+            "/com/genvetclinic/ui/vcms-inventorypanel.fxml",
+            "/com/genvetclinic/ui/vcms-personnelpanel.fxml",
+            "/com/genvetclinic/ui/vcms-kennelspanel.fxml");
+
+    /**
+     * Loads panel FXML off the JavaFX Application Thread, shared by every dashboard window.
+     */
+    private static final ExecutorService PANEL_LOADER = createPanelLoader();
+
+    /**
+     * Marks the sidebar button of the panel being shown; styled in the application stylesheet.
+     */
+    private static final PseudoClass ACTIVE_NAV = PseudoClass.getPseudoClass("active-nav");
+
+    /**
+     * The most records listed under the owner search box.
+     */
+    private static final int MAX_OWNER_SEARCH_RESULTS = 15;
+
+    private final PanelCache panelCache = new PanelCache(MAX_CACHED_PANELS);
+
+    private final ContextMenu ownerSearchResults = new ContextMenu();
+
+    /**
+     * The record picked in the owner search, selected once its panel is shown, and the FXML file of that panel.
+     */
+    private OwnerIndex.Entry pendingRecord;
+    private String pendingRecordPanel;
+
+    /**
+     * Panel loads that are still running, keyed by FXML file, so repeated clicks do not load a panel twice.
+     */
+    private final Map<String, Task<CachedPanel>> pendingLoads = new HashMap<>();
+
+    /**
+     * The panel most recently requested by the user; loads for any other panel are not shown when they finish.
+     */
+    private String requestedPanel;
+
     // FXML injection for various UI elements...
     @FXML private Button sidebarDashboardButton;
     @FXML private Button sidebarPatientButton;
@@ -33,6 +114,7 @@ public class DashboardController {
     @FXML private Button sidebarPersonnelButton;
     @FXML private Button sidebarProfileButton;
     @FXML private Button sidebarBoarderButton;
+    @FXML private TextField ownerSearchField;
     @FXML private ImageView logoImageViewer;
     @FXML private ImageView dashboardIconViewer;
     @FXML private ImageView patientsIconViewer;
@@ -56,57 +138,145 @@ public class DashboardController {
         loadPanel("/com/genvetclinic/ui/vcms-dashboardpanel.fxml");
         setImageforIcons();
         setupEventhandler();
+        initializeOwnerSearch();
+
+        PanelPrewarmer prewarmer = PanelPrewarmer.current();
+        if (prewarmer != null) {
+            prewarmer.handTo(this::adoptPrewarmedPanel);
+        }
     }
 
     /**
-     * Loads a specified FXML panel into the content loader pane with a loading progress indicator.
+     * Shows a specified FXML panel in the content loader pane. Panels already in the panel cache are shown
+     * immediately; other panels are loaded in the background with a loading progress indicator.
      *
      * @param fxmlFileName the file path of the FXML panel to load.
      */
     private void loadPanel(String fxmlFileName) {
-        loadingProgressBar.setStyle("-fx-progress-color: #358856;");
+        requestedPanel = fxmlFileName;
+        if (!fxmlFileName.equals(pendingRecordPanel)) {
+            pendingRecord = null;
+        }
+
+        CachedPanel cachedPanel = panelCache.get(fxmlFileName);
+        if (cachedPanel != null) {
+            showPanel(cachedPanel, true);
+            return;
+        }
+
         loadingProgressBar.setVisible(true);
 
-        Task<Pane> task = new Task<>() {
+        if (pendingLoads.containsKey(fxmlFileName)) {
+            return;
+        }
+
+        Task<CachedPanel> task = new Task<>() {
             @Override
-            protected Pane call() throws Exception {
+            protected CachedPanel call() throws Exception {
                 FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlFileName));
-                return loader.load();
+                Pane pane = loader.load();
+                return new CachedPanel(pane, loader.getController());
             }
         };
 
         loadingProgressBar.progressProperty().bind(task.progressProperty());
 
         task.setOnSucceeded(event -> {
-            Pane newPane = task.getValue();
-            contentLoaderPane.getChildren().setAll(newPane);
-            loadingProgressBar.setVisible(false);
+            pendingLoads.remove(fxmlFileName);
+            panelCache.put(fxmlFileName, task.getValue());
+            if (fxmlFileName.equals(requestedPanel)) {
+                showPanel(task.getValue(), false);
+            }
         });
 
         task.setOnFailed(event -> {
+            pendingLoads.remove(fxmlFileName);
             Throwable exception = task.getException();
             exception.printStackTrace();
-            loadingProgressBar.setVisible(false);
+            if (fxmlFileName.equals(requestedPanel)) {
+                loadingProgressBar.setVisible(false);
+            }
         });
 
-        new Thread(task).start();
+        pendingLoads.put(fxmlFileName, task);
+        try {
+            PANEL_LOADER.execute(task);
+        } catch (RejectedExecutionException e) {
+            pendingLoads.remove(fxmlFileName);
+            e.printStackTrace();
+            loadingProgressBar.setVisible(false);
+        }
+    }
+
+    /**
+     * Places a loaded panel in the content loader pane.
+     *
+     * @param panel       the panel to show.
+     * @param reactivated {@code true} if the panel came from the panel cache rather than a fresh load.
+     */
+    private void showPanel(CachedPanel panel, boolean reactivated) {
+        contentLoaderPane.getChildren().setAll(panel.getPane());
+        loadingProgressBar.setVisible(false);
+
+        if (reactivated && panel.getController() instanceof ReactivatablePanel) {
+            ((ReactivatablePanel) panel.getController()).onPanelReactivated();
+        }
+        if (pendingRecord != null && panel.getController() instanceof RecordPanel) {
+            ((RecordPanel) panel.getController()).showRecord(pendingRecord.getId(), pendingRecord.getName());
+            pendingRecord = null;
+        }
+    }
+
+    /**
+     * Adds a panel warmed in the background to the panel cache, as long as it does not push out a panel
+     * the user has already visited. If the user is waiting for that panel, it is shown right away.
+     *
+     * @param fxmlFileName the FXML file the panel was loaded from.
+     * @param panel        the warm panel.
+     */
+    private void adoptPrewarmedPanel(String fxmlFileName, CachedPanel panel) {
+        if (panelCache.contains(fxmlFileName) || panelCache.size() >= MAX_CACHED_PANELS) {
+            return;
+        }
+
+        Task<CachedPanel> pendingLoad = pendingLoads.remove(fxmlFileName);
+        if (pendingLoad != null) {
+            pendingLoad.cancel();
+        }
+
+        panelCache.put(fxmlFileName, panel);
+        if (fxmlFileName.equals(requestedPanel)) {
+            showPanel(panel, false);
+        }
+    }
+
+    // Creates the bounded pool of daemon threads used to load panels...
+    private static ExecutorService createPanelLoader() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(PANEL_LOADER_THREADS, PANEL_LOADER_THREADS,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(PANEL_LOADER_QUEUE_SIZE), runnable -> {
+                    Thread thread = new Thread(runnable, "vcms-panel-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     /**
      * Sets images for various icons used in the dashboard.
      */
     private void setImageforIcons() {
-        Image logoImage = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/GVC Logo White 2.png"));
-        Image dashboardIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Dashboard Icon.png"));
-        Image patientsIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Patients Icon.png"));
-        Image boarderIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Boarder Icon 2.png"));
-        Image appointmentIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Appointments Icon.png"));
-        Image inventoryIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Inventory Icon.png"));
-        Image kennelIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Kennel Icon.png"));
-        Image labIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Laboratory Icon.png"));
-        Image employeeIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Personnel Icon.png"));
-        Image transactionIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Transaction Icon.png"));
-        Image profileIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Account Icon.png"));
+        Image logoImage = ImageCache.getImage("GVC Logo White 2.png", 119, 196);
+        Image dashboardIcon = ImageCache.getImage("Dashboard Icon.png", 32, 32);
+        Image patientsIcon = ImageCache.getImage("Patients Icon.png", 32, 32);
+        Image boarderIcon = ImageCache.getImage("Boarder Icon 2.png", 32, 32);
+        Image appointmentIcon = ImageCache.getImage("Appointments Icon.png", 32, 32);
+        Image inventoryIcon = ImageCache.getImage("Inventory Icon.png", 32, 32);
+        Image kennelIcon = ImageCache.getImage("Kennel Icon.png", 32, 32);
+        Image labIcon = ImageCache.getImage("Laboratory Icon.png", 32, 32);
+        Image employeeIcon = ImageCache.getImage("Personnel Icon.png", 32, 32);
+        Image transactionIcon = ImageCache.getImage("Transaction Icon.png", 32, 32);
+        Image profileIcon = ImageCache.getImage("Account Icon.png", 32, 32);
 
         logoImageViewer.setImage(logoImage);
         dashboardIconViewer.setImage(dashboardIcon);
@@ -121,6 +291,89 @@ public class DashboardController {
         profileIconViewer.setImage(profileIcon);
     }
 
+    /**
+     * Lists the records of every owner, client and payer whose name matches the owner search box, using the
+     * in-memory {@link OwnerIndex}. Picking a record opens its panel with that record selected.
+     */
+    private void initializeOwnerSearch() {
+        ownerSearchField.textProperty().addListener((obs, oldText, newText) -> showOwnerSearchResults(newText));
+    }
+
+    private void showOwnerSearchResults(String query) {
+        List<OwnerIndex.Entry> matches;
+        try {
+            matches = OwnerIndex.getInstance().lookup(query);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        if (matches.isEmpty()) {
+            ownerSearchResults.hide();
+            return;
+        }
+
+        List<MenuItem> items = new ArrayList<>();
+        for (OwnerIndex.Entry match : matches.subList(0, Math.min(matches.size(), MAX_OWNER_SEARCH_RESULTS))) {
+            MenuItem item = new MenuItem(describeRecord(match));
+            item.setOnAction(event -> openRecord(match));
+            items.add(item);
+        }
+        if (matches.size() > MAX_OWNER_SEARCH_RESULTS) {
+            MenuItem more = new MenuItem((matches.size() - MAX_OWNER_SEARCH_RESULTS) + " more, keep typing to narrow down");
+            more.setDisable(true);
+            items.add(more);
+        }
+
+        ownerSearchResults.getItems().setAll(items);
+        if (!ownerSearchResults.isShowing()) {
+            ownerSearchResults.show(ownerSearchField, Side.BOTTOM, 0, 0);
+        }
+    }
+
+    private static String describeRecord(OwnerIndex.Entry entry) {
+        switch (entry.getSource()) {
+            case PATIENT:
+                return "Patient owner: " + entry.getName() + " (" + entry.getId() + ")";
+            case BOARDER:
+                return "Boarder owner: " + entry.getName() + " (" + entry.getId() + ")";
+            case APPOINTMENT:
+                return "Appointment client: " + entry.getName() + " (" + entry.getId() + ")";
+            default:
+                return "Transaction payer: " + entry.getName() + " (" + entry.getId() + ")";
+        }
+    }
+
+    /**
+     * Opens the panel a record belongs to through its sidebar button, so the button is marked as active,
+     * and selects the record once the panel is shown.
+     */
+    private void openRecord(OwnerIndex.Entry entry) {
+        ownerSearchResults.hide();
+
+        Button button;
+        switch (entry.getSource()) {
+            case PATIENT:
+                button = sidebarPatientButton;
+                pendingRecordPanel = "/com/genvetclinic/ui/vcms-patientspanel.fxml";
+                break;
+            case BOARDER:
+                button = sidebarBoarderButton;
+                pendingRecordPanel = "/com/genvetclinic/ui/vcms-boarderspanel.fxml";
+                break;
+            case APPOINTMENT:
+                button = sidebarAppointmentButton;
+                pendingRecordPanel = "/com/genvetclinic/ui/vcms-appointmentspanel.fxml";
+                break;
+            default:
+                button = sidebarTransacButton;
+                pendingRecordPanel = "/com/genvetclinic/ui/vcms-transactionspanel.fxml";
+                break;
+        }
+        pendingRecord = entry;
+        button.fire();
+    }
+
      /**
      * Sets up event handlers for sidebar buttons, specifying the corresponding FXML panel to load.
      */
@@ -138,8 +391,8 @@ public class DashboardController {
     }
 
     /**
-     * Adds visual effects to a JavaFX Button, including click and hover effects, and specifies the FXML panel to load
-     * when the button is clicked.
+     * Makes a sidebar button load the specified FXML panel when clicked and mark itself as the active one.
+     * Hover and pressed effects come from the button's style class in the application stylesheet.
      *
      * @param button    The JavaFX Button to which the effects will be applied.
      * @param fxmlPath  The file path of the FXML panel to load when the button is clicked.
@@ -159,31 +412,6 @@ public class DashboardController {
             updateButtonStyle(button, true);
             currentlyClickedButton = button;
         });
-
-        button.addEventHandler(MouseEvent.MOUSE_ENTERED, (MouseEvent e) -> {
-            if (currentlyClickedButton != button) {
-                button.setStyle("-fx-background-color: #30694B; -fx-text-fill: #ffffff; -fx-alignment: center-left;");
-            }
-        });
-
-        button.addEventHandler(MouseEvent.MOUSE_EXITED, (MouseEvent e) -> {
-            if (currentlyClickedButton != button) {
-                button.setStyle("-fx-background-color: #358856; -fx-text-fill: #ffffff; -fx-alignment: center-left;");
-            }
-        });
-
-        button.addEventHandler(MouseEvent.MOUSE_PRESSED, e -> {
-            if (currentlyClickedButton != button) {
-                button.setStyle("-fx-background-color: #30694B; -fx-text-fill: #ffffff; -fx-alignment: center-left;");
-            }
-        });
-
-        button.addEventHandler(MouseEvent.MOUSE_RELEASED, e -> {
-            if (currentlyClickedButton != button) {
-                // Reset to the default style after the mouse is released
-                button.setStyle("-fx-background-color: #358856; -fx-text-fill: #ffffff; -fx-alignment: center-left;");
-            }
-        });
     }
 
     /**
@@ -193,10 +421,6 @@ public class DashboardController {
      * @param isClicked A boolean indicating whether the button is considered clicked or not.
      */
     private void updateButtonStyle(Button button, boolean isClicked) {
-        if (isClicked) {
-            button.setStyle("-fx-background-color: #30694B; -fx-text-fill: #ffffff; -fx-alignment: center-left;");
-        } else {
-            button.setStyle("-fx-background-color: #358856; -fx-text-fill: #ffffff; -fx-alignment: center-left;");
-        }
+        button.pseudoClassStateChanged(ACTIVE_NAV, isClicked);
     }
 }
@@ -4,19 +4,25 @@ import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.TemporalAdjusters;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.image.*;
-import javafx.beans.property.*;
 import com.genvetclinic.models.Appointment;
+import com.genvetclinic.models.DashboardSnapshot;
 import com.genvetclinic.services.*;
+import com.genvetclinic.utils.ColumnBinding;
+import com.genvetclinic.utils.DateRange;
+import com.genvetclinic.utils.ImageCache;
+import com.genvetclinic.utils.WeekWindow;
 import javafx.animation.*;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
 
 /**
  * The {@code DashboardPanelController} class controls the dashboard panel of the veterinary clinic application.
@@ -31,14 +37,12 @@ import java.util.*;
  */
 public class DashboardPanelController {
 
-    private final PatientDao patientDao;
-    private final PersonnelDao personnelDao;
-    private final BoarderDao boarderDao;
-    private final TransactionDao transactionDao;
-    private final AppointmentDao appointmentDao;
-    private final ItemDao itemDao;
-    private final KennelDao kennelDao;
-    private final LabDao labDao;
+    private final DashboardService dashboardService;
+
+    /**
+     * Renders snapshots pushed by the {@link DashboardService} while this panel is on screen.
+     */
+    private final Consumer<DashboardSnapshot> snapshotListener = this::renderSnapshot;
 
     // FXML injection for various UI elements...
     @FXML private Text digitalClockText;
@@ -77,14 +81,7 @@ public class DashboardPanelController {
      * @throws SQLException if a SQL exception occurs.
      */
     public DashboardPanelController() throws SQLException {
-        this.patientDao = new PatientDao();
-        this.personnelDao = new PersonnelDao();
-        this.boarderDao = new BoarderDao();
-        this.transactionDao = new TransactionDao();
-        this.appointmentDao = new AppointmentDao();
-        this.itemDao = new ItemDao();
-        this.kennelDao = new KennelDao();
-        this.labDao = new LabDao();
+        this.dashboardService = DashboardService.getInstance();
     }
 
     /**
@@ -95,20 +92,9 @@ public class DashboardPanelController {
         setImageforIcons();
         startClock();
         updateDateTime();
-        updateTotalPatients();
-        updateTotalPersonnel();
-        updateTotalBoarders();
-        updateTotalEarnings();
-        updatePatientsNotification();
-        updateBoardersNotificationsText();
-        updateAppointmentNotification();
-        updateItemNotification();
-        updateKennelNotification();
-        updateLabNotification();
-        updatePersonnelNotifications();
-        updateTransactionNotifications();
         initTableView();
-        updateTableView();
+        attachToDashboardService();
+        bindNotifications();
         updateWeekDatesText();
         customizeTable();
     }
@@ -117,11 +103,11 @@ public class DashboardPanelController {
      * Sets images for various icons used in the dashboard.
      */
     private void setImageforIcons() {
-        Image timeIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Time Icon.png"));
-        Image patientIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Pets Icon.png"));
-        Image employeeIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Employees Icon.png"));
-        Image earningsIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Earnings Count Icon.png"));
-        Image boardeeIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Boardees Icon.png"));
+        Image timeIcon = ImageCache.getImage("Time Icon.png", 30, 30);
+        Image patientIcon = ImageCache.getImage("Pets Icon.png", 30, 30);
+        Image employeeIcon = ImageCache.getImage("Employees Icon.png", 30, 30);
+        Image earningsIcon = ImageCache.getImage("Earnings Count Icon.png", 30, 30);
+        Image boardeeIcon = ImageCache.getImage("Boardees Icon.png", 30, 30);
 
         timeCounterIcon.setImage(timeIcon);
         patientCounterIcon.setImage(patientIcon);
@@ -157,186 +143,133 @@ public class DashboardPanelController {
         dateYearDayText.setText(formattedDate);
     }
 
-   /**
-     * Updates the total number of patients on the dashboard.
-     */
-    private void updateTotalPatients() {
-        try {
-            int totalPatients = patientDao.getTotalPatients();
-            noPatientsText.setText(String.format("%02d", Math.min(totalPatients, 99)));
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Updates the total number of personnel on the dashboard.
-     */
-    private void updateTotalPersonnel() {
-        try {
-            int totalPersonnel = personnelDao.getTotalPersonnel();
-            noPersonnelText.setText(String.format("%02d", Math.min(totalPersonnel, 99)));
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
     /**
-     * Updates the total number of boarders on the dashboard.
+     * Renders the cached dashboard snapshot right away and listens for background refreshes
+     * for as long as the panel is part of a scene.
      */
-    private void updateTotalBoarders() {
-        try {
-            int totalBoarders = boarderDao.countBoarders();
-            noKennelsOccupantsText.setText(String.format("%02d", Math.min(totalBoarders, 99)));
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Updates the total earnings on the dashboard.
-     */
-    private void updateTotalEarnings() {
-        try {
-            BigDecimal totalEarnings = transactionDao.getTotalEarnings();
-
-            if (totalEarnings.abs().compareTo(BigDecimal.valueOf(1_000_000)) >= 0) {
-                totalEarnings = totalEarnings.divide(BigDecimal.valueOf(1_000_000));
-                earningstext.setText(String.format("₱%.2fM", totalEarnings));
-            } else if (totalEarnings.abs().compareTo(BigDecimal.valueOf(1_000)) >= 0) {
-                totalEarnings = totalEarnings.divide(BigDecimal.valueOf(1_000));
-                earningstext.setText(String.format("₱%.2fK", totalEarnings));
+    private void attachToDashboardService() {
+        renderCachedSnapshot();
+        weeklyScheduleTable.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (newScene != null) {
+                renderCachedSnapshot();
+                dashboardService.addListener(snapshotListener);
             } else {
-                earningstext.setText(String.format("₱%.2f", totalEarnings));
+                dashboardService.removeListener(snapshotListener);
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        });
     }
 
     /**
-     * Updates the patients' notification on the dashboard.
+     * Renders the last snapshot held by the {@link DashboardService}, if there is one.
      */
-    private void updatePatientsNotification() {
-        try {
-            int count = patientDao.countPatientsAdmittedThisWeek();
-            if (count > 0) {
-                patientsNotifText.setText(count + " patient(s) \n admitted this week.");
-            } else {
-                patientsNotifText.setText("No New Notifications");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    private void renderCachedSnapshot() {
+        DashboardSnapshot cachedSnapshot = dashboardService.getCachedSnapshot();
+        if (cachedSnapshot != null) {
+            renderSnapshot(cachedSnapshot);
         }
     }
 
     /**
-     * Updates the boarders' notification on the dashboard.
+     * Renders every total and the weekly schedule from the given snapshot.
+     *
+     * @param snapshot the dashboard snapshot to render.
      */
-    private void updateBoardersNotificationsText() {
-        try {
-            String notificationText = boarderDao.getNotificationText();
-            boardersNotifText.setText(notificationText);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    private void renderSnapshot(DashboardSnapshot snapshot) {
+        updateTotalPatients(snapshot);
+        updateTotalPersonnel(snapshot);
+        updateTotalBoarders(snapshot);
+        updateTotalEarnings(snapshot);
+        updateTableView(snapshot);
     }
 
-    /**
-     * Updates the appointment notification on the dashboard.
+   /**
+     * Updates the total number of patients on the dashboard.
      */
-    private void updateAppointmentNotification() {
-        try {
-            String appointmentsWithinWeekNotificationText = appointmentDao.getNotificationTextForAppointmentsWithinWeekAndNeedingAttention();
-
-            if (!appointmentsWithinWeekNotificationText.equals("No new notifications.")) {
-                appointmentNotifText.setText("You have " + appointmentsWithinWeekNotificationText);
-            } else {
-                appointmentNotifText.setText("No new notifications.");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    private void updateTotalPatients(DashboardSnapshot snapshot) {
+        noPatientsText.setText(String.format("%02d", Math.min(snapshot.getTotalPatients(), 99)));
     }
 
     /**
-     * Updates the item notification on the dashboard.
+     * Updates the total number of personnel on the dashboard.
      */
-    private void updateItemNotification() {
-        try {
-            String itemNotificationText = itemDao.getNotificationTextForItems();
-            inventoryNotifText.setText(itemNotificationText);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    private void updateTotalPersonnel(DashboardSnapshot snapshot) {
+        noPersonnelText.setText(String.format("%02d", Math.min(snapshot.getTotalPersonnel(), 99)));
     }
 
     /**
-     * Updates the kennel notification on the dashboard.
+     * Updates the total number of boarders on the dashboard.
      */
-    private void updateKennelNotification() {
-        try {
-            String kennelNotificationText = kennelDao.getNotificationTextForKennels();
-            kennelNotifText.setText(kennelNotificationText);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    private void updateTotalBoarders(DashboardSnapshot snapshot) {
+        noKennelsOccupantsText.setText(String.format("%02d", Math.min(snapshot.getTotalBoarders(), 99)));
     }
 
     /**
-     * Updates the lab notification on the dashboard.
+     * Updates the total earnings on the dashboard.
      */
-    private void updateLabNotification() {
-        try {
-            String labsNotificationText = labDao.getNotificationTextForLabs();
-
-            if (!labsNotificationText.equals("No new notifications.")) {
-                labNotifText.setText("You have " + labsNotificationText);
-            } else {
-                labNotifText.setText("No new notifications.");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    private void updateTotalEarnings(DashboardSnapshot snapshot) {
+        BigDecimal totalEarnings = snapshot.getTotalEarnings();
+
+        if (totalEarnings.abs().compareTo(BigDecimal.valueOf(1_000_000)) >= 0) {
+            totalEarnings = totalEarnings.divide(BigDecimal.valueOf(1_000_000));
+            earningstext.setText(String.format("₱%.2fM", totalEarnings));
+        } else if (totalEarnings.abs().compareTo(BigDecimal.valueOf(1_000)) >= 0) {
+            totalEarnings = totalEarnings.divide(BigDecimal.valueOf(1_000));
+            earningstext.setText(String.format("₱%.2fK", totalEarnings));
+        } else {
+            earningstext.setText(String.format("₱%.2f", totalEarnings));
         }
     }
 
     /**
-     * Updates the personnel notification on the dashboard.
+     * Binds the notification texts to the counters of the {@link NotificationService}, so they change as soon
+     * as any panel saves. The texts stay blank until the counters have been loaded.
      */
-    private void updatePersonnelNotifications() {
-        try {
-            String personnelNotificationText = personnelDao.getNotificationTextForPersonnel();
-            personnelNotifText.setText(personnelNotificationText);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    private void bindNotifications() {
+        NotificationService notifications = NotificationService.getInstance();
+
+        bindNotificationText(patientsNotifText, notifications, notifications.patientsAdmittedThisWeekProperty(),
+                count -> count > 0 ? count + " patient(s) \n admitted this week." : "No New Notifications");
+        boardersNotifText.textProperty().bind(Bindings.createStringBinding(
+                () -> notifications.readyProperty().get()
+                        ? BoarderDao.buildNotificationText(notifications.boardersAdmittedThisWeekProperty().get(),
+                                notifications.boardersDepartingWithinWeekProperty().get())
+                        : "",
+                notifications.readyProperty(), notifications.boardersAdmittedThisWeekProperty(),
+                notifications.boardersDepartingWithinWeekProperty()));
+        bindNotificationText(appointmentNotifText, notifications, notifications.appointmentsNeedingAttentionProperty(),
+                count -> count > 0 ? "You have " + AppointmentDao.buildNotificationText(count) : "No new notifications.");
+        bindNotificationText(inventoryNotifText, notifications, notifications.itemsNeedingAttentionProperty(),
+                ItemDao::buildNotificationText);
+        bindNotificationText(kennelNotifText, notifications, notifications.kennelsNeedingAttentionProperty(),
+                KennelDao::buildNotificationText);
+        bindNotificationText(labNotifText, notifications, notifications.labsNeedingAttentionProperty(),
+                count -> count > 0 ? "You have " + LabDao.buildNotificationText(count) : "No new notifications.");
+        bindNotificationText(personnelNotifText, notifications, notifications.personnelHiredThisWeekProperty(),
+                PersonnelDao::buildNotificationText);
+        bindNotificationText(transactionNotifText, notifications, notifications.transactionsNeedingAttentionProperty(),
+                TransactionDao::buildNotificationText);
     }
 
     /**
-     * Updates the transaction notification on the dashboard.
+     * Binds a notification text to the message built from a counter.
      */
-    private void updateTransactionNotifications() {
-        try {
-            String transactionNotificationText = transactionDao.getNotificationTextForTransactions();
-            transactionNotifText.setText(transactionNotificationText);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    private void bindNotificationText(Text text, NotificationService notifications, ReadOnlyIntegerProperty count,
+                                      IntFunction<String> message) {
+        text.textProperty().bind(Bindings.createStringBinding(
+                () -> notifications.readyProperty().get() ? message.apply(count.get()) : "",
+                notifications.readyProperty(), count));
     }
 
     /**
      * Updates the text displaying the dates of the current week on the dashboard.
      */
     private void updateWeekDatesText() {
-        LocalDate today = LocalDate.now();
-        DayOfWeek firstDayOfWeek = DayOfWeek.SUNDAY; 
-        LocalDate startOfWeek = today.with(TemporalAdjusters.previousOrSame(firstDayOfWeek));
-        LocalDate endOfWeek = startOfWeek.plusDays(6);
+        DateRange week = WeekWindow.currentWeek();
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d");
 
-        String formattedStartDate = startOfWeek.format(formatter);
-        String formattedEndDate = endOfWeek.format(formatter);
+        String formattedStartDate = week.getStart().format(formatter);
+        String formattedEndDate = week.getEndInclusive().format(formatter);
 
         String weekDates = formattedStartDate + " - " + formattedEndDate;
         weekDatesText.setText(weekDates);
@@ -346,14 +279,6 @@ public class DashboardPanelController {
      * Initializes the TableView for the weekly schedule.
      */
     private void initTableView() {
-        sundayColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentDate"));
-        mondayColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentDate"));
-        tuesdayColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentDate"));
-        wednesdayColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentDate"));
-        thursdayColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentDate"));
-        fridayColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentDate"));
-        saturdayColumn.setCellValueFactory(new PropertyValueFactory<>("appointmentDate"));
-
         weeklyScheduleTable.setRowFactory(tv -> {
             TableRow<Appointment> row = new TableRow<>();
             row.setMouseTransparent(true); 
@@ -362,39 +287,10 @@ public class DashboardPanelController {
                      
         List<TableColumn<Appointment, String>> dayColumns = Arrays.asList(sundayColumn, mondayColumn, tuesdayColumn, wednesdayColumn, thursdayColumn, fridayColumn, saturdayColumn);
 
-        for (TableColumn<Appointment, String> dayColumn : dayColumns) {
-            dayColumn.setCellValueFactory(cellData -> {
-                StringProperty property = new SimpleStringProperty();
-                Appointment appointment = cellData.getValue();
-
-                switch (dayColumn.getText()) {
-                    case "Sun":
-                        property.setValue(appointment.getDaySummaryForDay(DayOfWeek.SUNDAY));
-                        break;
-                    case "Mon":
-                        property.setValue(appointment.getDaySummaryForDay(DayOfWeek.MONDAY));
-                        break;
-                    case "Tue":
-                        property.setValue(appointment.getDaySummaryForDay(DayOfWeek.TUESDAY));
-                        break;
-                    case "Wed":
-                        property.setValue(appointment.getDaySummaryForDay(DayOfWeek.WEDNESDAY));
-                        break;
-                    case "Thu":
-                        property.setValue(appointment.getDaySummaryForDay(DayOfWeek.THURSDAY));
-                        break;
-                    case "Fri":
-                        property.setValue(appointment.getDaySummaryForDay(DayOfWeek.FRIDAY));
-                        break;
-                    case "Sat":
-                        property.setValue(appointment.getDaySummaryForDay(DayOfWeek.SATURDAY));
-                        break;
-                    default:
-                        property.setValue("");
-                }
-
-                return property;
-            });
+        for (int i = 0; i < dayColumns.size(); i++) {
+            TableColumn<Appointment, String> dayColumn = dayColumns.get(i);
+            DayOfWeek day = WeekWindow.FIRST_DAY_OF_WEEK.plus(i);
+            ColumnBinding.bind(dayColumn, appointment -> appointment.getDaySummaryForDay(day));
 
             dayColumn.setCellFactory(column -> new TableCell<Appointment, String>() {
                 @Override
@@ -414,18 +310,8 @@ public class DashboardPanelController {
     /**
      * Updates the data in the TableView for the weekly schedule.
      */
-    private void updateTableView() {
-        try {
-            List<Appointment> appointments = appointmentDao.getAppointmentsForCurrentWeek();
-            appointments.forEach(appointment -> {
-                String timeRange = appointment.getAppointmentTime().format(DateTimeFormatter.ofPattern("HH:mm"))
-                        + " - " + appointment.getAppointmentTime().plusHours(1).format(DateTimeFormatter.ofPattern("HH:mm"));
-                appointment.setFormattedTimeRange(timeRange);
-            });
-            weeklyScheduleTable.setItems(FXCollections.observableArrayList(appointments));
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    private void updateTableView(DashboardSnapshot snapshot) {
+        weeklyScheduleTable.setItems(FXCollections.observableArrayList(snapshot.getWeeklyAppointments()));
     }
 
     /**
@@ -6,12 +6,10 @@ import java.math.BigDecimal;
 import com.genvetclinic.models.Item;
 import com.genvetclinic.services.*;
 import com.genvetclinic.utils.*;
-import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.*;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.image.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.MouseButton;
 
 /**
@@ -25,9 +23,10 @@ import javafx.scene.input.MouseButton;
  * @version 1.0
  * @since 2023-11-19
  */
-public class InventoryPanelController {
+public class InventoryPanelController implements ReactivatablePanel {
 
     private ItemDao itemDao;
+    private AsyncTableLoader<Item> itemTableLoader;
     private DatabaseConnection databaseConnection;
     private Item lastSelectedItem;
 
@@ -48,10 +47,10 @@ public class InventoryPanelController {
     @FXML private TableColumn<Item, String> itemIdColumn;
     @FXML private TableColumn<Item, String> itemNameColumn;
     @FXML private TableColumn<Item, String> itemTypeColumn;
-    @FXML private TableColumn<Item, String> itemQuantityColumn;
+    @FXML private TableColumn<Item, Integer> itemQuantityColumn;
     @FXML private TableColumn<Item, String> unitCostColumn;
     @FXML private TableColumn<Item, String> itemSupplierColumn;
-    @FXML private TableColumn<Item, String> expDateColumn;
+    @FXML private TableColumn<Item, LocalDate> expDateColumn;
     @FXML private TableColumn<Item, String> itemStatusColumn;
     @FXML private TableColumn<Item, String> totalCostColumn;
     @FXML private Button deleteItemButton;
@@ -78,6 +77,9 @@ public class InventoryPanelController {
     private void initialize() {
         
         initializeItemTable();
+        itemTableLoader = new AsyncTableLoader<>(itemTableView, Item::getItemId,
+                "No items found in the inventory.", "Unable to fetch items from the inventory.");
+        itemTableLoader.trackChanges(Item.class);
         populateItemTable();
         enableItemTableSelection();
         initializeItemTypeMenu();
@@ -88,7 +90,16 @@ public class InventoryPanelController {
         addHoverEffect(); 
         checkboxFunctionality();
 
-        EffectsUtils.setTableSelectionColor(itemTableView, "#358856");         
+        EffectsUtils.setTableSelectionStyle(itemTableView);         
+    }
+
+    /**
+     * Brings the panel's data up to date when it is shown again from the panel cache; the table is only
+     * queried again if a write has not already been patched into it.
+     */
+    @Override
+    public void onPanelReactivated() {
+        itemTableLoader.reloadIfChanged();
     }
 
     /**
@@ -117,15 +128,15 @@ public class InventoryPanelController {
      * Initializes the inventory table by setting up the cell value factories for each column.
      */
     private void initializeItemTable() {
-        itemIdColumn.setCellValueFactory(new PropertyValueFactory<>("itemId"));
-        itemNameColumn.setCellValueFactory(new PropertyValueFactory<>("itemName"));
-        itemTypeColumn.setCellValueFactory(new PropertyValueFactory<>("itemType"));
-        itemQuantityColumn.setCellValueFactory(new PropertyValueFactory<>("itemQuantity"));
-        itemSupplierColumn.setCellValueFactory(new PropertyValueFactory<>("supplier"));
-        expDateColumn.setCellValueFactory(new PropertyValueFactory<>("expDate"));
-        itemStatusColumn.setCellValueFactory(new PropertyValueFactory<>("itemStatus"));   
-        unitCostColumn.setCellValueFactory(cellData -> new SimpleStringProperty("₱" + cellData.getValue().getUnitCost().toString()));
-        totalCostColumn.setCellValueFactory(cellData -> new SimpleStringProperty("₱" + cellData.getValue().getTotalCost().toString()));     
+        ColumnBinding.bind(itemIdColumn, Item::getItemId);
+        ColumnBinding.bind(itemNameColumn, Item::getItemName);
+        ColumnBinding.bind(itemTypeColumn, Item::getItemType);
+        ColumnBinding.bind(itemQuantityColumn, Item::getItemQuantity);
+        ColumnBinding.bind(itemSupplierColumn, Item::getSupplier);
+        ColumnBinding.bind(expDateColumn, Item::getExpDate);
+        ColumnBinding.bind(itemStatusColumn, Item::getItemStatus);   
+        ColumnBinding.bind(unitCostColumn, item -> "₱" + item.getUnitCost().toString());
+        ColumnBinding.bind(totalCostColumn, item -> "₱" + item.getTotalCost().toString());
     }
 
     /**
@@ -198,8 +209,8 @@ public class InventoryPanelController {
      * Sets the image for icons.
      */
     private void setImageForIcons() {
-        Image addItemIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Add Item Icon.png"));
-        Image manageItemIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Manage Item Icon.png"));
+        Image addItemIcon = ImageCache.getImage("Add Item Icon.png", 32, 32);
+        Image manageItemIcon = ImageCache.getImage("Manage Item Icon.png", 32, 32);
         addItemIconViewer.setImage(addItemIcon);
         manageItemIconViewer.setImage(manageItemIcon);
     }
@@ -261,11 +272,8 @@ public class InventoryPanelController {
                     itemName, itemType, itemQuantity, unitCost, itemSupplier, expDate, itemStatus, totalCost
             );
 
-            // Add the new item to the table view
-            itemTableView.getItems().add(newItem);
-
-            // Save the new item to the database, clear form fields, and show success message
-            itemDao.saveItem(newItem);
+            // Save the new item to the database, add it to the table view, clear form fields, and show success message
+            itemTableLoader.applySaved(itemDao.saveItem(newItem));
             clearItemFields();
             AlertUtils.showInformationAlert("Success", "Item added to inventory successfully.");
         } catch (Exception e) {
@@ -328,10 +336,8 @@ public class InventoryPanelController {
                     updatedItemSupplier, updatedExpDate, updatedItemStatus, updatedTotalCost
             );
 
-            // Update the item in the table view and refresh the item table
-            itemTableView.getItems().set(itemTableView.getSelectionModel().getSelectedIndex(), updatedItem);
-            itemDao.updateItem(updatedItem);
-            refreshItemTable();
+            // Update the item in the database and in the table view
+            itemTableLoader.applySaved(itemDao.updateItem(updatedItem));
             AlertUtils.showInformationAlert("Success", "Item updated successfully.");
         } catch (SQLException e) {
             e.printStackTrace();
@@ -350,8 +356,9 @@ public class InventoryPanelController {
 
         if (confirmed) {
             try {
-                itemTableView.getItems().remove(selectedItem);
-                itemDao.deleteItem(selectedItem);
+                if (itemDao.deleteItem(selectedItem)) {
+                    itemTableLoader.applyDeleted(selectedItem);
+                }
                 clearItemFields();
                 AlertUtils.showInformationAlert("Success", "Item deleted successfully.");
             } catch (Exception e) {
@@ -407,41 +414,12 @@ public class InventoryPanelController {
     }
 
     private void populateItemTable() {
-        try {
-            ObservableList<Item> items = FXCollections.observableArrayList();
-    
-            try (Connection connection = databaseConnection.getConnection();
-                 PreparedStatement statement = connection.prepareStatement("SELECT * FROM inventory");
-                 ResultSet resultSet = statement.executeQuery()) {
-    
-                while (resultSet.next()) {
-                    Item item = new Item(
-                        resultSet.getString("item_id"),
-                        resultSet.getString("item_name"),
-                        resultSet.getString("item_type"),
-                        resultSet.getInt("item_quantity"),
-                        resultSet.getBigDecimal("unit_cost"),
-                        resultSet.getString("item_supplier"),
-                        resultSet.getDate("exp_date") != null ? resultSet.getDate("exp_date").toLocalDate() : null,
-                        resultSet.getString("item_status"),
-                        resultSet.getBigDecimal("total_cost")
-                    );
-                    
-                    items.add(item);
-                }
-                    
-            }
-    
-            if (items.isEmpty()) {
-                itemTableView.setPlaceholder(new Label("No items found in the inventory."));
-            } else {
-                itemTableView.setItems(items);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            AlertUtils.showErrorAlert("Error", "Unable to fetch items from the inventory.");
-        }
-    }    
+        itemTableLoader.load(() -> {
+            ObservableList<Item> rows = FXCollections.observableArrayList();
+            itemDao.streamItems(rows::add);
+            return rows;
+        });
+    }
 
     private void displayItemFields(Item item) {
         itemNameField.setText(item.getItemName());
@@ -472,11 +450,6 @@ public class InventoryPanelController {
         lastSelectedItem = null;
     }
 
-    private void refreshItemTable() {
-        itemTableView.getItems().clear();
-        populateItemTable();
-    }
-
     @FXML
     private void handleExpDateCheckBox() {
         expDateField.setDisable(hasAnExpDateCB.isSelected());
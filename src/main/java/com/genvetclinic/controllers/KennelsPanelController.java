@@ -7,7 +7,6 @@ import com.genvetclinic.utils.*;
 import javafx.collections.*;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.MouseButton;
 import javafx.scene.image.*;
 
@@ -22,10 +21,11 @@ import javafx.scene.image.*;
  * @version 1.0
  * @since 2023-11-19
  */
-public class KennelsPanelController {
+public class KennelsPanelController implements ReactivatablePanel {
 
     // DAO for Kennel entity
     private KennelDao kennelDao;
+    private AsyncTableLoader<Kennel> kennelTableLoader;
 
     // Connection to the database
     private DatabaseConnection databaseConnection;
@@ -46,7 +46,7 @@ public class KennelsPanelController {
     @FXML private TableView<Kennel> kennelTableView;
     @FXML private TableColumn<Kennel, String> kennelIDColumn;
     @FXML private TableColumn<Kennel, String> kennelNameColumn;
-    @FXML private TableColumn<Kennel, String> kennelCapacityColumn;
+    @FXML private TableColumn<Kennel, Integer> kennelCapacityColumn;
     @FXML private TableColumn<Kennel, String> kennelStatusColumn;
 
     /**
@@ -71,6 +71,9 @@ public class KennelsPanelController {
     private void initialize() {
         // Initialize UI components and set up event handlers
         initializeKennelTable();
+        kennelTableLoader = new AsyncTableLoader<>(kennelTableView, Kennel::getKennelId,
+                "No kennels found.", "Unable to fetch kennels from the database.");
+        kennelTableLoader.trackChanges(Kennel.class);
         populateKennelTable();
         enableKennelTableSelection();
         initializeKennelNameMenu();
@@ -81,7 +84,16 @@ public class KennelsPanelController {
         addHoverEffect();
 
         // Set table selection color using EffectsUtils
-        EffectsUtils.setTableSelectionColor(kennelTableView, "#358856");
+        EffectsUtils.setTableSelectionStyle(kennelTableView);
+    }
+
+    /**
+     * Brings the panel's data up to date when it is shown again from the panel cache; the table is only
+     * queried again if a write has not already been patched into it.
+     */
+    @Override
+    public void onPanelReactivated() {
+        kennelTableLoader.reloadIfChanged();
     }
 
     /**
@@ -106,10 +118,10 @@ public class KennelsPanelController {
      * Initializes the kennel table columns.
      */
     private void initializeKennelTable() {
-        kennelIDColumn.setCellValueFactory(new PropertyValueFactory<>("kennelId"));
-        kennelNameColumn.setCellValueFactory(new PropertyValueFactory<>("kennelName"));
-        kennelCapacityColumn.setCellValueFactory(new PropertyValueFactory<>("kennelCapacity"));
-        kennelStatusColumn.setCellValueFactory(new PropertyValueFactory<>("kennelStatus"));
+        ColumnBinding.bind(kennelIDColumn, Kennel::getKennelId);
+        ColumnBinding.bind(kennelNameColumn, Kennel::getKennelName);
+        ColumnBinding.bind(kennelCapacityColumn, Kennel::getKennelCapacity);
+        ColumnBinding.bind(kennelStatusColumn, Kennel::getKennelStatus);
     }
 
     /**
@@ -159,8 +171,8 @@ public class KennelsPanelController {
      * Sets images for icons displayed in the UI.
      */
     private void setImageForIcons() {
-        Image addkennelIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Add Kennel Icon.png"));
-        Image manageKennelIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Manage Kennel Icon.png"));
+        Image addkennelIcon = ImageCache.getImage("Add Kennel Icon.png", 32, 32);
+        Image manageKennelIcon = ImageCache.getImage("Manage Kennel Icon.png", 32, 32);
         addKennelIconViewer.setImage(addkennelIcon);
         manageKennelIconViewer.setImage(manageKennelIcon);        
     }
@@ -193,9 +205,8 @@ public class KennelsPanelController {
                     kennelName, kennelCapacity, kennelStatus
             );
 
-            // Add the new kennel to the table and save it to the database
-            kennelTableView.getItems().add(newKennel);
-            kennelDao.saveKennel(newKennel);
+            // Save the new kennel to the database and add it to the table
+            kennelTableLoader.applySaved(kennelDao.saveKennel(newKennel));
             clearKennelFields();
 
             AlertUtils.showInformationAlert("Success", "Kennel added successfully.");
@@ -240,10 +251,8 @@ public class KennelsPanelController {
                         updatedKennelName, updatedKennelCapacity, updatedKennelStatus
                 );
 
-                // Update the kennel in the table view, refresh the table, and show success message
-                kennelTableView.getItems().set(kennelTableView.getSelectionModel().getSelectedIndex(), updatedKennel);
-                kennelDao.updateKennel(updatedKennel);
-                refreshKennelsTable();
+                // Update the kennel in the database and the table view, and show success message
+                kennelTableLoader.applySaved(kennelDao.updateKennel(updatedKennel));
                 AlertUtils.showInformationAlert("Success", "Kennel updated successfully.");
             } else {
                 // No changes were made
@@ -270,9 +279,10 @@ public class KennelsPanelController {
 
         if (confirmed) {
             try {
-                // Remove the kennel from the table and delete it from the database
-                kennelTableView.getItems().remove(selectedKennel);
-                kennelDao.deleteKennel(selectedKennel);
+                // Delete the kennel from the database and remove it from the table
+                if (kennelDao.deleteKennel(selectedKennel)) {
+                    kennelTableLoader.applyDeleted(selectedKennel);
+                }
                 clearKennelFields();
                 AlertUtils.showInformationAlert("Success", "Kennel deleted successfully.");
             } catch (Exception e) {
@@ -354,36 +364,11 @@ public class KennelsPanelController {
      * Populates the kennel table with data from the database.
      */
     private void populateKennelTable() {
-        try {
-            ObservableList<Kennel> kennels = FXCollections.observableArrayList();
-
-            try (Connection connection = databaseConnection.getConnection();
-                 PreparedStatement statement = connection.prepareStatement("SELECT * FROM kennels");
-                 ResultSet resultSet = statement.executeQuery()) {
-
-                while (resultSet.next()) {
-                    // Create Kennel objects from database results
-                    Kennel kennel = new Kennel(
-                            resultSet.getString("kennel_id"),
-                            resultSet.getString("kennel_name"),
-                            resultSet.getInt("kennel_capacity"),
-                            resultSet.getString("kennel_status")
-                    );
-
-                    kennels.add(kennel);
-                }
-            }
-
-            // Set the table items or show a placeholder if no kennels are found
-            if (kennels.isEmpty()) {
-                kennelTableView.setPlaceholder(new Label("No kennels found."));
-            } else {
-                kennelTableView.setItems(kennels);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            AlertUtils.showErrorAlert("Error", "Unable to fetch kennels from the database.");
-        }
+        kennelTableLoader.load(() -> {
+            ObservableList<Kennel> rows = FXCollections.observableArrayList();
+            kennelDao.streamKennels(rows::add);
+            return rows;
+        });
     }
 
     /**
@@ -399,14 +384,6 @@ public class KennelsPanelController {
         lastSelectedKennel = null;
     }
 
-    /**
-     * Refreshes the kennel table by clearing and repopulating it.
-     */
-    private void refreshKennelsTable() {
-        kennelTableView.getItems().clear();
-        populateKennelTable();
-    }
-
     /**
      * Adds a hover effect to buttons using EffectsUtils.
      */
@@ -7,7 +7,6 @@ import java.sql.*;
 import javafx.collections.*;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.MouseButton;
 import javafx.scene.image.*;
 
@@ -22,8 +21,9 @@ import javafx.scene.image.*;
  * @version 1.0
  * @since 2023-11-19
  */
-public class LaboratoriesPanelController {
+public class LaboratoriesPanelController implements ReactivatablePanel {
     private LabDao labDao;
+    private AsyncTableLoader<Lab> labTableLoader;
     private DatabaseConnection databaseConnection;
     private Lab lastSelectedLab;
 
@@ -63,6 +63,9 @@ public class LaboratoriesPanelController {
     private void initialize() {
         
         initializeLabTable();
+        labTableLoader = new AsyncTableLoader<>(labTableView, Lab::getLabId,
+                "No labs found.", "Unable to fetch labs from the database.");
+        labTableLoader.trackChanges(Lab.class);
         populateLabTable();
         enableLabTableSelection();
         initializeLabNameMenu();
@@ -72,7 +75,16 @@ public class LaboratoriesPanelController {
         setImageForIcons();
         addHoverEffect();
 
-        EffectsUtils.setTableSelectionColor(labTableView, "#358856");
+        EffectsUtils.setTableSelectionStyle(labTableView);
+    }
+
+    /**
+     * Brings the panel's data up to date when it is shown again from the panel cache; the table is only
+     * queried again if a write has not already been patched into it.
+     */
+    @Override
+    public void onPanelReactivated() {
+        labTableLoader.reloadIfChanged();
     }
 
     /**
@@ -101,10 +113,10 @@ public class LaboratoriesPanelController {
      * Initializes the lab table by setting the cell value factories for each column.
      */
     private void initializeLabTable() {
-        labIDColumn.setCellValueFactory(new PropertyValueFactory<>("labId"));
-        labNameColumn.setCellValueFactory(new PropertyValueFactory<>("labName"));
-        noLabEquipColumn.setCellValueFactory(new PropertyValueFactory<>("noOfEquipment"));
-        labStatusColumn.setCellValueFactory(new PropertyValueFactory<>("labStatus"));
+        ColumnBinding.bind(labIDColumn, Lab::getLabId);
+        ColumnBinding.bind(labNameColumn, Lab::getLabName);
+        ColumnBinding.bind(noLabEquipColumn, Lab::getNoOfEquipment);
+        ColumnBinding.bind(labStatusColumn, Lab::getLabStatus);
     }
 
     /**
@@ -164,8 +176,8 @@ public class LaboratoriesPanelController {
      * It retrieves the images from the specified file paths.
      */
     private void setImageForIcons() {
-        Image addLabIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Add Lab Icon 2.png"));
-        Image manageLabIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Manage Lab Icon.png"));
+        Image addLabIcon = ImageCache.getImage("Add Lab Icon 2.png", 32, 32);
+        Image manageLabIcon = ImageCache.getImage("Manage Lab Icon.png", 32, 32);
         addLabIconViewer.setImage(addLabIcon);
         manageLabIconViewer.setImage(manageLabIcon);
     }
@@ -200,11 +212,8 @@ public class LaboratoriesPanelController {
             );
 
             // Add the new lab to the table view
-            labTableView.getItems().add(newLab);
-
-
-            // Save the lab and clear form fields
-            labDao.saveLab(newLab);
+            // Save the lab, add it to the table and clear form fields
+            labTableLoader.applySaved(labDao.saveLab(newLab));
             clearLabFields();
 
             // Show success message
@@ -252,10 +261,8 @@ public class LaboratoriesPanelController {
                         updatedLabName, updatedNoOfEquipment, updatedLabStatus
                 );
 
-                // Update the lab in the table view, refresh the table, and show success message
-                labTableView.getItems().set(labTableView.getSelectionModel().getSelectedIndex(), updatedLab);
-                labDao.updateLab(updatedLab);
-                refreshAppointmentTable();
+                // Update the lab in the database and the table view, and show success message
+                labTableLoader.applySaved(labDao.updateLab(updatedLab));
                 AlertUtils.showInformationAlert("Success", "Lab updated successfully.");
             } else {
                 // No changes were made
@@ -281,8 +288,9 @@ public class LaboratoriesPanelController {
 
         if (confirmed) {
             try {
-                labTableView.getItems().remove(selectedLab);
-                labDao.deleteLab(selectedLab);
+                if (labDao.deleteLab(selectedLab)) {
+                    labTableLoader.applyDeleted(selectedLab);
+                }
                 clearLabFields();
                 AlertUtils.showInformationAlert("Success", "Lab deleted successfully.");
             } catch (Exception e) {
@@ -368,43 +376,11 @@ public class LaboratoriesPanelController {
      * Populates the lab table with data retrieved from the database.
      */
     private void populateLabTable() {
-        try {
-            ObservableList<Lab> labs = FXCollections.observableArrayList();
-    
-            try (Connection connection = databaseConnection.getConnection();
-                 PreparedStatement statement = connection.prepareStatement("SELECT * FROM laboratories");
-                 ResultSet resultSet = statement.executeQuery()) {
-    
-                while (resultSet.next()) {
-                    Lab lab = new Lab(
-                            resultSet.getString("lab_id"),
-                            resultSet.getString("lab_name"),
-                            resultSet.getInt("no_of_lab_equipment"),
-                            resultSet.getString("lab_status")
-                    );
-    
-                    labs.add(lab);
-                }
-    
-            }
-    
-            if (labs.isEmpty()) {
-                labTableView.setPlaceholder(new Label("No labs found."));
-            } else {
-                labTableView.setItems(labs);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            AlertUtils.showErrorAlert("Error", "Unable to fetch labs from the database.");
-        }
-    }    
-
-    /**
-     * Refreshes the appointment table by clearing the items and repopulating it.
-     */    
-    private void refreshAppointmentTable() {
-        labTableView.getItems().clear();
-        populateLabTable();
+        labTableLoader.load(() -> {
+            ObservableList<Lab> rows = FXCollections.observableArrayList();
+            labDao.streamLabs(rows::add);
+            return rows;
+        });
     }
 
     /**
@@ -73,7 +73,7 @@ public class LoginController {
      * Set the image for the login logo.
      */
     private void setImageForLoginLogo() {
-        Image image = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/GVC Logo Green.png"));
+        Image image = ImageCache.getImage("GVC Logo Green.png", 157, 253);
         loginLogoImage.setImage(image);
     }
 
@@ -138,6 +138,7 @@ public class LoginController {
     private void handleSuccessfulLogin(Admin admin) {
         try {
             adminDao.setAdminActiveStatus(admin.getUsername(), true);
+            PanelPrewarmer.start(DashboardController.PREWARM_PANELS);
 
             AlertUtils.showInformationAlert("Login Successful", "You have successfully logged in!");
             closeCurrentStage();
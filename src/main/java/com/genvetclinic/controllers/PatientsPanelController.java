@@ -3,15 +3,17 @@ package com.genvetclinic.controllers;
 import java.math.*;
 import java.sql.*;
 import java.time.*;
+import java.util.List;
 import com.genvetclinic.models.Patient;
 import com.genvetclinic.services.*;
 import com.genvetclinic.utils.*;
+import javafx.animation.PauseTransition;
 import javafx.collections.*;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.*;
 import javafx.scene.image.*;
 import javafx.scene.input.*;
+import javafx.util.Duration;
 
 /**
  * The {@code PatientsPanelController} class controls the patients panel of the veterinary clinic application.
@@ -24,13 +26,34 @@ import javafx.scene.input.*;
  * @version 1.0
  * @since 2023-11-19
  */
-public class PatientsPanelController {
+public class PatientsPanelController implements ReactivatablePanel, RecordPanel {
+
+    /**
+     * The number of patients fetched per page as the table is scrolled.
+     */
+    private static final int PAGE_SIZE = 100;
+    /**
+     * The maximum number of patient pages kept in memory.
+     */
+    private static final int MAX_CACHED_PAGES = 20;
+    /**
+     * The maximum number of patients shown for a search.
+     */
+    private static final int SEARCH_LIMIT = 200;
+    /**
+     * How long typing must pause before a search runs. Kept short because a newer search cancels
+     * the one still running, so the debounce only has to absorb bursts of keystrokes.
+     */
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(40);
 
     private PatientDao patientDao;
+    private AsyncTableLoader<Patient> patientTableLoader;
     private DatabaseConnection databaseConnection;
     private Patient lastSelectedPatient;
+    private PauseTransition searchDebounce;
 
     // FXML annotated fields for UI elements
+    @FXML private TextField patientSearchField;
     @FXML private TextField patientNameField;
     @FXML private TextField patientSpeciesField;
     @FXML private TextField patientBreedField;
@@ -59,12 +82,12 @@ public class PatientsPanelController {
     @FXML private TableColumn<Patient, String> patientNameColumn;
     @FXML private TableColumn<Patient, String> patientSpeciesColumn;
     @FXML private TableColumn<Patient, String> patientBreedColumn;
-    @FXML private TableColumn<Patient, String> patientAgeColumn;
+    @FXML private TableColumn<Patient, BigDecimal> patientAgeColumn;
     @FXML private TableColumn<Patient, String> patientGenderColumn;
     @FXML private TableColumn<Patient, String> patientColorColumn;
-    @FXML private TableColumn<Patient, String> patientWeightColumn;
+    @FXML private TableColumn<Patient, BigDecimal> patientWeightColumn;
     @FXML private TableColumn<Patient, String> patientMChipIdColumn;
-    @FXML private TableColumn<Patient, String> patientAdmittedDateColumn;
+    @FXML private TableColumn<Patient, LocalDate> patientAdmittedDateColumn;
     @FXML private TableColumn<Patient, String> patientOwnerNameColumn;
     @FXML private TableColumn<Patient, String> ownerContactColumn;
     @FXML private TableColumn<Patient, String> ownerEmailColumn;
@@ -94,7 +117,11 @@ public class PatientsPanelController {
     private void initialize() {
         
         initializePatientTable();
+        patientTableLoader = new AsyncTableLoader<>(patientTableView, Patient::getPatientid,
+                "No patients found in the database.", null);
+        patientTableLoader.trackChanges(Patient.class);
         populatePatientTable();
+        initializePatientSearch();
         enablePatientTableSelection();
         initializeGenderMenu();
         initializeButtons();
@@ -102,7 +129,28 @@ public class PatientsPanelController {
         setImageForIcons();
         addHoverEffect();
     
-        EffectsUtils.setTableSelectionColor(patientTableView, "#358856");
+        EffectsUtils.setTableSelectionStyle(patientTableView);
+    }
+
+    /**
+     * Brings the panel's data up to date when it is shown again from the panel cache; the table is only
+     * queried again if a write has not already been patched into it.
+     */
+    @Override
+    public void onPanelReactivated() {
+        patientTableLoader.reloadIfChanged();
+    }
+
+    /**
+     * Selects the record picked in the owner search. The table is paged, so the owner's patients are
+     * searched for first, and the record is selected among them.
+     */
+    @Override
+    public void showRecord(String id, String name) {
+        patientSearchField.setText(name);
+        searchDebounce.stop();
+        searchPatientTable(name.strip());
+        patientTableLoader.select(id);
     }
 
     /**
@@ -130,26 +178,63 @@ public class PatientsPanelController {
      * Initializes the patient table by setting up the cell value factories for each column.
      */
     private void initializePatientTable() {
-        patientIDColumn.setCellValueFactory(new PropertyValueFactory<>("patientid"));
-        patientNameColumn.setCellValueFactory(new PropertyValueFactory<>("patientName"));
-        patientSpeciesColumn.setCellValueFactory(new PropertyValueFactory<>("patientSpecies"));
-        patientBreedColumn.setCellValueFactory(new PropertyValueFactory<>("patientBreed"));
-        patientAgeColumn.setCellValueFactory(new PropertyValueFactory<>("patientAge"));
-        patientGenderColumn.setCellValueFactory(new PropertyValueFactory<>("patientGender"));
-        patientColorColumn.setCellValueFactory(new PropertyValueFactory<>("patientColor"));
-        patientWeightColumn.setCellValueFactory(new PropertyValueFactory<>("patientWeight"));
-        patientMChipIdColumn.setCellValueFactory(new PropertyValueFactory<>("microchipId"));
-        patientAdmittedDateColumn.setCellValueFactory(new PropertyValueFactory<>("admittedDate"));
-        patientOwnerNameColumn.setCellValueFactory(new PropertyValueFactory<>("ownerName"));
-        ownerContactColumn.setCellValueFactory(new PropertyValueFactory<>("ownerContact"));
-        ownerEmailColumn.setCellValueFactory(new PropertyValueFactory<>("ownerEmail"));
-        ownerAddColumn.setCellValueFactory(new PropertyValueFactory<>("ownerAddress"));
-        patientInsuranceColumn.setCellValueFactory(new PropertyValueFactory<>("patientInsurance"));
-        patientMedHistoryColumn.setCellValueFactory(new PropertyValueFactory<>("medicalHistory"));
-        patientVaxHistoryColumn.setCellValueFactory(new PropertyValueFactory<>("vaccineHistory"));
-        patientSpecialColumn.setCellValueFactory(new PropertyValueFactory<>("specialInstructions"));
+        ColumnBinding.bind(patientIDColumn, Patient::getPatientid);
+        ColumnBinding.bind(patientNameColumn, Patient::getPatientName);
+        ColumnBinding.bind(patientSpeciesColumn, Patient::getPatientSpecies);
+        ColumnBinding.bind(patientBreedColumn, Patient::getPatientBreed);
+        ColumnBinding.bind(patientAgeColumn, Patient::getPatientAge);
+        ColumnBinding.bind(patientGenderColumn, Patient::getPatientGender);
+        ColumnBinding.bind(patientColorColumn, Patient::getPatientColor);
+        ColumnBinding.bind(patientWeightColumn, Patient::getPatientWeight);
+        ColumnBinding.bind(patientMChipIdColumn, Patient::getMicrochipId);
+        ColumnBinding.bind(patientAdmittedDateColumn, Patient::getAdmittedDate);
+        ColumnBinding.bind(patientOwnerNameColumn, Patient::getOwnerName);
+        ColumnBinding.bind(ownerContactColumn, Patient::getOwnerContact);
+        ColumnBinding.bind(ownerEmailColumn, Patient::getOwnerEmail);
+        ColumnBinding.bind(ownerAddColumn, Patient::getOwnerAddress);
+        ColumnBinding.bind(patientInsuranceColumn, Patient::getPatientInsurance);
+        ColumnBinding.bind(patientMedHistoryColumn, Patient::getMedicalHistory);
+        ColumnBinding.bind(patientVaxHistoryColumn, Patient::getVaccineHistory);
+        ColumnBinding.bind(patientSpecialColumn, Patient::getSpecialInstructions);
+
+        // Rows are fetched page by page in patient ID order, so the table cannot be re-sorted client-side.
+        patientTableView.getColumns().forEach(column -> column.setSortable(false));
     }
    
+    /**
+     * Sets up the search box. Each keystroke restarts a short debounce; when it elapses the table is
+     * reloaded with the patients matching the search text, or with the full patient list if it is empty.
+     */
+    private void initializePatientSearch() {
+        searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+        searchDebounce.setOnFinished(event -> refreshPatientTable());
+        patientSearchField.textProperty().addListener((obs, oldText, newText) -> searchDebounce.playFromStart());
+        patientSearchField.setOnAction(event -> handleMicrochipScan());
+    }
+
+    /**
+     * Handles a microchip scan. The scanner types the chip ID into the search box and presses Enter; the
+     * patient carrying the chip is shown and selected, so its record opens in the form right away. If no
+     * patient carries the chip, the text is searched like any other query.
+     */
+    private void handleMicrochipScan() {
+        String chipId = patientSearchField.getText();
+        if (chipId == null || chipId.isBlank()) {
+            return;
+        }
+        searchDebounce.stop();
+        String query = chipId.strip();
+        patientTableLoader.load(() -> {
+            Patient patient = patientDao.findByMicrochip(query);
+            return patient != null ? List.of(patient) : patientDao.search(query, SEARCH_LIMIT);
+        }, () -> {
+            if (patientTableView.getItems().size() == 1) {
+                patientTableView.getSelectionModel().selectFirst();
+                lastSelectedPatient = patientTableView.getSelectionModel().getSelectedItem();
+            }
+        });
+    }
+
     /**
       * Enables the selection of a patient in the patient table view.
       * Adds a listener to the selected item property of the patient table view's selection model.
@@ -205,8 +290,8 @@ public class PatientsPanelController {
      * Sets the image for icons.
      */
      private void setImageForIcons() {
-        Image admitPatientIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Add Patient Icon.png"));
-        Image managePatientIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Manage Patient Icon.png"));
+        Image admitPatientIcon = ImageCache.getImage("Add Patient Icon.png", 32, 32);
+        Image managePatientIcon = ImageCache.getImage("Manage Patient Icon.png", 32, 32);
         addPatientIconViewer.setImage(admitPatientIcon);
         managePatientIconViewer.setImage(managePatientIcon);
     }
@@ -285,15 +370,12 @@ public class PatientsPanelController {
                     ownerAddress, patientInsurance, patientWeight, microchipid, patientGender
             );
 
-            // Add the patient to the table view
-            patientTableView.getItems().add(patient);
-
             // Check if the patient already exists
             if (patientDao.isPatientExists(patientName, patientSpecies, patientBreed, ownerName)) {
                 AlertUtils.showErrorAlert("Error", "Patient already exists.");
             } else {
                 // Save the patient and show success message
-                patientDao.savePatient(patient);
+                patientTableLoader.applySaved(patientDao.savePatient(patient));
                 clearPatientFields();
                 AlertUtils.showInformationAlert("Success", "Patient admitted successfully.");
             }
@@ -390,8 +472,7 @@ public class PatientsPanelController {
 
                 // Try to update the patient in the database
                 try {
-                    patientDao.updatePatient(selectedPatient);
-                    refreshPatientTable();
+                    patientTableLoader.applySaved(patientDao.updatePatient(selectedPatient));
                     AlertUtils.showInformationAlert("Success", "Patient information updated successfully.");
                 } catch (SQLException e) {
                     e.printStackTrace();
@@ -417,8 +498,9 @@ public class PatientsPanelController {
     
         if (confirmed) {
             try {
-                patientDao.deletePatient(selectedPatient);
-                patientTableView.getItems().remove(selectedPatient);
+                if (patientDao.deletePatient(selectedPatient)) {
+                    patientTableLoader.applyDeleted(selectedPatient);
+                }
             } catch (Exception e) {
                 e.printStackTrace();
                 AlertUtils.showErrorAlert("Error", "An unexpected database error occurred.");
@@ -452,58 +534,42 @@ public class PatientsPanelController {
     }
 
     /**
-     * Populates the patient table with data from the database.
+     * Populates the patient table with data from the database. Only the patient count is read up front;
+     * the patients themselves are fetched a page at a time as the table is scrolled, each page seeking
+     * from the last patient ID of the page before it.
      */
     private void populatePatientTable() {
-        try {
-            ObservableList<Patient> patientList = FXCollections.observableArrayList();
-
-            try (Connection connection = databaseConnection.getConnection();
-                PreparedStatement statement = connection.prepareStatement("SELECT * FROM patients");
-                ResultSet resultSet = statement.executeQuery()) {
-
-                while (resultSet.next()) {
-                    Patient patient = new Patient(
-                            resultSet.getString("patient_id"),
-                            resultSet.getString("patient_name"),
-                            resultSet.getString("patient_species"),
-                            resultSet.getString("patient_breed"),
-                            resultSet.getBigDecimal("age_in_years"),
-                            resultSet.getString("patient_color"),
-                            resultSet.getDate("admitted_date").toLocalDate(),
-                            resultSet.getString("medical_history"),
-                            resultSet.getString("vaccination_history"),
-                            resultSet.getString("special_instruction"),
-                            resultSet.getString("owner_name"),
-                            resultSet.getString("owner_contact"),
-                            resultSet.getString("owner_email"),
-                            resultSet.getString("owner_address"),
-                            resultSet.getString("patient_insurance"),
-                            resultSet.getBigDecimal("patient_weight"),
-                            resultSet.getString("mchip_id"),
-                            resultSet.getString("patient_gender")
-                    );
-
-                    patientList.add(patient);
-                }
+        patientTableLoader.load(() -> {
+            int totalPatients = patientDao.getTotalPatients();
+            if (totalPatients == 0) {
+                return List.of();
             }
+            return new PagedObservableList<>(totalPatients, PAGE_SIZE, MAX_CACHED_PAGES,
+                    new KeysetPageFetcher<>(PAGE_SIZE, Patient::getPatientid, patientDao::getPatientsPage,
+                            patientDao::getPatientIdAfter));
+        });
+    }
 
-            if (patientList.isEmpty()) {
-                patientTableView.setPlaceholder(new Label("No patients found in the database."));
-            } else {
-                patientTableView.setItems(patientList);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+    /**
+     * Populates the patient table with the patients whose name, owner name, owner contact or microchip ID
+     * starts with the given text.
+     *
+     * @param query the search text.
+     */
+    private void searchPatientTable(String query) {
+        patientTableLoader.load(() -> patientDao.search(query, SEARCH_LIMIT));
     }
 
     /**
-     * Refreshes the patient table by clearing and repopulating the data.
+     * Refreshes the patient table, keeping the current search if one has been entered.
      */
     private void refreshPatientTable() {
-        patientTableView.getItems().clear();
-        populatePatientTable();
+        String query = patientSearchField.getText();
+        if (query == null || query.isBlank()) {
+            populatePatientTable();
+        } else {
+            searchPatientTable(query.strip());
+        }
     }
 
     /**
@@ -6,7 +6,6 @@ import com.genvetclinic.utils.*;
 import javafx.collections.*;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.image.*;
 import javafx.scene.input.MouseButton;
 import java.util.Arrays;
@@ -15,9 +14,10 @@ import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
 
-public class PersonnelPanelController {
+public class PersonnelPanelController implements ReactivatablePanel {
 
     private PersonnelDao personnelDao;
+    private AsyncTableLoader<Personnel> personnelTableLoader;
     private DatabaseConnection databaseConnection;
     private Personnel lastSelectedPersonnel;
 
@@ -52,9 +52,9 @@ public class PersonnelPanelController {
     @FXML private TableColumn<Personnel, String> specializationColumn;
     @FXML private TableColumn<Personnel, String> certificationColumn;
     @FXML private TableColumn<Personnel, String> workScheduleColumn;
-    @FXML private TableColumn<Personnel, String> hireDateColumn;
-    @FXML private TableColumn<Personnel, String> perfRatingColumn;
-    @FXML private TableColumn<Personnel, String> attRatingColumn;
+    @FXML private TableColumn<Personnel, LocalDate> hireDateColumn;
+    @FXML private TableColumn<Personnel, BigDecimal> perfRatingColumn;
+    @FXML private TableColumn<Personnel, BigDecimal> attRatingColumn;
 
     /**
      * The {@code PersonnelPanelController} class controls the personnel panel of the veterinary clinic application.
@@ -85,6 +85,9 @@ public class PersonnelPanelController {
     private void initialize() {
         
         initializePersonnelTable();
+        personnelTableLoader = new AsyncTableLoader<>(personnelTableView, Personnel::getPersonnelId,
+                "No personnel found in the database.", null);
+        personnelTableLoader.trackChanges(Personnel.class);
         populatePersonnelTable();
         enablePersonnelTableSelection();
         initializeJobTitleMenu();
@@ -95,7 +98,16 @@ public class PersonnelPanelController {
         addHoverEffect();
         handleExemptRating();
 
-        EffectsUtils.setTableSelectionColor(personnelTableView, "#358856");
+        EffectsUtils.setTableSelectionStyle(personnelTableView);
+    }
+
+    /**
+     * Brings the panel's data up to date when it is shown again from the panel cache; the table is only
+     * queried again if a write has not already been patched into it.
+     */
+    @Override
+    public void onPanelReactivated() {
+        personnelTableLoader.reloadIfChanged();
     }
 
     /**
@@ -123,19 +135,19 @@ public class PersonnelPanelController {
      * Initializes the personnel table by setting up the cell value factories for each column.
      */
     private void initializePersonnelTable() {
-        employeeIdColumn.setCellValueFactory(new PropertyValueFactory<>("personnelId"));
-        employeeNameColumn.setCellValueFactory(new PropertyValueFactory<>("personnelName"));
-        employeeEmailColumn.setCellValueFactory(new PropertyValueFactory<>("personnelEmail"));
-        employeeAddressColumn.setCellValueFactory(new PropertyValueFactory<>("personnelAddress"));
-        employeeContactColumn.setCellValueFactory(new PropertyValueFactory<>("personnelContact"));
-        emergencyContactColumn.setCellValueFactory(new PropertyValueFactory<>("emergencyContact"));
-        jobTitleColumn.setCellValueFactory(new PropertyValueFactory<>("jobTitle"));
-        specializationColumn.setCellValueFactory(new PropertyValueFactory<>("vetSpec"));
-        certificationColumn.setCellValueFactory(new PropertyValueFactory<>("certification"));
-        workScheduleColumn.setCellValueFactory(new PropertyValueFactory<>("workSched"));
-        hireDateColumn.setCellValueFactory(new PropertyValueFactory<>("hireDate"));
-        perfRatingColumn.setCellValueFactory(new PropertyValueFactory<>("perfRating"));
-        attRatingColumn.setCellValueFactory(new PropertyValueFactory<>("attendRating"));
+        ColumnBinding.bind(employeeIdColumn, Personnel::getPersonnelId);
+        ColumnBinding.bind(employeeNameColumn, Personnel::getPersonnelName);
+        ColumnBinding.bind(employeeEmailColumn, Personnel::getPersonnelEmail);
+        ColumnBinding.bind(employeeAddressColumn, Personnel::getPersonnelAddress);
+        ColumnBinding.bind(employeeContactColumn, Personnel::getPersonnelContact);
+        ColumnBinding.bind(emergencyContactColumn, Personnel::getEmergencyContact);
+        ColumnBinding.bind(jobTitleColumn, Personnel::getJobTitle);
+        ColumnBinding.bind(specializationColumn, Personnel::getVetSpec);
+        ColumnBinding.bind(certificationColumn, Personnel::getCertification);
+        ColumnBinding.bind(workScheduleColumn, Personnel::getWorkSched);
+        ColumnBinding.bind(hireDateColumn, Personnel::getHireDate);
+        ColumnBinding.bind(perfRatingColumn, Personnel::getPerfRating);
+        ColumnBinding.bind(attRatingColumn, Personnel::getAttendRating);
     }
 
     /**
@@ -194,8 +206,8 @@ public class PersonnelPanelController {
      * Sets the image for icons.
      */
     private void setImageForIcons() {
-        Image addPersonnelIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Add Employee Icon.png"));
-        Image managePersonnelIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Manage Employee Icon.png"));
+        Image addPersonnelIcon = ImageCache.getImage("Add Employee Icon.png", 32, 32);
+        Image managePersonnelIcon = ImageCache.getImage("Manage Employee Icon.png", 32, 32);
         addEmpIconViewer.setImage(addPersonnelIcon);
         manageEmpIconViewer.setImage(managePersonnelIcon);
     }
@@ -294,8 +306,7 @@ public class PersonnelPanelController {
                 return;
             }
 
-            personnelTableView.getItems().add(newPersonnel);
-            personnelDao.savePersonnel(newPersonnel);
+            personnelTableLoader.applySaved(personnelDao.savePersonnel(newPersonnel));
             clearPersonnelFields();
 
             AlertUtils.showInformationAlert("Success", "Personnel admitted successfully.");
@@ -402,11 +413,9 @@ public class PersonnelPanelController {
                         updatedHireDate, updatedWorkSchedule, updatedPerformanceRating, updatedAttendanceRating
                 );
 
-                // Update the personnel in the table view, refresh the table, and show success message
-                personnelTableView.getItems().set(personnelTableView.getSelectionModel().getSelectedIndex(), updatedPersonnel);
-                personnelDao.updatePersonnel(updatedPersonnel);
+                // Update the personnel in the database and the table view, and show success message
+                personnelTableLoader.applySaved(personnelDao.updatePersonnel(updatedPersonnel));
                 clearPersonnelFields();
-                refreshPersonnelTable();
                 AlertUtils.showInformationAlert("Success", "Personnel updated successfully.");
             } else {
                 // No changes were made
@@ -432,8 +441,9 @@ public class PersonnelPanelController {
 
         if (confirmed) {
             try {
-                personnelTableView.getItems().remove(selectedPersonnel);
-                personnelDao.deletePersonnel(selectedPersonnel);
+                if (personnelDao.deletePersonnel(selectedPersonnel)) {
+                    personnelTableLoader.applyDeleted(selectedPersonnel);
+                }
                 clearPersonnelFields();
                 AlertUtils.showInformationAlert("Success", "Personnel deleted successfully.");
             } catch (Exception e) {
@@ -475,53 +485,13 @@ public class PersonnelPanelController {
      * Populates the personnel table with data from the database.
      */
     private void populatePersonnelTable() {
-        try {
-            ObservableList<Personnel> personnelList = FXCollections.observableArrayList();
-    
-            try (Connection connection = databaseConnection.getConnection();
-                 PreparedStatement statement = connection.prepareStatement("SELECT * FROM personnel");
-                 ResultSet resultSet = statement.executeQuery()) {
-    
-                while (resultSet.next()) {
-                    Personnel personnel = new Personnel();
-                    personnel.setPersonnelId(resultSet.getString("personnel_id"));
-                    personnel.setPersonnelName(resultSet.getString("personnel_name"));
-                    personnel.setPersonnelEmail(resultSet.getString("personnel_email"));
-                    personnel.setPersonnelAddress(resultSet.getString("personnel_address"));
-                    personnel.setPersonnelContact(resultSet.getString("personnel_contact"));
-                    personnel.setEmergencyContact(resultSet.getString("emergency_contact"));
-                    personnel.setJobTitle(resultSet.getString("job_title"));
-                    personnel.setVetSpec(resultSet.getString("vet_specialization"));
-                    personnel.setCertification(resultSet.getString("personnel_certification"));
-                    personnel.setWorkSched(resultSet.getString("work_schedule"));
-                    personnel.setHireDate(resultSet.getDate("hire_date").toLocalDate());
-                    String perfRatingString = resultSet.getString("performance_rating");
-                    personnel.setPerfRating(perfRatingString != null ? new BigDecimal(perfRatingString) : null);
-                    String attRatingString = resultSet.getString("attendance_rating");
-                    personnel.setAttendRating(attRatingString != null ? new BigDecimal(attRatingString) : null);
-    
-                    personnelList.add(personnel);
-                }
-            }
-    
-            if (personnelList.isEmpty()) {
-                personnelTableView.setPlaceholder(new Label("No personnel found in the database."));
-            } else {
-                personnelTableView.setItems(personnelList);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        personnelTableLoader.load(() -> {
+            ObservableList<Personnel> rows = FXCollections.observableArrayList();
+            personnelDao.streamPersonnel(rows::add);
+            return rows;
+        });
     }
     
-    /**
-     * Refreshes the personnel table by clearing the items and populating it again.
-     */
-    private void refreshPersonnelTable() {
-        personnelTableView.getItems().clear();
-        populatePersonnelTable();
-    }
-
     /**
      * Initializes the job title menu with a list of available job titles.
      */    
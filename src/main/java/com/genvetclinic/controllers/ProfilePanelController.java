@@ -7,7 +7,6 @@ import com.genvetclinic.services.ActivationCodeDao;
 import com.genvetclinic.utils.*;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
 import java.sql.SQLException;
@@ -28,6 +27,7 @@ public class ProfilePanelController {
 
     private AdminDao adminDao;
     private ActivationCodeDao activationCodeDao;
+    private AsyncTableLoader<ActivationCode> activationTableLoader;
     private String loggedInUsername;
 
     // FXML annotated fields for UI elements
@@ -82,6 +82,8 @@ public class ProfilePanelController {
         
         setupEventHandlers();
         initializeActivationCodeTable();
+        activationTableLoader = new AsyncTableLoader<>(activationCodeTableView, ActivationCode::getActivationCode,
+                "No activation codes found.", "Unable to populate activation codes table. Please try again.");
         populateActivationTable();
         initializeSecurityQuestionMenu();
         addHoverEffect();
@@ -111,8 +113,8 @@ public class ProfilePanelController {
      * Initializes the code table by setting up the cell value factories for each column.
      */
     private void initializeActivationCodeTable() {
-        codeColumn.setCellValueFactory(new PropertyValueFactory<>("activationCode"));
-        codeStatusColumn.setCellValueFactory(new PropertyValueFactory<>("codeStatus"));
+        ColumnBinding.bind(codeColumn, ActivationCode::getActivationCode);
+        ColumnBinding.bind(codeStatusColumn, ActivationCode::getCodeStatus);
     
         // Initialize the activationCodeDao if not already done
         if (activationCodeDao == null) {
@@ -266,10 +268,9 @@ public class ProfilePanelController {
             // Insert the new activation code into the database using an instance of ActivationCodeDao
             ActivationCodeDao activationCodeDao = new ActivationCodeDao();
             ActivationCode activationCode = new ActivationCode(newCode, "Active", "Inactive");
-            activationCodeDao.insertActivationCode(activationCode);
 
-            // Refresh the activation codes table
-            populateActivationTable();
+            // Show the new activation code in the table
+            activationTableLoader.applySaved(activationCodeDao.insertActivationCode(activationCode));
         } catch (SQLException e) {
             e.printStackTrace();
             AlertUtils.showErrorAlert("Error", "Unable to generate activation code. Please try again.");
@@ -306,19 +307,7 @@ public class ProfilePanelController {
      * Populate the activation codes table with data from the database.
      */
     private void populateActivationTable() {
-        try {
-            ActivationCodeDao activationCodeDao = new ActivationCodeDao();
-            List<ActivationCode> activationCodes = activationCodeDao.getAllActivationCodes();
-
-            // Clear existing items
-            activationCodeTableView.getItems().clear();
-
-            // Add new items
-            activationCodeTableView.getItems().addAll(activationCodes);
-        } catch (SQLException e) {
-            e.printStackTrace();
-            AlertUtils.showErrorAlert("Error", "Unable to populate activation codes table. Please try again.");
-        }
+        activationTableLoader.load(() -> new ActivationCodeDao().getAllActivationCodes());
     }
 
     /**
@@ -0,0 +1,18 @@
+package com.genvetclinic.controllers;
+
+/**
+ * The {@code ReactivatablePanel} interface is implemented by panel controllers that are kept alive
+ * by the dashboard's panel cache. It lets a panel bring its data up to date when it is shown again,
+ * instead of being rebuilt from its FXML.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public interface ReactivatablePanel {
+
+    /**
+     * Called on the JavaFX Application Thread each time a cached panel is shown again.
+     */
+    void onPanelReactivated();
+}
@@ -0,0 +1,22 @@
+package com.genvetclinic.controllers;
+
+/**
+ * The {@code RecordPanel} interface is implemented by panel controllers that can bring a single record
+ * into view, so that other parts of the dashboard, such as the owner search, can open a panel at that
+ * record.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public interface RecordPanel {
+
+    /**
+     * Selects the record with the given ID in the panel's table, waiting for the table to load if needed.
+     * Called on the JavaFX Application Thread after the panel has been shown.
+     *
+     * @param id   the ID of the record.
+     * @param name the name of the person the record was found by.
+     */
+    void showRecord(String id, String name);
+}
@@ -10,11 +10,9 @@ import java.math.RoundingMode;
 import com.genvetclinic.models.Transaction;
 import com.genvetclinic.services.*;
 import com.genvetclinic.utils.*;
-import javafx.beans.property.*;
 import javafx.collections.*;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.MouseButton;
 import javafx.scene.text.Text;
 import javafx.scene.image.*;
@@ -30,9 +28,10 @@ import javafx.scene.image.*;
  * @version 1.0
  * @since 2023-11-19
  */
-public class TransactionPanelController {
+public class TransactionPanelController implements ReactivatablePanel, RecordPanel {
 
     private TransactionDao transactionDao;
+    private AsyncTableLoader<Transaction> transactionTableLoader;
     private DatabaseConnection databaseConnection;
     private Transaction lastSelectedTransaction;
 
@@ -64,7 +63,7 @@ public class TransactionPanelController {
     @FXML private TableColumn<Transaction, String> amountReceivedColumn;
     @FXML private TableColumn<Transaction, String> paymentMethodColumn;
     @FXML private TableColumn<Transaction, String> receiptNoColumn;
-    @FXML private TableColumn<Transaction, String> transacDateTimeColumn;
+    @FXML private TableColumn<Transaction, LocalDateTime> transacDateTimeColumn;
     @FXML private TableColumn<Transaction, String> transactionStatusColumn;
     @FXML private TableColumn<Transaction,BigDecimal> transactionChangeColumn;
 
@@ -89,6 +88,9 @@ public class TransactionPanelController {
     private void initialize() {
 
         initializeTransactionTable();
+        transactionTableLoader = new AsyncTableLoader<>(transactionTableView, Transaction::getTransactionId,
+                "No transactions found.", "Unable to fetch transactions. Please check your database connection.");
+        transactionTableLoader.trackChanges(Transaction.class);
         populateTransactionTable();
         enableTransactionTableSelection();
         initializeTransTypeMenu();
@@ -99,7 +101,24 @@ public class TransactionPanelController {
         setImageForIcons();
         addHoverEffect();
 
-        EffectsUtils.setTableSelectionColor(transactionTableView, "#358856");  
+        EffectsUtils.setTableSelectionStyle(transactionTableView);  
+    }
+
+    /**
+     * Brings the panel's data up to date when it is shown again from the panel cache; the table is only
+     * queried again if a write has not already been patched into it.
+     */
+    @Override
+    public void onPanelReactivated() {
+        transactionTableLoader.reloadIfChanged();
+    }
+
+    /**
+     * Selects the record picked in the owner search.
+     */
+    @Override
+    public void showRecord(String id, String name) {
+        transactionTableLoader.select(id);
     }
 
     /**
@@ -127,20 +146,19 @@ public class TransactionPanelController {
      * Initializes the transaction table by setting up the cell value factories for each column.
      */
     private void initializeTransactionTable() {
-        transactionIdColumn.setCellValueFactory(new PropertyValueFactory<>("transactionId"));
-        remuneratorColumn.setCellValueFactory(new PropertyValueFactory<>("payer"));
-        beneficiaryColumn.setCellValueFactory(new PropertyValueFactory<>("payee"));
-        transacTypeColumn.setCellValueFactory(new PropertyValueFactory<>("transactionType"));
-        transacDescColumn.setCellValueFactory(new PropertyValueFactory<>("transactionDesc"));
-        paymentMethodColumn.setCellValueFactory(new PropertyValueFactory<>("paymentMethod"));
-        receiptNoColumn.setCellValueFactory(new PropertyValueFactory<>("receiptNo"));
-        transacDateTimeColumn.setCellValueFactory(new PropertyValueFactory<>("transacDateTime"));
-        transactionStatusColumn.setCellValueFactory(new PropertyValueFactory<>("transactionStatus"));
-
-        transacTotalColumn.setCellValueFactory(cellData -> new SimpleStringProperty("₱" + cellData.getValue().getTransactionAmt().toString()));
-        amountReceivedColumn.setCellValueFactory(cellData -> new SimpleStringProperty("₱" + cellData.getValue().getAmtReceived().toString()));
-        transactionChangeColumn.setCellValueFactory(cellData ->
-        new ReadOnlyObjectWrapper<>(cellData.getValue().getTransactionChange()));
+        ColumnBinding.bind(transactionIdColumn, Transaction::getTransactionId);
+        ColumnBinding.bind(remuneratorColumn, Transaction::getPayer);
+        ColumnBinding.bind(beneficiaryColumn, Transaction::getPayee);
+        ColumnBinding.bind(transacTypeColumn, Transaction::getTransactionType);
+        ColumnBinding.bind(transacDescColumn, Transaction::getTransactionDesc);
+        ColumnBinding.bind(paymentMethodColumn, Transaction::getPaymentMethod);
+        ColumnBinding.bind(receiptNoColumn, Transaction::getReceiptNo);
+        ColumnBinding.bind(transacDateTimeColumn, Transaction::getTransacDateTime);
+        ColumnBinding.bind(transactionStatusColumn, Transaction::getTransactionStatus);
+
+        ColumnBinding.bind(transacTotalColumn, transaction -> "₱" + transaction.getTransactionAmt().toString());
+        ColumnBinding.bind(amountReceivedColumn, transaction -> "₱" + transaction.getAmtReceived().toString());
+        ColumnBinding.bind(transactionChangeColumn, Transaction::getTransactionChange);
 
         transactionChangeColumn.setCellFactory(column -> {
             TableCell<Transaction, BigDecimal> cell = new TableCell<>() {
@@ -214,8 +232,8 @@ public class TransactionPanelController {
      * Sets the image for icons.
      */    
     private void setImageForIcons() {
-        Image admitTransIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Add Transac Icon 2.png"));
-        Image manageTransIcon = new Image(getClass().getResourceAsStream("/com/genvetclinic/images/Manage Transac Icon.png"));
+        Image admitTransIcon = ImageCache.getImage("Add Transac Icon 2.png", 32, 32);
+        Image manageTransIcon = ImageCache.getImage("Manage Transac Icon.png", 32, 32);
         addTransIconViewer.setImage(admitTransIcon);
         manageTransIconViewer.setImage(manageTransIcon);
     }
@@ -266,11 +284,8 @@ public class TransactionPanelController {
                     transactionChange, transactionStatus
             );
     
-            // Add the new transaction to the table view
-            transactionTableView.getItems().add(newTransaction);
-    
-            // Save the transaction and update the transaction status
-            transactionDao.saveTransaction(newTransaction, transactionStatus);
+            // Save the transaction with its status and add it to the table view
+            transactionTableLoader.applySaved(transactionDao.saveTransaction(newTransaction, transactionStatus));
     
             // Clear form fields
             clearTransactionFields();
@@ -343,10 +358,8 @@ public class TransactionPanelController {
                         updatedTransactionDateTime, updatedTransactionChange, updatedTransactionStatus
                 );
     
-                // Update the transaction in the table view, refresh the table, and show success message
-                transactionTableView.getItems().set(transactionTableView.getSelectionModel().getSelectedIndex(), updatedTransaction);
-                transactionDao.updateTransaction(updatedTransaction, updatedTransactionStatus);
-                refreshTransactionTable();
+                // Update the transaction in the database and the table view, and show success message
+                transactionTableLoader.applySaved(transactionDao.updateTransaction(updatedTransaction, updatedTransactionStatus));
                 AlertUtils.showInformationAlert("Success", "Transaction updated successfully.");
     
             } else {
@@ -374,8 +387,9 @@ public class TransactionPanelController {
 
         if (confirmed) {
             try {
-                transactionTableView.getItems().remove(selectedTransaction);
-                transactionDao.deleteTransaction(selectedTransaction);
+                if (transactionDao.deleteTransaction(selectedTransaction)) {
+                    transactionTableLoader.applyDeleted(selectedTransaction);
+                }
                 clearTransactionFields();
                 AlertUtils.showInformationAlert("Success", "Transaction deleted successfully.");
             } catch (Exception e) {
@@ -417,43 +431,11 @@ public class TransactionPanelController {
      * Populates the transaction table with data from the database.
      */
     private void populateTransactionTable() {
-        try {
-            ObservableList<Transaction> transactions = FXCollections.observableArrayList();
-    
-            try (Connection connection = databaseConnection.getConnection();
-                 PreparedStatement statement = connection.prepareStatement("SELECT * FROM transaction");
-                 ResultSet resultSet = statement.executeQuery()) {
-    
-                while (resultSet.next()) {
-                    Transaction transaction = new Transaction(
-                            resultSet.getString("transaction_id"),
-                            resultSet.getString("payer"),
-                            resultSet.getString("payee"),
-                            resultSet.getString("transaction_type"),
-                            resultSet.getString("transaction_desc"),
-                            resultSet.getBigDecimal("transaction_amt"),
-                            resultSet.getBigDecimal("amt_received"),
-                            resultSet.getString("payment_method"),
-                            resultSet.getString("receipt_no"),
-                            resultSet.getTimestamp("transac_datetime").toLocalDateTime(),
-                            resultSet.getBigDecimal("transaction_change"), 
-                            resultSet.getString("transaction_status")
-                    );
-    
-                    transactions.add(transaction);
-                }
-            }
-    
-            if (transactions.isEmpty()) {
-                transactionTableView.setPlaceholder(new Label("No transactions found."));
-            } else {
-                transactionTableView.setItems(transactions);
-            }
-        } catch (SQLException e) {
-            AlertUtils.showErrorAlert("Error", "Unable to fetch transactions. Please check your database connection.");
-        } catch (Exception e) {
-            AlertUtils.showErrorAlert("Error", "An unexpected error occurred.");
-        }
+        transactionTableLoader.load(() -> {
+            ObservableList<Transaction> rows = FXCollections.observableArrayList();
+            transactionDao.streamTransactions(rows::add);
+            return rows;
+        });
     }
     
     /**
@@ -473,14 +455,6 @@ public class TransactionPanelController {
         transacChangeText.setText("");
     }
 
-    /**
-     * Refreshes the transaction table by clearing the items and populating it again.
-     */
-    private void refreshTransactionTable() {
-        transactionTableView.getItems().clear();
-        populateTransactionTable();
-    }
-
     /**
      * Initializes the transaction type menu.
      */
@@ -0,0 +1,78 @@
+package com.genvetclinic.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The {@code DashboardSnapshot} class holds the totals and the weekly schedule shown on the dashboard panel,
+ * captured together at a single point in time. The notification counters are kept by the
+ * {@link com.genvetclinic.services.NotificationService} instead.
+ *
+ * <p>Instances are immutable: all values are set once by the constructor and the list of
+ * weekly appointments cannot be modified, so a snapshot can be shared between threads and
+ * rendered at any time without going back to the database.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public final class DashboardSnapshot {
+
+    private final int totalPatients;
+    private final int totalPersonnel;
+    private final int totalBoarders;
+    private final BigDecimal totalEarnings;
+    private final List<Appointment> weeklyAppointments;
+
+    /**
+     * The time at which the counters were read.
+     */
+    private final LocalDateTime capturedAt;
+
+    /**
+     * Constructs a new {@code DashboardSnapshot} instance with the specified counters.
+     *
+     * @param totalPatients      The number of patients.
+     * @param totalPersonnel     The number of personnel.
+     * @param totalBoarders      The number of boarders.
+     * @param totalEarnings      The sum of captured transaction amounts.
+     * @param weeklyAppointments The appointments of the current week.
+     * @param capturedAt         The time at which the counters were read.
+     */
+    public DashboardSnapshot(int totalPatients, int totalPersonnel, int totalBoarders, BigDecimal totalEarnings,
+                             List<Appointment> weeklyAppointments, LocalDateTime capturedAt) {
+        this.totalPatients = totalPatients;
+        this.totalPersonnel = totalPersonnel;
+        this.totalBoarders = totalBoarders;
+        this.totalEarnings = totalEarnings != null ? totalEarnings : BigDecimal.ZERO;
+        this.weeklyAppointments = List.copyOf(weeklyAppointments);
+        this.capturedAt = capturedAt;
+    }
+
+    // Getters...
+
+    public int getTotalPatients() {
+        return totalPatients;
+    }
+
+    public int getTotalPersonnel() {
+        return totalPersonnel;
+    }
+
+    public int getTotalBoarders() {
+        return totalBoarders;
+    }
+
+    public BigDecimal getTotalEarnings() {
+        return totalEarnings;
+    }
+
+    public List<Appointment> getWeeklyAppointments() {
+        return weeklyAppointments;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+}
@@ -69,11 +69,11 @@ public class ActivationCodeDao {
      * Inserts a new activation code into the database.
      *
      * @param activationCode The {@link ActivationCode} object to be inserted.
+     * @return the inserted {@link ActivationCode}.
      * @throws SQLException if a database access error occurs.
      */
-    public void insertActivationCode(ActivationCode activationCode) throws SQLException {
-        try (DatabaseConnection databaseConnection = new DatabaseConnection()) {
-            Connection connection = databaseConnection.getConnection();
+    public ActivationCode insertActivationCode(ActivationCode activationCode) throws SQLException {
+        try (Connection connection = databaseConnection.getConnection()) {
             String query = "INSERT INTO " + TABLE_NAME + " (activation_code, code_status) VALUES (?, ?)";
 
             try (PreparedStatement preparedStatement = connection.prepareStatement(query)) {
@@ -83,6 +83,7 @@ public class ActivationCodeDao {
                 preparedStatement.executeUpdate();
             }
         }
+        return activationCode;
     }
 
     /**
@@ -7,6 +7,8 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The {@code AdminDao} class provides data access methods for managing Admin entities
@@ -27,6 +29,18 @@ public class AdminDao {
      */
     private final DatabaseConnection databaseConnection;
 
+    /**
+     * Admins read by {@code admin_id}, shared by every {@code AdminDao}. Writes through any instance invalidate
+     * the admin they touch; an admin changed by another workstation is re-read within the TTL.
+     */
+    private static final EntityCache<String, Admin> ADMIN_CACHE = new EntityCache<>("admin", 64, 5 * 60 * 1000L);
+
+    /**
+     * The {@code admin_id} behind each username looked up so far. An entry is checked against the cached admin
+     * before it is used, so an admin renamed elsewhere is resolved again.
+     */
+    private static final Map<String, String> ADMIN_IDS_BY_USERNAME = new ConcurrentHashMap<>();
+
     /**
      * Constructs a new {@code AdminDao} instance with a default database connection.
      *
@@ -60,6 +74,8 @@ public class AdminDao {
             preparedStatement.setBoolean(8, admin.isActive());
 
             preparedStatement.executeUpdate();
+        } finally {
+            invalidateAdmin(admin.getAdminId());
         }
     }
 
@@ -77,6 +93,8 @@ public class AdminDao {
             preparedStatement.setString(8, admin.getAdminId());
 
             preparedStatement.executeUpdate();
+        } finally {
+            invalidateAdmin(admin.getAdminId());
         }
     }
 
@@ -87,6 +105,8 @@ public class AdminDao {
             preparedStatement.setString(1, adminId);
 
             preparedStatement.executeUpdate();
+        } finally {
+            invalidateAdmin(adminId);
         }
     }
 
@@ -102,15 +122,72 @@ public class AdminDao {
         } catch (SQLException e) {
             e.printStackTrace();
             throw e;
+        } finally {
+            String adminId = ADMIN_IDS_BY_USERNAME.get(username);
+            if (adminId != null) {
+                invalidateAdmin(adminId);
+            } else {
+                ADMIN_CACHE.invalidateAll();
+            }
         }
     }   
                
+    /**
+     * Returns the admin with the given username. The username is resolved to its {@code admin_id} once, and the
+     * admin is then served from the admin cache.
+     *
+     * @param username the username of the admin.
+     * @return the admin, or {@code null} if no admin has that username.
+     * @throws SQLException if a database access error occurs.
+     */
     public Admin getAdminByUsername(String username) throws SQLException {
+        String adminId = ADMIN_IDS_BY_USERNAME.get(username);
+        if (adminId != null) {
+            Admin admin = getAdminById(adminId);
+            if (admin != null && admin.getUsername().equals(username)) {
+                return admin;
+            }
+            ADMIN_IDS_BY_USERNAME.remove(username, adminId);
+        }
+
+        adminId = readAdminIdByUsername(username);
+        if (adminId == null) {
+            return null;
+        }
+        ADMIN_IDS_BY_USERNAME.put(username, adminId);
+        return getAdminById(adminId);
+    }
+
+    /**
+     * Returns the admin with the given ID, from the admin cache if it is there.
+     *
+     * @param adminId the ID of the admin.
+     * @return the admin, or {@code null} if there is none.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Admin getAdminById(String adminId) throws SQLException {
+        return ADMIN_CACHE.get(adminId, this::readAdminById);
+    }
+
+    // Methods for reading admins past the admin cache...
+    private String readAdminIdByUsername(String username) throws SQLException {
+        try (Connection connection = databaseConnection.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT admin_id FROM admin WHERE username = ?")) {
+
+            preparedStatement.setString(1, username);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString("admin_id") : null;
+            }
+        }
+    }
+
+    private Admin readAdminById(String adminId) throws SQLException {
         Admin admin = null;
         try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM admin WHERE username = ?")) {
+             PreparedStatement preparedStatement = connection.prepareStatement("SELECT * FROM admin WHERE admin_id = ?")) {
     
-            preparedStatement.setString(1, username);
+            preparedStatement.setString(1, adminId);
     
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
@@ -130,6 +207,12 @@ public class AdminDao {
         return admin;
     }        
 
+    // Drops an admin from the admin cache, along with the usernames resolved to it, since a write may rename it.
+    private static void invalidateAdmin(String adminId) {
+        ADMIN_CACHE.invalidate(adminId);
+        ADMIN_IDS_BY_USERNAME.values().removeIf(adminId::equals);
+    }
+
     public String getSecurityQuestionByUsername(String username) throws SQLException {
         String securityQuestion = null;
         try (Connection connection = databaseConnection.getConnection();
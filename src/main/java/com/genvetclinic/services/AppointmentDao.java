@@ -1,18 +1,19 @@
 package com.genvetclinic.services;
 
 import com.genvetclinic.models.Appointment;
+import com.genvetclinic.utils.DateRange;
+import com.genvetclinic.utils.WeekWindow;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Time;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The {@code AppointmentDao} class provides data access methods for managing Appointment entities
@@ -52,7 +53,7 @@ public class AppointmentDao {
     }
 
     // Methods for saving, updating, deleting, validating, and retrieving appointment information...
-    public void saveAppointment(Appointment appointment) throws SQLException {
+    public Appointment saveAppointment(Appointment appointment) throws SQLException {
         String sql = "INSERT INTO appointment (appointment_id, client_name, client_contact, service_required, assigned_personnel, appointment_date, appointment_time, appointment_status) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         try (Connection connection = databaseConnection.getConnection();
@@ -60,9 +61,12 @@ public class AppointmentDao {
             setSaveAppointmentParameters(preparedStatement, appointment);
             preparedStatement.executeUpdate();
         }
+        OwnerIndex.recordSaved(OwnerIndex.Source.APPOINTMENT, appointment.getAppointmentId(), appointment.getClientName());
+        EventBus.getInstance().publish(EntityChangeEvent.saved(Appointment.class, appointment.getAppointmentId(), appointment));
+        return appointment;
     }
 
-    public void updateAppointment(Appointment appointment) throws SQLException {
+    public Appointment updateAppointment(Appointment appointment) throws SQLException {
         String sql = "UPDATE appointment SET client_name = ?, client_contact = ?, service_required = ?, " +
                 "assigned_personnel = ?, appointment_date = ?, appointment_time = ?, appointment_status = ? WHERE appointment_id = ?";
         try (Connection connection = databaseConnection.getConnection();
@@ -71,39 +75,70 @@ public class AppointmentDao {
             preparedStatement.setString(8, appointment.getAppointmentId());
             preparedStatement.executeUpdate();
         }
+        OwnerIndex.recordSaved(OwnerIndex.Source.APPOINTMENT, appointment.getAppointmentId(), appointment.getClientName());
+        EventBus.getInstance().publish(EntityChangeEvent.updated(Appointment.class, appointment.getAppointmentId(), appointment));
+        return appointment;
     }
 
-    public void deleteAppointment(Appointment appointment) {
+    public boolean deleteAppointment(Appointment appointment) {
         String sql = "DELETE FROM appointment WHERE appointment_id = ?";
         try (Connection connection = databaseConnection.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
             preparedStatement.setString(1, appointment.getAppointmentId());
-            preparedStatement.executeUpdate();
+            boolean deleted = preparedStatement.executeUpdate() > 0;
+            if (deleted) {
+                EventBus.getInstance().publish(EntityChangeEvent.deleted(Appointment.class, appointment.getAppointmentId(), appointment));
+                OwnerIndex.recordDeleted(OwnerIndex.Source.APPOINTMENT, appointment.getAppointmentId());
+            }
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
     }
 
     public List<Appointment> getAppointments() throws SQLException {
-        List<Appointment> appointments = new ArrayList<>();
-        String sql = "SELECT * FROM appointment";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
-            while (resultSet.next()) {
-                appointments.add(new Appointment(
-                        resultSet.getString("appointment_id"),
-                        resultSet.getString("client_name"),
-                        resultSet.getString("client_contact"),
-                        resultSet.getString("service_required"),
-                        resultSet.getString("assigned_personnel"),
-                        resultSet.getDate("appointment_date").toLocalDate(),
-                        resultSet.getTime("appointment_time").toLocalTime(),
-                        resultSet.getString("appointment_status")
-                ));
-            }
-        }
-        return appointments;
+        return databaseConnection.query("SELECT * FROM appointment", AppointmentDao::createAppointmentFromResultSet);
+    }
+
+    /**
+     * Streams every appointment in the database to the given consumer, one row at a time.
+     *
+     * @param consumer the consumer that receives each {@link Appointment}.
+     * @return the number of appointment records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamAppointments(Consumer<? super Appointment> consumer) throws SQLException {
+        return databaseConnection.stream("SELECT * FROM appointment", DatabaseConnection.STREAMING_FETCH_SIZE,
+                AppointmentDao::createAppointmentFromResultSet, consumer);
+    }
+
+    /**
+     * Streams the appointments dated within the given range to the given consumer, one row at a time.
+     *
+     * @param range    the appointment dates to stream.
+     * @param consumer the consumer that receives each {@link Appointment}.
+     * @return the number of appointment records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamAppointmentsBetween(DateRange range, Consumer<? super Appointment> consumer) throws SQLException {
+        return databaseConnection.stream("SELECT * FROM appointment WHERE appointment_date >= ? AND appointment_date < ?",
+                DatabaseConnection.STREAMING_FETCH_SIZE, AppointmentDao::createAppointmentFromResultSet, consumer,
+                Date.valueOf(range.getStart()), Date.valueOf(range.getEndExclusive()));
+    }
+
+    /**
+     * Returns the appointments assigned to one personnel and dated within the given range.
+     *
+     * @param assignedPersonnel the assigned personnel, as shown in the personnel menu.
+     * @param range             the appointment dates to return.
+     * @return the matching appointments.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Appointment> getAppointmentsForPersonnel(String assignedPersonnel, DateRange range) throws SQLException {
+        return databaseConnection.query("SELECT * FROM appointment WHERE assigned_personnel = ? "
+                        + "AND appointment_date >= ? AND appointment_date < ?", AppointmentDao::createAppointmentFromResultSet,
+                assignedPersonnel, Date.valueOf(range.getStart()), Date.valueOf(range.getEndExclusive()));
     }
 
     public boolean isAppointmentExists(String clientName, String assignedPersonnel, String serviceRequired, LocalDate appointmentDate, LocalTime appointmentTime) throws SQLException {
@@ -125,16 +160,15 @@ public class AppointmentDao {
 
 
     public int countAppointmentsNeedingAttentionAndWithinWeek() throws SQLException {
-        LocalDate currentDate = LocalDate.now();
-        LocalDate oneWeekLater = currentDate.plusDays(7);
+        DateRange upcomingWeek = WeekWindow.upcomingWeek();
 
         String sql = "SELECT COUNT(*) FROM appointment WHERE " +
                      "appointment_status <> 'Completed' AND " +
-                     "appointment_date BETWEEN ? AND ?";
+                     "appointment_date >= ? AND appointment_date < ?";
         try (Connection connection = databaseConnection.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setDate(1, java.sql.Date.valueOf(currentDate));
-            preparedStatement.setDate(2, java.sql.Date.valueOf(oneWeekLater));
+            preparedStatement.setDate(1, Date.valueOf(upcomingWeek.getStart()));
+            preparedStatement.setDate(2, Date.valueOf(upcomingWeek.getEndExclusive()));
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 resultSet.next();
@@ -144,8 +178,16 @@ public class AppointmentDao {
     }
 
     public String getNotificationTextForAppointmentsWithinWeekAndNeedingAttention() throws SQLException {
-        int appointmentsWithinWeekCount = countAppointmentsNeedingAttentionAndWithinWeek();
+        return buildNotificationText(countAppointmentsNeedingAttentionAndWithinWeek());
+    }
 
+    /**
+     * Builds the appointment notification message for the given count.
+     *
+     * @param appointmentsWithinWeekCount the number of appointments within the week that need attention.
+     * @return the notification message.
+     */
+    public static String buildNotificationText(int appointmentsWithinWeekCount) {
         if (appointmentsWithinWeekCount > 0) {
             return appointmentsWithinWeekCount + " \n appointment(s) within \n this week that need \n your attention.";
         } else {
@@ -154,18 +196,15 @@ public class AppointmentDao {
     }
 
     public List<Appointment> getAppointmentsForCurrentWeek() throws SQLException {
-        LocalDate today = LocalDate.now();
-        DayOfWeek firstDayOfWeek = DayOfWeek.SUNDAY; 
-        LocalDate startOfWeek = today.with(TemporalAdjusters.previousOrSame(firstDayOfWeek));
-        LocalDate endOfWeek = startOfWeek.plusDays(6);
+        DateRange week = WeekWindow.currentWeek();
 
-        String sql = "SELECT * FROM appointment WHERE appointment_date BETWEEN ? AND ?";
+        String sql = "SELECT * FROM appointment WHERE appointment_date >= ? AND appointment_date < ?";
         List<Appointment> appointments = new ArrayList<>();
 
         try (Connection connection = databaseConnection.getConnection();
             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setDate(1, Date.valueOf(startOfWeek));
-            preparedStatement.setDate(2, Date.valueOf(endOfWeek));
+            preparedStatement.setDate(1, Date.valueOf(week.getStart()));
+            preparedStatement.setDate(2, Date.valueOf(week.getEndExclusive()));
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
@@ -176,7 +215,7 @@ public class AppointmentDao {
         return appointments;
     }
 
-    private Appointment createAppointmentFromResultSet(ResultSet resultSet) throws SQLException {
+    static Appointment createAppointmentFromResultSet(ResultSet resultSet) throws SQLException {
         return new Appointment(
                 resultSet.getString("appointment_id"),
                 resultSet.getString("client_name"),
@@ -0,0 +1,335 @@
+package com.genvetclinic.services;
+
+import com.genvetclinic.models.Appointment;
+import com.genvetclinic.utils.DateRange;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code AppointmentSchedule} class keeps an in-memory index of the appointments of every personnel, so that
+ * double bookings can be detected without querying the database.
+ *
+ * <p>Every appointment occupies one {@link #SLOT_LENGTH} slot from its appointment time. Because all slots have
+ * the same length, an appointment starting at {@code t} overlaps exactly those starting after {@code t - SLOT_LENGTH}
+ * and before {@code t + SLOT_LENGTH}; the index is therefore a {@link TreeMap} of start times per personnel, and
+ * an overlap check is a single range lookup in {@code O(log n)}. Cancelled appointments do not occupy a slot.
+ *
+ * <p>The index covers a rolling window from yesterday to {@link #WINDOW_DAYS} days ahead. It is kept in sync with
+ * the saves, updates and deletes the {@link AppointmentDao} publishes on the {@link EventBus}. It is loaded on a
+ * background thread when the schedule is created, and reloaded the same way when the day changes or after
+ * {@link #MAX_AGE_MILLIS}, which bounds how long a booking made from another workstation can go unnoticed. A
+ * reload builds a new index and swaps it in once it is complete, replaying the writes made meanwhile, so lookups
+ * never wait for the database and always see a complete index.
+ *
+ * <p>{@link #findKnownConflict(Appointment)} and {@link #findNextFreeSlot(String, LocalDateTime, String)} only
+ * consult the index and are cheap enough to run on every keystroke. {@link #findConflict(Appointment)}, which is
+ * used when an appointment is saved, also checks dates outside the window against the database.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class AppointmentSchedule {
+
+    /**
+     * The length of one appointment.
+     */
+    public static final Duration SLOT_LENGTH = Duration.ofHours(1);
+
+    private static final int WINDOW_DAYS = 180;
+    private static final long MAX_AGE_MILLIS = 5 * 60 * 1000;
+    private static final long RETRY_MILLIS = 30 * 1000;
+    private static final String CANCELLED_STATUS = "Cancelled";
+
+    private static AppointmentSchedule instance;
+
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "vcms-appointment-schedule");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The index lookups are answered from, or {@code null} until the first load completes.
+     */
+    private Index index;
+    private boolean refreshing;
+    private boolean refreshRequested;
+    private long refreshStartedAtMillis;
+
+    /**
+     * The writes published while a reload is running; they are replayed onto the reloaded index.
+     */
+    private final List<EntityChangeEvent<Appointment>> eventsDuringRefresh = new ArrayList<>();
+
+    private AppointmentSchedule() {
+        EventBus.getInstance().subscribe(Appointment.class, this::apply);
+    }
+
+    /**
+     * Returns the schedule shared by the whole application, creating it and starting its first load on first use.
+     *
+     * @return the shared {@code AppointmentSchedule}.
+     */
+    public static synchronized AppointmentSchedule getInstance() {
+        if (instance == null) {
+            instance = new AppointmentSchedule();
+            instance.requestRefresh();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns an appointment of the same personnel whose slot overlaps the slot of the given appointment, checking
+     * the database if the slot lies outside the loaded window.
+     *
+     * @param appointment the appointment about to be saved; its own ID never conflicts, so an edited appointment
+     *                    can keep its slot.
+     * @return the overlapping appointment that starts last, or an empty {@code Optional} if the slot is free or
+     *         the appointment is cancelled.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Optional<Appointment> findConflict(Appointment appointment) throws SQLException {
+        if (!occupiesSlot(appointment)) {
+            return Optional.empty();
+        }
+        LocalDateTime start = startOf(appointment);
+        synchronized (this) {
+            refreshIfStale();
+            if (covers(start)) {
+                return Optional.ofNullable(findConflict(index.bookingsOf(appointment.getAssignedPersonnel()), start,
+                        appointment.getAppointmentId()));
+            }
+        }
+
+        NavigableMap<LocalDateTime, List<Appointment>> bookings = new TreeMap<>();
+        DateRange range = new DateRange(start.minus(SLOT_LENGTH).toLocalDate(),
+                start.plus(SLOT_LENGTH).toLocalDate().plusDays(1));
+        for (Appointment booked : new AppointmentDao().getAppointmentsForPersonnel(appointment.getAssignedPersonnel(), range)) {
+            if (occupiesSlot(booked)) {
+                bookings.computeIfAbsent(startOf(booked), slot -> new ArrayList<>()).add(booked);
+            }
+        }
+        return Optional.ofNullable(findConflict(bookings, start, appointment.getAppointmentId()));
+    }
+
+    /**
+     * Returns an appointment of the same personnel whose slot overlaps the slot of the given appointment, as far
+     * as the loaded index knows. Never queries the database.
+     *
+     * @param appointment the appointment being entered.
+     * @return the overlapping appointment that starts last, or an empty {@code Optional} if the slot is free, the
+     *         appointment is cancelled, or the slot lies outside the loaded window.
+     */
+    public synchronized Optional<Appointment> findKnownConflict(Appointment appointment) {
+        refreshIfStale();
+        if (!occupiesSlot(appointment) || !covers(startOf(appointment))) {
+            return Optional.empty();
+        }
+        LocalDateTime start = startOf(appointment);
+        return Optional.ofNullable(findConflict(index.bookingsOf(appointment.getAssignedPersonnel()), start,
+                appointment.getAppointmentId()));
+    }
+
+    /**
+     * Returns the earliest start, at or after the given date and time, of a slot the personnel is free for. Never
+     * queries the database.
+     *
+     * @param assignedPersonnel     the personnel, as shown in the personnel menu.
+     * @param notBefore             the earliest acceptable start.
+     * @param excludedAppointmentId the appointment being edited, whose own slot counts as free, or {@code null}.
+     * @return the start of the next free slot, or an empty {@code Optional} if it lies outside the loaded window.
+     */
+    public synchronized Optional<LocalDateTime> findNextFreeSlot(String assignedPersonnel, LocalDateTime notBefore,
+                                                                 String excludedAppointmentId) {
+        refreshIfStale();
+        LocalDateTime candidate = notBefore;
+        while (covers(candidate)) {
+            Appointment conflict = findConflict(index.bookingsOf(assignedPersonnel), candidate, excludedAppointmentId);
+            if (conflict == null) {
+                return Optional.of(candidate);
+            }
+            // Nothing can start before the latest overlapping appointment ends
+            candidate = startOf(conflict).plus(SLOT_LENGTH);
+        }
+        return Optional.empty();
+    }
+
+    // Methods for loading the index and keeping it in sync...
+    private boolean covers(LocalDateTime start) {
+        return index != null && index.window.contains(start.minus(SLOT_LENGTH).toLocalDate())
+                && index.window.contains(start.plus(SLOT_LENGTH).toLocalDate());
+    }
+
+    private void refreshIfStale() {
+        long now = System.currentTimeMillis();
+        boolean stale = index == null || !index.window.getStart().equals(LocalDate.now().minusDays(1))
+                || now - index.loadedAtMillis >= MAX_AGE_MILLIS;
+        if (stale && now - refreshStartedAtMillis >= RETRY_MILLIS) {
+            requestRefresh();
+        }
+    }
+
+    private synchronized void requestRefresh() {
+        if (refreshing) {
+            refreshRequested = true;
+            return;
+        }
+        refreshing = true;
+        refreshStartedAtMillis = System.currentTimeMillis();
+        eventsDuringRefresh.clear();
+        DateRange window = DateRange.ofDays(LocalDate.now().minusDays(1), WINDOW_DAYS + 1);
+        refreshExecutor.execute(() -> load(window));
+    }
+
+    // Runs on the refresh thread; the new index is private to it until it is installed.
+    private void load(DateRange window) {
+        Index loaded = new Index(window, System.currentTimeMillis());
+        try {
+            new AppointmentDao().streamAppointmentsBetween(window, loaded::add);
+        } catch (SQLException | RuntimeException e) {
+            // Keep answering from the previous index; the next lookup after RETRY_MILLIS tries again.
+            e.printStackTrace();
+            loaded = null;
+        }
+        install(loaded);
+    }
+
+    private synchronized void install(Index loaded) {
+        refreshing = false;
+        if (loaded != null) {
+            boolean replayed = true;
+            for (EntityChangeEvent<Appointment> event : eventsDuringRefresh) {
+                replayed &= loaded.apply(event);
+            }
+            index = loaded;
+            refreshRequested |= !replayed;
+        }
+        eventsDuringRefresh.clear();
+        if (refreshRequested) {
+            refreshRequested = false;
+            requestRefresh();
+        }
+    }
+
+    private synchronized void apply(EntityChangeEvent<Appointment> event) {
+        if (event.getType() == EntityChangeEvent.Type.RELOADED) {
+            requestRefresh();
+            return;
+        }
+        if (refreshing) {
+            eventsDuringRefresh.add(event);
+        }
+        if (index != null && !index.apply(event)) {
+            requestRefresh();
+        }
+    }
+
+    private static Appointment findConflict(NavigableMap<LocalDateTime, List<Appointment>> bookings,
+                                            LocalDateTime start, String excludedAppointmentId) {
+        Appointment conflict = null;
+        for (List<Appointment> atStart : bookings.subMap(start.minus(SLOT_LENGTH), false,
+                start.plus(SLOT_LENGTH), false).values()) {
+            for (Appointment appointment : atStart) {
+                if (!appointment.getAppointmentId().equals(excludedAppointmentId)) {
+                    conflict = appointment;
+                }
+            }
+        }
+        return conflict;
+    }
+
+    private static boolean occupiesSlot(Appointment appointment) {
+        return appointment.getAssignedPersonnel() != null && appointment.getAppointmentDate() != null
+                && appointment.getAppointmentTime() != null
+                && !CANCELLED_STATUS.equals(appointment.getAppointmentStatus());
+    }
+
+    private static LocalDateTime startOf(Appointment appointment) {
+        return LocalDateTime.of(appointment.getAppointmentDate(), appointment.getAppointmentTime());
+    }
+
+    private static String key(String assignedPersonnel) {
+        return assignedPersonnel.trim();
+    }
+
+    // The bookings of one window, by personnel and start time...
+    private static final class Index {
+
+        private final DateRange window;
+        private final long loadedAtMillis;
+        private final Map<String, NavigableMap<LocalDateTime, List<Appointment>>> bookingsByPersonnel = new HashMap<>();
+        private final Map<String, Appointment> bookingsById = new HashMap<>();
+
+        private Index(DateRange window, long loadedAtMillis) {
+            this.window = window;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+
+        private NavigableMap<LocalDateTime, List<Appointment>> bookingsOf(String assignedPersonnel) {
+            NavigableMap<LocalDateTime, List<Appointment>> bookings = bookingsByPersonnel.get(key(assignedPersonnel));
+            return bookings != null ? bookings : new TreeMap<>();
+        }
+
+        /**
+         * Applies a published write.
+         *
+         * @return {@code false} if the index could not follow the write and must be reloaded.
+         */
+        private boolean apply(EntityChangeEvent<Appointment> event) {
+            if (!remove(event.getId())) {
+                return false;
+            }
+            if (event.getType() != EntityChangeEvent.Type.DELETED) {
+                LocalDate date = event.getEntity().getAppointmentDate();
+                if (date != null && window.contains(date)) {
+                    add(event.getEntity());
+                }
+            }
+            return true;
+        }
+
+        private void add(Appointment appointment) {
+            if (!occupiesSlot(appointment)) {
+                return;
+            }
+            bookingsByPersonnel.computeIfAbsent(key(appointment.getAssignedPersonnel()), personnel -> new TreeMap<>())
+                    .computeIfAbsent(startOf(appointment), slot -> new ArrayList<>())
+                    .add(appointment);
+            bookingsById.put(appointment.getAppointmentId(), appointment);
+        }
+
+        private boolean remove(String appointmentId) {
+            Appointment appointment = bookingsById.remove(appointmentId);
+            if (appointment == null) {
+                return true;
+            }
+            String personnel = key(appointment.getAssignedPersonnel());
+            NavigableMap<LocalDateTime, List<Appointment>> bookings = bookingsByPersonnel.get(personnel);
+            LocalDateTime start = startOf(appointment);
+            List<Appointment> atStart = bookings != null ? bookings.get(start) : null;
+            if (atStart == null || !atStart.remove(appointment)) {
+                // The indexed appointment was modified in place
+                return false;
+            }
+            if (atStart.isEmpty()) {
+                bookings.remove(start);
+            }
+            if (bookings.isEmpty()) {
+                bookingsByPersonnel.remove(personnel);
+            }
+            return true;
+        }
+    }
+}
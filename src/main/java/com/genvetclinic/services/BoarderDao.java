@@ -5,7 +5,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.function.Consumer;
 import com.genvetclinic.models.Boarder;
+import com.genvetclinic.utils.DateRange;
+import com.genvetclinic.utils.WeekWindow;
 
 /**
  * The {@code BoarderDao} class provides data access methods for managing Boarder entities
@@ -45,7 +48,7 @@ public class BoarderDao {
     }
 
     // Methods for saving, updating, deleting, validating, and retrieving boarder information...
-    public void saveBoarder(Boarder boarder) throws SQLException {
+    public Boarder saveBoarder(Boarder boarder) throws SQLException {
         String sql = "INSERT INTO boarders (boarder_id, boarder_name, boarder_species, boarder_breed, boarder_color, " +
                 "b_special_instructions, b_owner_name, b_owner_contact, b_owner_address, date_boarded, boarder_age, " +
                 "boarder_gender, boarder_weight, date_departed, b_owner_email) " +
@@ -55,9 +58,12 @@ public class BoarderDao {
             setSaveBoarderParameters(preparedStatement, boarder);
             preparedStatement.executeUpdate();
         }
+        OwnerIndex.recordSaved(OwnerIndex.Source.BOARDER, boarder.getBoarderId(), boarder.getBrdrOwnerName());
+        EventBus.getInstance().publish(EntityChangeEvent.saved(Boarder.class, boarder.getBoarderId(), boarder));
+        return boarder;
     }
 
-    public void updateBoarder(Boarder boarder) throws SQLException {
+    public Boarder updateBoarder(Boarder boarder) throws SQLException {
         String sql = "UPDATE boarders SET boarder_name = ?, boarder_species = ?, boarder_breed = ?, boarder_age = ?, " +
                 "boarder_color = ?, date_boarded = ?, b_special_instructions = ?, b_owner_name = ?, " +
                 "b_owner_contact = ?, b_owner_address = ?, boarder_gender = ?, boarder_weight = ?, date_departed = ?, " +
@@ -68,14 +74,22 @@ public class BoarderDao {
             preparedStatement.setString(15, boarder.getBoarderId());
             preparedStatement.executeUpdate();
         }
+        OwnerIndex.recordSaved(OwnerIndex.Source.BOARDER, boarder.getBoarderId(), boarder.getBrdrOwnerName());
+        EventBus.getInstance().publish(EntityChangeEvent.updated(Boarder.class, boarder.getBoarderId(), boarder));
+        return boarder;
     }
 
-    public void deleteBoarder(Boarder boarder) throws SQLException {
+    public boolean deleteBoarder(Boarder boarder) throws SQLException {
         String sql = "DELETE FROM boarders WHERE boarder_id = ?";
         try (Connection connection = databaseConnection.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
             preparedStatement.setString(1, boarder.getBoarderId());
-            preparedStatement.executeUpdate();
+            boolean deleted = preparedStatement.executeUpdate() > 0;
+            if (deleted) {
+                EventBus.getInstance().publish(EntityChangeEvent.deleted(Boarder.class, boarder.getBoarderId(), boarder));
+                OwnerIndex.recordDeleted(OwnerIndex.Source.BOARDER, boarder.getBoarderId());
+            }
+            return deleted;
         }
     }
 
@@ -111,22 +125,25 @@ public class BoarderDao {
     }
     
     public int countRecentlyAdmittedBoarders() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM boarders WHERE date_boarded >= CURDATE() - INTERVAL DAYOFWEEK(CURDATE()) - 1 DAY AND date_boarded < CURDATE() + INTERVAL 7 - DAYOFWEEK(CURDATE()) DAY";
+        DateRange week = WeekWindow.currentWeek();
+        String sql = "SELECT COUNT(*) FROM boarders WHERE date_boarded >= ? AND date_boarded < ?";
         try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
-            resultSet.next();
-            return resultSet.getInt(1);
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setDate(1, java.sql.Date.valueOf(week.getStart()));
+            preparedStatement.setDate(2, java.sql.Date.valueOf(week.getEndExclusive()));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
         }
     }
           
 
     public int countBoardersWithDepartureDateWithinWeek() throws SQLException {
-        LocalDate oneWeekLater = LocalDate.now().plusWeeks(1);
-        String sql = "SELECT COUNT(*) FROM boarders WHERE date_departed <= ?";
+        String sql = "SELECT COUNT(*) FROM boarders WHERE date_departed < ?";
         try (Connection connection = databaseConnection.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setDate(1, java.sql.Date.valueOf(oneWeekLater));
+            preparedStatement.setDate(1, java.sql.Date.valueOf(WeekWindow.upcomingWeek().getEndExclusive()));
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 resultSet.next();
                 return resultSet.getInt(1);
@@ -135,9 +152,17 @@ public class BoarderDao {
     }
 
     public String getNotificationText() throws SQLException {
-        int recentlyAdmittedCount = countRecentlyAdmittedBoarders();
-        int departureWithinWeekCount = countBoardersWithDepartureDateWithinWeek();
-    
+        return buildNotificationText(countRecentlyAdmittedBoarders(), countBoardersWithDepartureDateWithinWeek());
+    }
+
+    /**
+     * Builds the boarder notification message for the given counts.
+     *
+     * @param recentlyAdmittedCount    the number of boarders admitted this week.
+     * @param departureWithinWeekCount the number of boarders departing within the week.
+     * @return the notification message.
+     */
+    public static String buildNotificationText(int recentlyAdmittedCount, int departureWithinWeekCount) {
         if (recentlyAdmittedCount > 0 && departureWithinWeekCount > 0) {
             return "You have " + recentlyAdmittedCount + " recently \n admitted boarder(s) \n and "
                     + departureWithinWeekCount + " boarder(s) \n with departure dates \n within the week.";
@@ -188,4 +213,36 @@ public class BoarderDao {
     }
       
     
+
+    /**
+     * Streams every boarder in the database to the given consumer, one row at a time.
+     *
+     * @param consumer the consumer that receives each {@link Boarder}.
+     * @return the number of boarder records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamBoarders(Consumer<? super Boarder> consumer) throws SQLException {
+        return databaseConnection.stream("SELECT * FROM boarders", DatabaseConnection.STREAMING_FETCH_SIZE,
+                this::mapResultSetToBoarder, consumer);
+    }
+
+    private Boarder mapResultSetToBoarder(ResultSet resultSet) throws SQLException {
+        return new Boarder(
+                resultSet.getString("boarder_id"),
+                resultSet.getString("boarder_name"),
+                resultSet.getString("boarder_species"),
+                resultSet.getString("boarder_breed"),
+                resultSet.getString("boarder_color"),
+                resultSet.getString("b_special_instructions"),
+                resultSet.getString("b_owner_name"),
+                resultSet.getString("b_owner_contact"),
+                resultSet.getString("b_owner_address"),
+                resultSet.getDate("date_boarded").toLocalDate(),
+                resultSet.getBigDecimal("boarder_age"),
+                resultSet.getString("boarder_gender"),
+                resultSet.getBigDecimal("boarder_weight"),
+                resultSet.getDate("date_departed").toLocalDate(),
+                resultSet.getString("b_owner_email")
+        );
+    }
 }
@@ -0,0 +1,455 @@
+package com.genvetclinic.services;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+/**
+ * The {@code ConnectionPool} class is a bounded pool of physical JDBC connections to the clinic database.
+ * Connections handed out by {@link #getConnection()} are lightweight handles; closing a handle returns
+ * the underlying connection to the pool instead of tearing down the socket.
+ *
+ * <p>The pool never holds more than {@code maxPoolSize} physical connections. Idle connections are
+ * validated before they are handed out and evicted by a background task once they have been idle
+ * longer than the configured timeout. Borrow wait times are recorded so that pool pressure can be
+ * inspected at runtime.
+ *
+ * <p>Each physical connection keeps an LRU {@link StatementCache} of its prepared statements.
+ * Statements whose SQL matches {@link #setServerPreparedFilter(Predicate)} are prepared server-side
+ * when the driver supports it, so the server keeps the parsed plan for the life of the connection.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class ConnectionPool implements DataSource {
+
+    /**
+     * The JDBC URL, username and password used to open physical connections.
+     */
+    private final String jdbcUrl;
+    private final String username;
+    private final String password;
+
+    /**
+     * The maximum number of physical connections, idle or in use, that the pool may hold.
+     */
+    private final int maxPoolSize;
+
+    /**
+     * The number of idle connections the evictor leaves in place.
+     */
+    private final int minIdle;
+
+    /**
+     * How long, in milliseconds, a connection may sit idle before it is evicted.
+     */
+    private final long idleTimeoutMillis;
+
+    /**
+     * How long, in milliseconds, a caller waits for a free connection before giving up.
+     */
+    private final long maxWaitMillis;
+
+    /**
+     * The timeout, in seconds, passed to {@link Connection#isValid(int)} on borrow.
+     */
+    private final int validationTimeoutSeconds;
+
+    /**
+     * Permits bounding the number of connections that may be handed out at once.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Idle physical connections, most recently returned first.
+     */
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+
+    /**
+     * Background task that evicts connections that have been idle for too long.
+     */
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * The maximum number of prepared statements cached per physical connection.
+     */
+    private final int statementCacheSize;
+
+    /**
+     * Decides which SQL statements are prepared server-side instead of client-side.
+     */
+    private volatile Predicate<String> serverPreparedFilter = sql -> false;
+
+    private int totalConnections;
+    private boolean closed;
+
+    // Metrics...
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong statementHitCount = new AtomicLong();
+    private final AtomicLong statementMissCount = new AtomicLong();
+    private final AtomicLong statementEvictionCount = new AtomicLong();
+
+    /**
+     * Constructs a new {@code ConnectionPool} with the specified settings.
+     *
+     * @param jdbcUrl                  the JDBC URL of the database.
+     * @param username                 the database username.
+     * @param password                 the database password.
+     * @param maxPoolSize              the maximum number of physical connections.
+     * @param minIdle                  the number of idle connections kept open by the evictor.
+     * @param idleTimeoutMillis        how long a connection may stay idle before eviction.
+     * @param maxWaitMillis            how long a borrower waits for a free connection.
+     * @param validationTimeoutSeconds the timeout used when validating a connection on borrow.
+     * @param statementCacheSize       the number of prepared statements cached per connection.
+     */
+    public ConnectionPool(String jdbcUrl, String username, String password, int maxPoolSize, int minIdle,
+                          long idleTimeoutMillis, long maxWaitMillis, int validationTimeoutSeconds,
+                          int statementCacheSize) {
+        if (maxPoolSize <= 0) {
+            throw new IllegalArgumentException("maxPoolSize must be greater than zero");
+        }
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+        this.maxPoolSize = maxPoolSize;
+        this.minIdle = Math.min(minIdle, maxPoolSize);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxPoolSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vcms-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1_000L, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new physical connection if none is idle and the
+     * pool has not reached its maximum size.
+     *
+     * @return a pooled connection handle; closing it returns the connection to the pool.
+     * @throws SQLException if the pool is closed, no connection becomes free in time, or a new
+     *                      connection cannot be established.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + maxWaitMillis + " ms waiting for a pooled connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdleConnection();
+            if (pooled == null) {
+                pooled = openPhysicalConnection();
+            }
+            recordWait(System.nanoTime() - start);
+            return pooled.borrow();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Not supported; the pool always authenticates with its configured credentials.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("ConnectionPool uses its configured credentials");
+    }
+
+    /**
+     * Returns a physical connection to the pool. Called when a borrowed handle is closed.
+     *
+     * @param pooled the connection being returned.
+     */
+    void release(PooledConnection pooled) {
+        boolean reusable = pooled.resetForReuse();
+        synchronized (this) {
+            if (reusable && !closed) {
+                idleConnections.addFirst(pooled);
+                pooled = null;
+            } else {
+                totalConnections--;
+            }
+        }
+        if (pooled != null) {
+            pooled.closePhysical();
+        }
+        permits.release();
+    }
+
+    /**
+     * Sets the filter that decides which statements are prepared server-side. Statements already
+     * cached keep the mode they were prepared with.
+     *
+     * @param serverPreparedFilter a predicate over the SQL text.
+     */
+    public void setServerPreparedFilter(Predicate<String> serverPreparedFilter) {
+        this.serverPreparedFilter = serverPreparedFilter;
+    }
+
+    boolean isServerPrepared(String sql) {
+        return serverPreparedFilter.test(sql);
+    }
+
+    int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    void recordStatementHit() {
+        statementHitCount.incrementAndGet();
+    }
+
+    void recordStatementMiss() {
+        statementMissCount.incrementAndGet();
+    }
+
+    void recordStatementEviction() {
+        statementEvictionCount.incrementAndGet();
+    }
+
+    /**
+     * Closes every idle connection and stops the evictor. Connections still in use are closed
+     * as they are returned.
+     */
+    public void close() {
+        Deque<PooledConnection> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayDeque<>(idleConnections);
+            totalConnections -= idleConnections.size();
+            idleConnections.clear();
+        }
+        evictor.shutdownNow();
+        toClose.forEach(PooledConnection::closePhysical);
+    }
+
+    // Private methods for borrowing, creating, and evicting connections...
+    private PooledConnection takeValidIdleConnection() throws SQLException {
+        while (true) {
+            PooledConnection pooled;
+            synchronized (this) {
+                if (closed) {
+                    throw new SQLException("Connection pool has been closed");
+                }
+                pooled = idleConnections.pollFirst();
+                if (pooled == null) {
+                    return null;
+                }
+            }
+            if (pooled.isValid(validationTimeoutSeconds)) {
+                return pooled;
+            }
+            validationFailureCount.incrementAndGet();
+            synchronized (this) {
+                totalConnections--;
+            }
+            pooled.closePhysical();
+        }
+    }
+
+    private PooledConnection openPhysicalConnection() throws SQLException {
+        synchronized (this) {
+            totalConnections++;
+        }
+        try {
+            Connection physical = DriverManager.getConnection(jdbcUrl, username, password);
+            createdCount.incrementAndGet();
+            return new PooledConnection(this, physical);
+        } catch (SQLException e) {
+            synchronized (this) {
+                totalConnections--;
+            }
+            throw e;
+        }
+    }
+
+    private void evictIdleConnections() {
+        long now = System.currentTimeMillis();
+        Deque<PooledConnection> evicted = new ArrayDeque<>();
+        synchronized (this) {
+            Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+            while (iterator.hasNext() && idleConnections.size() > minIdle) {
+                PooledConnection pooled = iterator.next();
+                if (now - pooled.getLastReturnedMillis() >= idleTimeoutMillis) {
+                    iterator.remove();
+                    totalConnections--;
+                    evicted.add(pooled);
+                }
+            }
+        }
+        evictedCount.addAndGet(evicted.size());
+        evicted.forEach(PooledConnection::closePhysical);
+    }
+
+    private void recordWait(long waitNanos) {
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    // Getter methods for pool metrics...
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public synchronized int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public synchronized int getIdleConnections() {
+        return idleConnections.size();
+    }
+
+    public synchronized int getActiveConnections() {
+        return totalConnections - idleConnections.size();
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    public long getValidationFailureCount() {
+        return validationFailureCount.get();
+    }
+
+    public long getStatementCacheHits() {
+        return statementHitCount.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementMissCount.get();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementEvictionCount.get();
+    }
+
+    /**
+     * Returns the fraction of {@code prepareStatement} calls served from a statement cache.
+     *
+     * @return the statement cache hit ratio, between 0 and 1.
+     */
+    public double getStatementCacheHitRatio() {
+        long hits = statementHitCount.get();
+        long total = hits + statementMissCount.get();
+        return total == 0 ? 0.0 : hits / (double) total;
+    }
+
+    /**
+     * Returns the average time callers waited in {@link #getConnection()}, in milliseconds.
+     *
+     * @return the average borrow wait time.
+     */
+    public double getAverageWaitMillis() {
+        long borrows = borrowCount.get();
+        return borrows == 0 ? 0.0 : totalWaitNanos.get() / (double) borrows / 1_000_000.0;
+    }
+
+    /**
+     * Returns the longest time a caller waited in {@link #getConnection()}, in milliseconds.
+     *
+     * @return the maximum borrow wait time.
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[total=%d, active=%d, idle=%d, waiting=%d, borrows=%d, created=%d, "
+                        + "evicted=%d, timeouts=%d, avgWait=%.2fms, maxWait=%.2fms, stmtHits=%d, stmtMisses=%d]",
+                getTotalConnections(), getActiveConnections(), getIdleConnections(), getWaitingThreads(),
+                getBorrowCount(), getCreatedCount(), getEvictedCount(), getTimeoutCount(),
+                getAverageWaitMillis(), getMaxWaitMillis(), getStatementCacheHits(), getStatementCacheMisses());
+    }
+
+    // DataSource methods that the pool does not use...
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("ConnectionPool does not wrap " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
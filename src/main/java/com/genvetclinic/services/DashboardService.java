@@ -0,0 +1,172 @@
+package com.genvetclinic.services;
+
+import com.genvetclinic.models.DashboardSnapshot;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+
+/**
+ * The {@code DashboardService} class keeps the dashboard counters up to date in the background.
+ *
+ * <p>A single shared instance refreshes the {@link DashboardSnapshot} on a scheduled daemon thread
+ * while at least one dashboard panel is listening, and keeps the last snapshot in memory for
+ * {@link #SNAPSHOT_TTL_MILLIS}. A dashboard panel that is (re)loaded renders the cached snapshot
+ * immediately and only triggers a database refresh when the cache has expired. Listeners are always
+ * notified on the JavaFX Application Thread through {@link Platform#runLater(Runnable)}.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class DashboardService {
+
+    /**
+     * How long a snapshot is served from the cache before it is considered stale.
+     */
+    private static final long SNAPSHOT_TTL_MILLIS = 30 * 1000L;
+    /**
+     * How often the counters are refreshed while a dashboard panel is listening.
+     */
+    private static final long REFRESH_INTERVAL_MILLIS = 30 * 1000L;
+
+    private static DashboardService instance;
+
+    private final DashboardSnapshotDao dashboardSnapshotDao;
+
+    /**
+     * Runs the scheduled and on-demand refreshes, one at a time.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Callbacks of the dashboard panels currently on screen.
+     */
+    private final List<Consumer<DashboardSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Guards against queueing a refresh while another one is still pending.
+     */
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    private volatile DashboardSnapshot cachedSnapshot;
+    private volatile long cachedAtMillis;
+
+    /**
+     * Constructs a new {@code DashboardService} backed by the specified DAO.
+     *
+     * @param dashboardSnapshotDao the DAO used to read dashboard snapshots.
+     */
+    public DashboardService(DashboardSnapshotDao dashboardSnapshotDao) {
+        this.dashboardSnapshotDao = dashboardSnapshotDao;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vcms-dashboard-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshIfListening, REFRESH_INTERVAL_MILLIS,
+                REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the dashboard service shared by every dashboard panel, creating it on first use.
+     *
+     * @return the shared {@code DashboardService}.
+     * @throws SQLException if the database driver cannot be loaded.
+     */
+    public static synchronized DashboardService getInstance() throws SQLException {
+        if (instance == null) {
+            instance = new DashboardService(new DashboardSnapshotDao());
+        }
+        return instance;
+    }
+
+    /**
+     * Stops the shared service, if it was ever started. Called once when the application exits.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.scheduler.shutdownNow();
+            instance = null;
+        }
+    }
+
+    /**
+     * Returns the last snapshot read from the database, even if it has expired.
+     *
+     * @return the cached snapshot, or {@code null} if none has been read yet.
+     */
+    public DashboardSnapshot getCachedSnapshot() {
+        return cachedSnapshot;
+    }
+
+    /**
+     * Checks whether the cached snapshot is younger than the cache TTL.
+     *
+     * @return {@code true} if a snapshot is cached and has not expired.
+     */
+    public boolean isSnapshotFresh() {
+        return cachedSnapshot != null && System.currentTimeMillis() - cachedAtMillis < SNAPSHOT_TTL_MILLIS;
+    }
+
+    /**
+     * Registers a callback that receives every new snapshot on the JavaFX Application Thread.
+     * If the cached snapshot is missing or stale, a refresh is started right away.
+     *
+     * @param listener the callback to register.
+     */
+    public void addListener(Consumer<DashboardSnapshot> listener) {
+        listeners.add(listener);
+        if (!isSnapshotFresh()) {
+            requestRefresh();
+        }
+    }
+
+    /**
+     * Removes a callback registered with {@link #addListener(Consumer)}.
+     *
+     * @param listener the callback to remove.
+     */
+    public void removeListener(Consumer<DashboardSnapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Schedules an immediate refresh in the background, unless one is already pending.
+     */
+    public void requestRefresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::refresh);
+            } catch (RuntimeException e) {
+                refreshPending.set(false);
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // Methods for reading snapshots and notifying listeners...
+    private void refreshIfListening() {
+        if (!listeners.isEmpty()) {
+            refresh();
+        }
+    }
+
+    private void refresh() {
+        refreshPending.set(false);
+        try {
+            DashboardSnapshot snapshot = dashboardSnapshotDao.loadSnapshot();
+            cachedSnapshot = snapshot;
+            cachedAtMillis = System.currentTimeMillis();
+            Platform.runLater(() -> listeners.forEach(listener -> listener.accept(snapshot)));
+        } catch (SQLException | RuntimeException e) {
+            // Keep serving the previous snapshot; the next scheduled refresh will try again.
+            e.printStackTrace();
+        }
+    }
+}
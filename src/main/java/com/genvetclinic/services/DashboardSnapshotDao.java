@@ -0,0 +1,109 @@
+package com.genvetclinic.services;
+
+import com.genvetclinic.models.Appointment;
+import com.genvetclinic.models.DashboardSnapshot;
+import com.genvetclinic.utils.DateRange;
+import com.genvetclinic.utils.WeekWindow;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code DashboardSnapshotDao} class reads the totals shown on the dashboard panel
+ * in a single round trip to the database and returns them as a {@link DashboardSnapshot}.
+ *
+ * <p>The counters are computed by scalar subqueries in one derived table, which is left-joined
+ * to the appointments of the current week. The query therefore returns one row per weekly
+ * appointment (or a single row with null appointment columns when there are none), with the
+ * same counters repeated on every row. Each appointment is given its display time range here, before
+ * the snapshot is shared, so the dashboard never has to modify a snapshot's appointments.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class DashboardSnapshotDao {
+
+    /**
+     * The dashboard totals and weekly appointments, read in one statement.
+     */
+    private static final String SNAPSHOT_SQL = "SELECT c.*, a.* FROM (SELECT " +
+            "(SELECT COUNT(*) FROM patients) AS total_patients, " +
+            "(SELECT COUNT(*) FROM personnel) AS total_personnel, " +
+            "(SELECT COUNT(*) FROM boarders) AS total_boarders, " +
+            "(SELECT COALESCE(SUM(captured_total), 0) FROM earnings_rollup) AS total_earnings" +
+            ") c LEFT JOIN appointment a ON a.appointment_date >= ? AND a.appointment_date < ?";
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * The {@link DatabaseConnection} instance used to establish a connection to the database.
+     */
+    private final DatabaseConnection databaseConnection;
+
+    /**
+     * Constructs a new {@code DashboardSnapshotDao} instance with the default database connection.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    public DashboardSnapshotDao() throws SQLException {
+        this.databaseConnection = new DatabaseConnection();
+    }
+
+    /**
+     * Constructs a new {@code DashboardSnapshotDao} instance with the specified database connection.
+     *
+     * @param databaseConnection the database connection to be used by this DAO.
+     */
+    public DashboardSnapshotDao(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Reads the dashboard totals and the appointments of the current week in one query.
+     *
+     * @return a {@link DashboardSnapshot} of the current dashboard state.
+     * @throws SQLException if a database access error occurs.
+     */
+    public DashboardSnapshot loadSnapshot() throws SQLException {
+        DateRange week = WeekWindow.currentWeek();
+
+        try (Connection connection = databaseConnection.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(SNAPSHOT_SQL)) {
+            preparedStatement.setDate(1, Date.valueOf(week.getStart()));
+            preparedStatement.setDate(2, Date.valueOf(week.getEndExclusive()));
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Dashboard snapshot query returned no rows");
+                }
+
+                int totalPatients = resultSet.getInt("total_patients");
+                int totalPersonnel = resultSet.getInt("total_personnel");
+                int totalBoarders = resultSet.getInt("total_boarders");
+                BigDecimal totalEarnings = resultSet.getBigDecimal("total_earnings");
+
+                List<Appointment> weeklyAppointments = new ArrayList<>();
+                do {
+                    // A week without appointments still yields the counter row, with null appointment columns.
+                    if (resultSet.getString("appointment_id") != null) {
+                        Appointment appointment = AppointmentDao.createAppointmentFromResultSet(resultSet);
+                        appointment.setFormattedTimeRange(appointment.getAppointmentTime().format(TIME_FORMATTER)
+                                + " - " + appointment.getAppointmentTime().plusHours(1).format(TIME_FORMATTER));
+                        weeklyAppointments.add(appointment);
+                    }
+                } while (resultSet.next());
+
+                return new DashboardSnapshot(totalPatients, totalPersonnel, totalBoarders, totalEarnings,
+                        weeklyAppointments, LocalDateTime.now());
+            }
+        }
+    }
+}
@@ -1,16 +1,22 @@
 package com.genvetclinic.services;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The {@code DatabaseConnection} class manages the connection to the MySQL database
  * used by the veterinary clinic system. It provides methods for establishing, closing,
  * and executing queries on the database.
  *
+ * <p>Connections are borrowed from a single {@link ConnectionPool} shared by every instance,
+ * so creating a {@code DatabaseConnection} (or a DAO with its no-arg constructor) is cheap and
+ * does not open a socket.
+ *
  * <p>This class implements the {@link AutoCloseable} interface, allowing it to be used
  * in try-with-resources statements to ensure proper resource management.
  *
@@ -33,51 +39,87 @@ public class DatabaseConnection implements AutoCloseable {
      */
     private static final String DB_PASSWORD = "";
     /**
-     * The connection to the database.
+     * The maximum number of physical connections held by the shared pool.
+     */
+    private static final int MAX_POOL_SIZE = 8;
+    /**
+     * The number of idle connections kept open between bursts of activity.
+     */
+    private static final int MIN_IDLE_CONNECTIONS = 2;
+    /**
+     * How long an idle pooled connection is kept before it is closed.
+     */
+    private static final long IDLE_TIMEOUT_MILLIS = 5 * 60 * 1000L;
+    /**
+     * How long a caller waits for a free pooled connection.
+     */
+    private static final long MAX_WAIT_MILLIS = 10 * 1000L;
+    /**
+     * The timeout used to validate a pooled connection before it is handed out.
+     */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    /**
+     * The number of prepared statements cached per pooled connection.
+     */
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    /**
+     * System property that turns on server-side prepared statements for read queries.
+     */
+    private static final String SERVER_PREPARED_READS_PROPERTY = "vcms.db.serverPreparedReads";
+
+    /**
+     * Fetch size that makes the MySQL driver stream rows one at a time instead of buffering the result.
      */
-    private Connection connection;
+    public static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
 
     /**
-     * Constructs a new {@code DatabaseConnection} instance and establishes a connection
-     * to the MySQL database.
+     * Constructs a new {@code DatabaseConnection} instance backed by the shared connection pool.
+     * No physical connection is opened until {@link #getConnection()} is called.
      *
-     * @throws SQLException if a database access error occurs.
+     * @throws SQLException if the MySQL JDBC driver cannot be loaded.
      */
     public DatabaseConnection() throws SQLException {
         try {
             Class.forName("com.mysql.cj.jdbc.Driver");
-            connection = DriverManager.getConnection(JDBC_URL, DB_USERNAME, DB_PASSWORD);
-        } catch (ClassNotFoundException | SQLException e) {
+        } catch (ClassNotFoundException e) {
             throw new SQLException("Error establishing database connection", e);
         }
     }
 
     /**
-     * Retrieves the current database connection.
+     * Borrows a connection from the shared pool. Closing the returned connection hands it back
+     * to the pool, so callers should keep using try-with-resources.
      *
-     * @return the current database connection.
+     * @return a pooled database connection.
      */
     public Connection getConnection() {
         try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(JDBC_URL, DB_USERNAME, DB_PASSWORD);
-            }
+            return getPool().getConnection();
         } catch (SQLException e) {
             throw new RuntimeException("Error establishing database connection", e);
         }
-        return connection;
+    }
+
+    /**
+     * Returns the connection pool shared by every {@code DatabaseConnection} and DAO.
+     *
+     * @return the shared {@link ConnectionPool}.
+     */
+    public static ConnectionPool getPool() {
+        return PoolHolder.POOL;
+    }
+
+    /**
+     * Closes the shared connection pool. Called once when the application exits.
+     */
+    public static void shutdownPool() {
+        PoolHolder.POOL.close();
     }
 
     // Methods for closing resources, executing queries, and updating the database...
     @Override
     public void close() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace(); 
-        }
+        // Connections are borrowed per call and returned by the caller, so there is nothing to release here.
     }
 
     public void closeStatement(PreparedStatement statement) {
@@ -100,45 +142,109 @@ public class DatabaseConnection implements AutoCloseable {
         }
     }
 
-    public ResultSet executeQuery(String query, Object... params) throws SQLException {
-        PreparedStatement statement = null;
-        ResultSet resultSet = null;
-
-        try {
-            statement = connection.prepareStatement(query);
+    /**
+     * Runs a query and maps every row into a list.
+     *
+     * @param <T>    the type of the mapped rows.
+     * @param query  the SQL query to execute.
+     * @param mapper the mapper applied to each row.
+     * @param params the query parameters, bound in order.
+     * @return the mapped rows.
+     * @throws SQLException if a database access error occurs.
+     */
+    public <T> List<T> query(String query, RowMapper<T> mapper, Object... params) throws SQLException {
+        List<T> results = new ArrayList<>();
+        stream(query, 0, mapper, results::add, params);
+        return results;
+    }
 
-            for (int i = 0; i < params.length; i++) {
-                statement.setObject(i + 1, params[i]);
+    /**
+     * Runs a query that is expected to return at most one row.
+     *
+     * @param <T>    the type of the mapped row.
+     * @param query  the SQL query to execute.
+     * @param mapper the mapper applied to the row.
+     * @param params the query parameters, bound in order.
+     * @return the mapped row, or {@code null} if the query returned no rows.
+     * @throws SQLException if a database access error occurs.
+     */
+    public <T> T queryForObject(String query, RowMapper<T> mapper, Object... params) throws SQLException {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            bindParameters(statement, params);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? mapper.mapRow(resultSet) : null;
             }
+        }
+    }
 
-            resultSet = statement.executeQuery();
-            return resultSet;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw e;
-        } finally {
-            closeResultSet(resultSet);
-            closeStatement(statement);
+    /**
+     * Runs a query on a forward-only, read-only cursor and hands each mapped row to the consumer
+     * as it is read, without materializing the whole result.
+     *
+     * <p>With {@link #STREAMING_FETCH_SIZE} the MySQL driver streams rows one at a time instead of
+     * buffering the entire result in memory. The connection stays borrowed until the last row has
+     * been consumed, so the consumer should be quick and must not run queries of its own on the
+     * same thread while the stream is open.
+     *
+     * @param <T>       the type of the mapped rows.
+     * @param query     the SQL query to execute.
+     * @param fetchSize the fetch size hint passed to the driver, or {@code 0} for the driver default.
+     * @param mapper    the mapper applied to each row.
+     * @param consumer  the consumer that receives each mapped row.
+     * @param params    the query parameters, bound in order.
+     * @return the number of rows consumed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public <T> int stream(String query, int fetchSize, RowMapper<T> mapper, Consumer<? super T> consumer,
+                          Object... params) throws SQLException {
+        int rows = 0;
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY)) {
+            if (fetchSize != 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            bindParameters(statement, params);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    consumer.accept(mapper.mapRow(resultSet));
+                    rows++;
+                }
+            }
         }
+        return rows;
     }
 
-    public void executeUpdate(String query, Object... params) throws SQLException {
-        PreparedStatement statement = null;
+    public int executeUpdate(String query, Object... params) throws SQLException {
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            bindParameters(statement, params);
+            return statement.executeUpdate();
+        }
+    }
 
-        try {
-            statement = connection.prepareStatement(query);
+    // Binds positional parameters to a prepared statement...
+    private static void bindParameters(PreparedStatement statement, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+    }
 
-            for (int i = 0; i < params.length; i++) {
-                statement.setObject(i + 1, params[i]);
+    /**
+     * Lazily creates the shared pool the first time it is needed.
+     */
+    private static class PoolHolder {
+        private static final ConnectionPool POOL = createPool();
+
+        private static ConnectionPool createPool() {
+            ConnectionPool pool = new ConnectionPool(JDBC_URL, DB_USERNAME, DB_PASSWORD, MAX_POOL_SIZE,
+                    MIN_IDLE_CONNECTIONS, IDLE_TIMEOUT_MILLIS, MAX_WAIT_MILLIS, VALIDATION_TIMEOUT_SECONDS,
+                    STATEMENT_CACHE_SIZE);
+            if (Boolean.getBoolean(SERVER_PREPARED_READS_PROPERTY)) {
+                pool.setServerPreparedFilter(sql -> sql.regionMatches(true, 0, "SELECT", 0, 6));
             }
-
-            statement.executeUpdate();
-        } catch (SQLException e) {
-            e.printStackTrace();
-            throw e;
-        } finally {
-            closeStatement(statement);
+            return pool;
         }
     }
 }
-
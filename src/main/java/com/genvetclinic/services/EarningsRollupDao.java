@@ -0,0 +1,113 @@
+package com.genvetclinic.services;
+
+import com.genvetclinic.models.Transaction;
+import com.genvetclinic.utils.DateRange;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code EarningsRollupDao} class reads and maintains the {@code earnings_rollup} table, which holds the
+ * total and count of captured transactions per day and payment method.
+ *
+ * <p>{@link TransactionDao} keeps the table current: every save, update and delete adjusts the affected rows in
+ * the same JDBC transaction as the write, including status changes into and out of {@code 'Captured'}. Archived
+ * transactions stay counted, so earnings queries read a few rows per day instead of every transaction ever made.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class EarningsRollupDao {
+
+    /**
+     * The transaction status counted as earnings.
+     */
+    static final String CAPTURED_STATUS = "Captured";
+
+    private static final String APPLY_SQL = "INSERT INTO earnings_rollup (rollup_date, payment_method, captured_total, "
+            + "captured_count) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "captured_total = captured_total + VALUES(captured_total), "
+            + "captured_count = captured_count + VALUES(captured_count)";
+
+    /**
+     * The {@link DatabaseConnection} instance used to establish a connection to the database.
+     */
+    private final DatabaseConnection databaseConnection;
+
+    /**
+     * Constructs a new {@code EarningsRollupDao} instance with the default database connection.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    public EarningsRollupDao() throws SQLException {
+        this.databaseConnection = new DatabaseConnection();
+    }
+
+    /**
+     * Constructs a new {@code EarningsRollupDao} instance with the specified database connection.
+     *
+     * @param databaseConnection the database connection to be used by this DAO.
+     */
+    public EarningsRollupDao(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Returns the total of all captured transactions, hot and archived.
+     *
+     * @return the total earnings, or zero if nothing has been captured.
+     * @throws SQLException if a database access error occurs.
+     */
+    public BigDecimal getTotalEarnings() throws SQLException {
+        return databaseConnection.queryForObject("SELECT COALESCE(SUM(captured_total), 0) FROM earnings_rollup",
+                resultSet -> resultSet.getBigDecimal(1));
+    }
+
+    /**
+     * Returns the captured total of each day in the range that has any earnings.
+     *
+     * @param range the days to read.
+     * @return the total per day, in date order.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Map<LocalDate, BigDecimal> getDailyEarnings(DateRange range) throws SQLException {
+        String sql = "SELECT rollup_date, SUM(captured_total) FROM earnings_rollup "
+                + "WHERE rollup_date >= ? AND rollup_date < ? GROUP BY rollup_date ORDER BY rollup_date";
+        Map<LocalDate, BigDecimal> earnings = new LinkedHashMap<>();
+        databaseConnection.stream(sql, 0,
+                resultSet -> Map.entry(resultSet.getDate(1).toLocalDate(), resultSet.getBigDecimal(2)),
+                entry -> earnings.put(entry.getKey(), entry.getValue()),
+                Date.valueOf(range.getStart()), Date.valueOf(range.getEndExclusive()));
+        return earnings;
+    }
+
+    /**
+     * Adds a captured transaction to, or removes it from, the rollup. Transactions with any other status are
+     * ignored. Must be called on the connection, and inside the JDBC transaction, that writes the transaction.
+     *
+     * @param connection  the connection writing the transaction.
+     * @param transaction the transaction as it is (when adding) or was (when removing) stored.
+     * @param status      the transaction's stored status.
+     * @param sign        {@code 1} to add the transaction, {@code -1} to remove it.
+     * @throws SQLException if the rollup cannot be updated.
+     */
+    static void apply(Connection connection, Transaction transaction, String status, int sign) throws SQLException {
+        if (transaction == null || !CAPTURED_STATUS.equals(status) || transaction.getTransactionAmt() == null) {
+            return;
+        }
+        String paymentMethod = transaction.getPaymentMethod() != null ? transaction.getPaymentMethod() : "";
+        try (PreparedStatement preparedStatement = connection.prepareStatement(APPLY_SQL)) {
+            preparedStatement.setDate(1, Date.valueOf(transaction.getTransacDateTime().toLocalDate()));
+            preparedStatement.setString(2, paymentMethod);
+            preparedStatement.setBigDecimal(3, sign < 0 ? transaction.getTransactionAmt().negate() : transaction.getTransactionAmt());
+            preparedStatement.setInt(4, sign < 0 ? -1 : 1);
+            preparedStatement.executeUpdate();
+        }
+    }
+}
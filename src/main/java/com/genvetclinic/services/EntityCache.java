@@ -0,0 +1,242 @@
+package com.genvetclinic.services;
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code EntityCache} class is a bounded read-through cache of entities, keyed by primary key. DAOs that
+ * read single records by key keep one shared instance per entity type, read through it, and invalidate the
+ * record from their own save, update and delete methods.
+ *
+ * <p>Entries are evicted least recently used first once {@code maxEntries} is reached, and expire
+ * {@code ttlMillis} after they were loaded, which bounds how long a change made by another workstation can go
+ * unnoticed. Lookups that find nothing are not cached. A load that races with an invalidation is not cached
+ * either, so a write can never be overwritten by the read it overlapped.
+ *
+ * <p>Every cache registers itself under its name; {@link #getCaches()} exposes the hit ratio, size and
+ * eviction counts of each entity type.
+ *
+ * @param <K> the key type.
+ * @param <V> the entity type.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class EntityCache<K, V> {
+
+    private static final Map<String, EntityCache<?, ?>> CACHES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, CachedEntity<V>> entries;
+
+    /**
+     * Incremented by every invalidation; a load only caches its result if no invalidation happened meanwhile.
+     */
+    private long invalidations;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    /**
+     * Constructs a new {@code EntityCache} and registers it under its name.
+     *
+     * @param name       the entity type the cache holds, used in the statistics.
+     * @param maxEntries the number of entries kept before the least recently used one is evicted.
+     * @param ttlMillis  how long an entry is served after it was loaded.
+     */
+    public EntityCache(String name, int maxEntries, long ttlMillis) {
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedEntity<V>> eldest) {
+                if (size() > EntityCache.this.maxEntries) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        CACHES.put(name, this);
+    }
+
+    /**
+     * Returns every registered cache by entity type.
+     *
+     * @return an unmodifiable view of the registered caches.
+     */
+    public static Map<String, EntityCache<?, ?>> getCaches() {
+        return Collections.unmodifiableMap(CACHES);
+    }
+
+    /**
+     * Loads an entity from the database.
+     *
+     * @param <K> the key type.
+     * @param <V> the entity type.
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        V load(K key) throws SQLException;
+    }
+
+    /**
+     * Returns the cached entity for a key, loading and caching it on a miss.
+     *
+     * @param key    the key to look up.
+     * @param loader reads the entity from the database on a miss.
+     * @return the entity, or {@code null} if the loader found none.
+     * @throws SQLException if the loader fails.
+     */
+    public V get(K key, Loader<K, V> loader) throws SQLException {
+        long invalidationsBeforeLoad;
+        synchronized (this) {
+            V cached = getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            missCount++;
+            invalidationsBeforeLoad = invalidations;
+        }
+
+        // Loaded without holding the lock, so a slow query does not block hits on other keys.
+        V loaded = loader.load(key);
+        if (loaded != null) {
+            synchronized (this) {
+                if (invalidations == invalidationsBeforeLoad) {
+                    entries.put(key, new CachedEntity<>(loaded, System.currentTimeMillis() + ttlMillis));
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the cached entity for a key without loading it.
+     *
+     * @param key the key to look up.
+     * @return the cached entity, or {@code null} if it is not cached or has expired.
+     */
+    public synchronized V getIfPresent(K key) {
+        CachedEntity<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key);
+            expirationCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    /**
+     * Removes the entry for a key, if there is one.
+     *
+     * @param key the key to invalidate.
+     */
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+
+    /**
+     * Drops the expired entries. Expired entries are also dropped when they are looked up, so this only frees
+     * memory early.
+     */
+    public synchronized void purgeExpired() {
+        long now = System.currentTimeMillis();
+        for (Iterator<CachedEntity<V>> iterator = entries.values().iterator(); iterator.hasNext(); ) {
+            if (iterator.next().expiresAtMillis <= now) {
+                iterator.remove();
+                expirationCount++;
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within the size bound.
+     *
+     * @return the eviction count.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the number of entries dropped because their time to live had passed.
+     *
+     * @return the expiration count.
+     */
+    public synchronized long getExpirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * Returns the share of lookups answered from the cache.
+     *
+     * @return the hit ratio between {@code 0} and {@code 1}, or {@code 0} before the first lookup.
+     */
+    public synchronized double getHitRatio() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Returns a one-line summary of the cache for logging.
+     *
+     * @return the cache statistics.
+     */
+    public synchronized String getStatistics() {
+        return String.format("EntityCache[%s: size=%d/%d, hits=%d, misses=%d, hitRatio=%.2f, evictions=%d, "
+                        + "expirations=%d]", name, entries.size(), maxEntries, hitCount, missCount, getHitRatio(),
+                evictionCount, expirationCount);
+    }
+
+    // A cached entity and the time it stops being served...
+    private static final class CachedEntity<V> {
+
+        private final V value;
+        private final long expiresAtMillis;
+
+        private CachedEntity(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.genvetclinic.services;
+
+/**
+ * The {@code EntityChangeEvent} class describes a write made through one of the DAOs. Events are published on
+ * the {@link EventBus} after the write has been committed, and are delivered to the subscribers of the
+ * entity's model class.
+ *
+ * @param <T> the model class of the changed entity.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public final class EntityChangeEvent<T> {
+
+    /**
+     * The kinds of change an event can describe.
+     */
+    public enum Type {
+        /**
+         * A new entity was inserted.
+         */
+        SAVED,
+        /**
+         * An existing entity was updated.
+         */
+        UPDATED,
+        /**
+         * An entity was deleted.
+         */
+        DELETED,
+        /**
+         * Any number of entities changed outside the DAOs, e.g. by the {@link TransactionArchiver}; subscribers
+         * that keep state should reload it. Carries no ID or entity.
+         */
+        RELOADED
+    }
+
+    private final Class<T> entityType;
+    private final Type type;
+    private final String id;
+    private final T entity;
+
+    private EntityChangeEvent(Class<T> entityType, Type type, String id, T entity) {
+        this.entityType = entityType;
+        this.type = type;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    /**
+     * Creates the event for an inserted entity.
+     *
+     * @param entityType the model class of the entity.
+     * @param id         the ID of the entity.
+     * @param entity     the entity as it was saved.
+     * @param <T>        the model class of the entity.
+     * @return the event.
+     */
+    public static <T> EntityChangeEvent<T> saved(Class<T> entityType, String id, T entity) {
+        return new EntityChangeEvent<>(entityType, Type.SAVED, id, entity);
+    }
+
+    /**
+     * Creates the event for an updated entity.
+     *
+     * @param entityType the model class of the entity.
+     * @param id         the ID of the entity.
+     * @param entity     the entity as it was updated.
+     * @param <T>        the model class of the entity.
+     * @return the event.
+     */
+    public static <T> EntityChangeEvent<T> updated(Class<T> entityType, String id, T entity) {
+        return new EntityChangeEvent<>(entityType, Type.UPDATED, id, entity);
+    }
+
+    /**
+     * Creates the event for a deleted entity.
+     *
+     * @param entityType the model class of the entity.
+     * @param id         the ID of the entity.
+     * @param entity     the entity that was deleted.
+     * @param <T>        the model class of the entity.
+     * @return the event.
+     */
+    public static <T> EntityChangeEvent<T> deleted(Class<T> entityType, String id, T entity) {
+        return new EntityChangeEvent<>(entityType, Type.DELETED, id, entity);
+    }
+
+    /**
+     * Creates the event for entities changed outside the DAOs.
+     *
+     * @param entityType the model class of the entities.
+     * @param <T>        the model class of the entities.
+     * @return the event.
+     */
+    public static <T> EntityChangeEvent<T> reloaded(Class<T> entityType) {
+        return new EntityChangeEvent<>(entityType, Type.RELOADED, null, null);
+    }
+
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return entityType.getSimpleName() + " " + type + (id != null ? " " + id : "");
+    }
+}
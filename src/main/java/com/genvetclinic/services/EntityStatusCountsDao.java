@@ -0,0 +1,210 @@
+package com.genvetclinic.services;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code EntityStatusCountsDao} class reads and maintains the {@code entity_status_counts} table, which
+ * holds the number of rows per status of the tables whose statuses drive the notification badges.
+ *
+ * <p>The DAOs of those tables keep it current: every save, update and delete adjusts the affected counters in
+ * the same JDBC transaction as the write, and only when the status actually changes. Rows without a status are
+ * not counted, just as a {@code <>} or {@code NOT IN} predicate would skip them. {@link #reconcileOnStartup()}
+ * rebuilds the counters from the tables before the first window opens, which repairs any drift from writes made
+ * outside the DAOs.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class EntityStatusCountsDao {
+
+    /**
+     * The tables whose statuses are counted, with the statuses that do not need attention.
+     */
+    public enum Entity {
+        INVENTORY("inventory", "item_id", "item_status", List.of("In Stock")),
+        KENNELS("kennels", "kennel_id", "kennel_status", List.of("Available for Boarding")),
+        LABORATORIES("laboratories", "lab_id", "lab_status", List.of("Available for Testing")),
+        TRANSACTION("transaction", "transaction_id", "transaction_status", List.of("Authorized", "Captured"));
+
+        private final String table;
+        private final String idColumn;
+        private final String statusColumn;
+        private final List<String> settledStatuses;
+
+        Entity(String table, String idColumn, String statusColumn, List<String> settledStatuses) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.statusColumn = statusColumn;
+            this.settledStatuses = settledStatuses;
+        }
+
+        /**
+         * Returns the name the entity is stored under, which is also the name of its table.
+         *
+         * @return the table name.
+         */
+        public String getTable() {
+            return table;
+        }
+
+        /**
+         * Returns the statuses that do not need attention.
+         *
+         * @return the settled statuses.
+         */
+        public List<String> getSettledStatuses() {
+            return settledStatuses;
+        }
+    }
+
+    private static final String APPLY_SQL = "INSERT INTO entity_status_counts (entity, status, status_count) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE status_count = status_count + VALUES(status_count)";
+
+    /**
+     * The {@link DatabaseConnection} instance used to establish a connection to the database.
+     */
+    private final DatabaseConnection databaseConnection;
+
+    /**
+     * Constructs a new {@code EntityStatusCountsDao} instance with the default database connection.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    public EntityStatusCountsDao() throws SQLException {
+        this.databaseConnection = new DatabaseConnection();
+    }
+
+    /**
+     * Constructs a new {@code EntityStatusCountsDao} instance with the specified database connection.
+     *
+     * @param databaseConnection the database connection to be used by this DAO.
+     */
+    public EntityStatusCountsDao(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Rebuilds the counters of every entity. Called once at startup, after the schema migrations; failures are
+     * logged and leave the counters as they were.
+     */
+    public static void reconcileOnStartup() {
+        try {
+            new EntityStatusCountsDao().reconcile();
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Returns the number of rows of an entity whose status needs attention.
+     *
+     * @param entity the entity to count.
+     * @return the number of rows with a status other than the settled ones.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int countNeedingAttention(Entity entity) throws SQLException {
+        return databaseConnection.queryForObject(attentionCountSql(entity), resultSet -> resultSet.getInt(1));
+    }
+
+    // Builds the query counting the rows of an entity that need attention...
+    private static String attentionCountSql(Entity entity) {
+        return "SELECT COALESCE(SUM(status_count), 0) FROM entity_status_counts WHERE entity = '" + entity.table
+                + "' AND status NOT IN ('" + String.join("', '", entity.settledStatuses) + "')";
+    }
+
+    /**
+     * Rebuilds the counters of every entity from the counted tables.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    public void reconcile() throws SQLException {
+        for (Entity entity : Entity.values()) {
+            reconcile(entity);
+        }
+    }
+
+    /**
+     * Rebuilds the counters of one entity from its table, replacing them in one JDBC transaction.
+     *
+     * @param entity the entity to rebuild.
+     * @throws SQLException if a database access error occurs.
+     */
+    public void reconcile(Entity entity) throws SQLException {
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement(
+                         "DELETE FROM entity_status_counts WHERE entity = ?");
+                 PreparedStatement insert = connection.prepareStatement(
+                         "INSERT INTO entity_status_counts (entity, status, status_count) SELECT ?, "
+                                 + entity.statusColumn + ", COUNT(*) FROM " + entity.table + " WHERE "
+                                 + entity.statusColumn + " IS NOT NULL GROUP BY " + entity.statusColumn)) {
+                delete.setString(1, entity.table);
+                delete.executeUpdate();
+                insert.setString(1, entity.table);
+                insert.executeUpdate();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Reads the stored status of a row and locks the row until the enclosing JDBC transaction ends, so that
+     * the counters can be adjusted by exactly what an update or delete changes.
+     *
+     * @param connection the connection writing the row.
+     * @param entity     the entity the row belongs to.
+     * @param id         the ID of the row.
+     * @return the stored status, or {@code null} if the row does not exist or has no status.
+     * @throws SQLException if a database access error occurs.
+     */
+    static String lockStoredStatus(Connection connection, Entity entity, String id) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT " + entity.statusColumn
+                + " FROM " + entity.table + " WHERE " + entity.idColumn + " = ? FOR UPDATE")) {
+            preparedStatement.setString(1, id);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Moves one row of an entity from its previous status to its new one. Does nothing if the status did not
+     * change. Must be called on the connection, and inside the JDBC transaction, that writes the row.
+     *
+     * @param connection     the connection writing the row.
+     * @param entity         the entity the row belongs to.
+     * @param previousStatus the stored status before the write, or {@code null} for an inserted row.
+     * @param newStatus      the stored status after the write, or {@code null} for a deleted row.
+     * @throws SQLException if the counters cannot be updated.
+     */
+    static void apply(Connection connection, Entity entity, String previousStatus, String newStatus)
+            throws SQLException {
+        if (Objects.equals(previousStatus, newStatus)) {
+            return;
+        }
+        if (previousStatus != null) {
+            adjust(connection, entity, previousStatus, -1);
+        }
+        if (newStatus != null) {
+            adjust(connection, entity, newStatus, 1);
+        }
+    }
+
+    private static void adjust(Connection connection, Entity entity, String status, int delta) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(APPLY_SQL)) {
+            preparedStatement.setString(1, entity.table);
+            preparedStatement.setString(2, status);
+            preparedStatement.setInt(3, delta);
+            preparedStatement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.genvetclinic.services;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * The {@code EventBus} class delivers {@link EntityChangeEvent}s from the DAOs to the services that react to
+ * writes, such as the {@link NotificationService}.
+ *
+ * <p>Subscribers register for a model class and receive every event of that class. Events are delivered
+ * synchronously, on the thread that published them, in the order they were published; subscribers that touch
+ * the user interface must hand the event over to the JavaFX Application Thread themselves. A subscriber that
+ * throws does not keep the event from the other subscribers, nor does it fail the write that published it.
+ *
+ * <p>Subscribers owned by something that can be dropped without being told, such as a panel pushed out of the
+ * panel cache or left behind by a logout, register with {@link #subscribeWeakly(Class, Consumer)}. The bus
+ * then does not keep them, or anything they refer to, alive.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class EventBus {
+
+    private static EventBus instance;
+
+    private final Map<Class<?>, List<Consumer<?>>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the event bus shared by the whole application, creating it on first use.
+     *
+     * @return the shared {@code EventBus}.
+     */
+    public static synchronized EventBus getInstance() {
+        if (instance == null) {
+            instance = new EventBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a subscriber for the events of a model class.
+     *
+     * @param entityType the model class to subscribe to.
+     * @param subscriber the callback that receives the events.
+     * @param <T>        the model class.
+     */
+    public <T> void subscribe(Class<T> entityType, Consumer<? super EntityChangeEvent<T>> subscriber) {
+        subscribers.computeIfAbsent(entityType, type -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    /**
+     * Registers a subscriber that the bus only holds weakly. The caller must keep a reference to the subscriber
+     * for as long as it wants events; once the subscriber is no longer reachable it stops receiving events and
+     * is removed from the bus.
+     *
+     * @param entityType the model class to subscribe to.
+     * @param subscriber the callback that receives the events.
+     * @param <T>        the model class.
+     */
+    public <T> void subscribeWeakly(Class<T> entityType, Consumer<? super EntityChangeEvent<T>> subscriber) {
+        List<Consumer<?>> registered = subscribers.computeIfAbsent(entityType, type -> new CopyOnWriteArrayList<>());
+        registered.removeIf(EventBus::isCollected);
+        registered.add(new WeakSubscriber<>(subscriber));
+    }
+
+    /**
+     * Removes a subscriber registered with {@link #subscribe(Class, Consumer)} or
+     * {@link #subscribeWeakly(Class, Consumer)}.
+     *
+     * @param entityType the model class the subscriber was registered for.
+     * @param subscriber the callback to remove.
+     * @param <T>        the model class.
+     */
+    public <T> void unsubscribe(Class<T> entityType, Consumer<? super EntityChangeEvent<T>> subscriber) {
+        List<Consumer<?>> registered = subscribers.get(entityType);
+        if (registered != null) {
+            registered.removeIf(candidate -> candidate == subscriber
+                    || candidate instanceof WeakSubscriber && ((WeakSubscriber<?>) candidate).wraps(subscriber));
+        }
+    }
+
+    /**
+     * Delivers an event to every subscriber of its model class.
+     *
+     * @param event the event to deliver.
+     * @param <T>   the model class of the event.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void publish(EntityChangeEvent<T> event) {
+        List<Consumer<?>> registered = subscribers.get(event.getEntityType());
+        if (registered == null) {
+            return;
+        }
+        for (Consumer<?> subscriber : registered) {
+            try {
+                ((Consumer<? super EntityChangeEvent<T>>) subscriber).accept(event);
+            } catch (RuntimeException e) {
+                // The write has already been committed; a failing subscriber must not turn it into an error.
+                e.printStackTrace();
+            }
+        }
+        registered.removeIf(EventBus::isCollected);
+    }
+
+    private static boolean isCollected(Consumer<?> subscriber) {
+        return subscriber instanceof WeakSubscriber && ((WeakSubscriber<?>) subscriber).isCollected();
+    }
+
+    /**
+     * Passes events on to a subscriber for as long as something else keeps the subscriber reachable.
+     */
+    private static final class WeakSubscriber<T> implements Consumer<EntityChangeEvent<T>> {
+
+        private final WeakReference<Consumer<? super EntityChangeEvent<T>>> subscriber;
+
+        private WeakSubscriber(Consumer<? super EntityChangeEvent<T>> subscriber) {
+            this.subscriber = new WeakReference<>(subscriber);
+        }
+
+        @Override
+        public void accept(EntityChangeEvent<T> event) {
+            Consumer<? super EntityChangeEvent<T>> target = subscriber.get();
+            if (target != null) {
+                target.accept(event);
+            }
+        }
+
+        private boolean isCollected() {
+            return subscriber.get() == null;
+        }
+
+        private boolean wraps(Object candidate) {
+            return subscriber.get() == candidate;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The {@code ItemDao} class provides data access methods for managing inventory items
@@ -47,70 +48,108 @@ public class ItemDao {
     }
 
      // Methods for saving, updating, retrieving, and deleting item records...
-    public void saveItem(Item item) throws SQLException {
+    public Item saveItem(Item item) throws SQLException {
         String sql = "INSERT INTO inventory (item_id, item_name, item_type, item_quantity, unit_cost, " +
                      "item_supplier, exp_date, item_status, total_cost) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            statement.setString(1, item.getItemId());
-            statement.setString(2, item.getItemName());
-            statement.setString(3, item.getItemType());
-            statement.setInt(4, item.getItemQuantity());
-            statement.setBigDecimal(5, item.getUnitCost());
-            statement.setString(6, item.getSupplier());
-
-            if (item.getExpDate() != null) {
-                statement.setDate(7, java.sql.Date.valueOf(item.getExpDate()));
-            } else {
-                statement.setNull(7, java.sql.Types.DATE);
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+
+                statement.setString(1, item.getItemId());
+                statement.setString(2, item.getItemName());
+                statement.setString(3, item.getItemType());
+                statement.setInt(4, item.getItemQuantity());
+                statement.setBigDecimal(5, item.getUnitCost());
+                statement.setString(6, item.getSupplier());
+
+                if (item.getExpDate() != null) {
+                    statement.setDate(7, java.sql.Date.valueOf(item.getExpDate()));
+                } else {
+                    statement.setNull(7, java.sql.Types.DATE);
+                }
+
+                statement.setString(8, item.getItemStatus());
+                statement.setBigDecimal(9, item.getTotalCost());
+
+                statement.executeUpdate();
+                EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.INVENTORY, null, item.getItemStatus());
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
             }
-
-            statement.setString(8, item.getItemStatus());
-            statement.setBigDecimal(9, item.getTotalCost());
-
-            statement.executeUpdate();
         }
+        EventBus.getInstance().publish(EntityChangeEvent.saved(Item.class, item.getItemId(), item));
+        return item;
     }
 
-    public void updateItem(Item item) throws SQLException {
+    public Item updateItem(Item item) throws SQLException {
         String sql = "UPDATE inventory SET item_name = ?, item_type = ?, item_quantity = ?, " +
                      "unit_cost = ?, item_supplier = ?, exp_date = ?, item_status = ?, total_cost = ? " +
                      "WHERE item_id = ?";
 
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-
-            statement.setString(1, item.getItemName());
-            statement.setString(2, item.getItemType());
-            statement.setInt(3, item.getItemQuantity());
-            statement.setBigDecimal(4, item.getUnitCost());
-            statement.setString(5, item.getSupplier());
-
-            if (item.getExpDate() != null) {
-                statement.setDate(6, java.sql.Date.valueOf(item.getExpDate()));
-            } else {
-                statement.setNull(6, java.sql.Types.DATE);
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                String storedStatus = EntityStatusCountsDao.lockStoredStatus(connection,
+                        EntityStatusCountsDao.Entity.INVENTORY, item.getItemId());
+
+                statement.setString(1, item.getItemName());
+                statement.setString(2, item.getItemType());
+                statement.setInt(3, item.getItemQuantity());
+                statement.setBigDecimal(4, item.getUnitCost());
+                statement.setString(5, item.getSupplier());
+
+                if (item.getExpDate() != null) {
+                    statement.setDate(6, java.sql.Date.valueOf(item.getExpDate()));
+                } else {
+                    statement.setNull(6, java.sql.Types.DATE);
+                }
+
+                statement.setString(7, item.getItemStatus());
+                statement.setBigDecimal(8, item.getTotalCost());
+                statement.setString(9, item.getItemId());
+
+                if (statement.executeUpdate() > 0) {
+                    EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.INVENTORY, storedStatus,
+                            item.getItemStatus());
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
             }
-
-            statement.setString(7, item.getItemStatus());
-            statement.setBigDecimal(8, item.getTotalCost());
-            statement.setString(9, item.getItemId());
-
-            statement.executeUpdate();
         }
+        EventBus.getInstance().publish(EntityChangeEvent.updated(Item.class, item.getItemId(), item));
+        return item;
     }
 
-    public void deleteItem(Item item) {
+    public boolean deleteItem(Item item) {
         String sql = "DELETE FROM inventory WHERE item_id = ?";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setString(1, item.getItemId());
-            preparedStatement.executeUpdate();
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                String storedStatus = EntityStatusCountsDao.lockStoredStatus(connection,
+                        EntityStatusCountsDao.Entity.INVENTORY, item.getItemId());
+                preparedStatement.setString(1, item.getItemId());
+                boolean deleted = preparedStatement.executeUpdate() > 0;
+                if (deleted) {
+                    EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.INVENTORY, storedStatus, null);
+                }
+                connection.commit();
+                if (deleted) {
+                    EventBus.getInstance().publish(EntityChangeEvent.deleted(Item.class, item.getItemId(), item));
+                }
+                return deleted;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
     }
 
@@ -153,18 +192,26 @@ public class ItemDao {
      * @throws SQLException if a database access error occurs.
      */
     public List<Item> getItems() throws SQLException {
-        List<Item> items = new ArrayList<>();
-        String sql = "SELECT * FROM inventory";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
-            while (resultSet.next()) {
-                items.add(mapResultSetToItem(resultSet));
-            }
-        }
-        return items;
+        return databaseConnection.query("SELECT * FROM inventory", this::mapResultSetToItem);
     }
-    
+
+    /**
+     * Streams every inventory item in the database to the given consumer, one row at a time.
+     *
+     * @param consumer the consumer that receives each {@link Item}.
+     * @return the number of inventory item records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamItems(Consumer<? super Item> consumer) throws SQLException {
+        return databaseConnection.stream("SELECT * FROM inventory", DatabaseConnection.STREAMING_FETCH_SIZE,
+                this::mapResultSetToItem, consumer);
+    }
+
+    public int countItemsNeedingAttention() throws SQLException {
+        return new EntityStatusCountsDao(databaseConnection)
+                .countNeedingAttention(EntityStatusCountsDao.Entity.INVENTORY);
+    }
+
     /**
      * Retrieves a notification message for items that need attention.
      *
@@ -172,18 +219,20 @@ public class ItemDao {
      * @throws SQLException if a database access error occurs.
      */
     public String getNotificationTextForItems() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM inventory WHERE item_status <> 'In Stock'";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
-            resultSet.next();
-            int itemCount = resultSet.getInt(1);
+        return buildNotificationText(countItemsNeedingAttention());
+    }
 
-            if (itemCount > 0) {
-                return itemCount + " item(s)/unit(s) \n that need your attention.";
-            } else {
-                return "No new notifications.";
-            }
+    /**
+     * Builds the inventory notification message for the given count.
+     *
+     * @param itemCount the number of items that need attention.
+     * @return the notification message.
+     */
+    public static String buildNotificationText(int itemCount) {
+        if (itemCount > 0) {
+            return itemCount + " item(s)/unit(s) \n that need your attention.";
+        } else {
+            return "No new notifications.";
         }
     }
 
@@ -196,7 +245,7 @@ public class ItemDao {
                 resultSet.getInt("item_quantity"),
                 resultSet.getBigDecimal("unit_cost"),
                 resultSet.getString("item_supplier"),
-                resultSet.getDate("exp_date").toLocalDate(),
+                resultSet.getDate("exp_date") != null ? resultSet.getDate("exp_date").toLocalDate() : null,
                 resultSet.getString("item_status"),
                 resultSet.getBigDecimal("total_cost")
         );
@@ -6,6 +6,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.function.Consumer;
 
 /**
  * The {@code KennelDao} class provides data access methods for managing kennels
@@ -46,34 +47,73 @@ public class KennelDao {
     }
 
     // Methods for saving, updating, and deleting kennel records...
-    public void saveKennel(Kennel kennel) throws SQLException {
+    public Kennel saveKennel(Kennel kennel) throws SQLException {
         String sql = "INSERT INTO kennels (kennel_id, kennel_name, kennel_capacity, kennel_status) VALUES (?, ?, ?, ?)";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            setSaveKennelParameters(preparedStatement, kennel);
-            preparedStatement.executeUpdate();
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                setSaveKennelParameters(preparedStatement, kennel);
+                preparedStatement.executeUpdate();
+                EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.KENNELS, null, kennel.getKennelStatus());
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         }
+        EventBus.getInstance().publish(EntityChangeEvent.saved(Kennel.class, kennel.getKennelId(), kennel));
+        return kennel;
     }
 
-    public void updateKennel(Kennel kennel) throws SQLException {
+    public Kennel updateKennel(Kennel kennel) throws SQLException {
         String sql = "UPDATE kennels SET kennel_name = ?, kennel_capacity = ?, kennel_status = ? WHERE kennel_id = ?";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            setUpdateKennelParameters(preparedStatement, kennel);
-            preparedStatement.setString(4, kennel.getKennelId());
-            preparedStatement.executeUpdate();
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                String storedStatus = EntityStatusCountsDao.lockStoredStatus(connection, EntityStatusCountsDao.Entity.KENNELS, kennel.getKennelId());
+                setUpdateKennelParameters(preparedStatement, kennel);
+                preparedStatement.setString(4, kennel.getKennelId());
+                if (preparedStatement.executeUpdate() > 0) {
+                    EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.KENNELS, storedStatus, kennel.getKennelStatus());
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         }
+        EventBus.getInstance().publish(EntityChangeEvent.updated(Kennel.class, kennel.getKennelId(), kennel));
+        return kennel;
     }
 
-    public void deleteKennel(Kennel kennel) throws SQLException {
+    public boolean deleteKennel(Kennel kennel) throws SQLException {
         String sql = "DELETE FROM kennels WHERE kennel_id = ?";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setString(1, kennel.getKennelId());
-            preparedStatement.executeUpdate();
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                String storedStatus = EntityStatusCountsDao.lockStoredStatus(connection, EntityStatusCountsDao.Entity.KENNELS, kennel.getKennelId());
+                preparedStatement.setString(1, kennel.getKennelId());
+                boolean deleted = preparedStatement.executeUpdate() > 0;
+                if (deleted) {
+                    EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.KENNELS, storedStatus, null);
+                }
+                connection.commit();
+                if (deleted) {
+                    EventBus.getInstance().publish(EntityChangeEvent.deleted(Kennel.class, kennel.getKennelId(), kennel));
+                }
+                return deleted;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         }
     }
 
+    public int countKennelsNeedingAttention() throws SQLException {
+        return new EntityStatusCountsDao(databaseConnection)
+                .countNeedingAttention(EntityStatusCountsDao.Entity.KENNELS);
+    }
+
     /**
      * Retrieves a notification message for kennels that need attention.
      *
@@ -81,18 +121,20 @@ public class KennelDao {
      * @throws SQLException if a database access error occurs.
      */
     public String getNotificationTextForKennels() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM kennels WHERE kennel_status <> 'Available for Boarding'";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
-            resultSet.next();
-            int kennelCount = resultSet.getInt(1);
-
-            if (kennelCount > 0) {
-                return kennelCount + " kennel(s) \n that need your attention.";
-            } else {
-                return "No new notifications.";
-            }
+        return buildNotificationText(countKennelsNeedingAttention());
+    }
+
+    /**
+     * Builds the kennel notification message for the given count.
+     *
+     * @param kennelCount the number of kennels that need attention.
+     * @return the notification message.
+     */
+    public static String buildNotificationText(int kennelCount) {
+        if (kennelCount > 0) {
+            return kennelCount + " kennel(s) \n that need your attention.";
+        } else {
+            return "No new notifications.";
         }
     }
 
@@ -110,4 +152,24 @@ public class KennelDao {
         preparedStatement.setString(3, kennel.getKennelStatus());
     }
 
+    /**
+     * Streams every kennel in the database to the given consumer, one row at a time.
+     *
+     * @param consumer the consumer that receives each {@link Kennel}.
+     * @return the number of kennel records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamKennels(Consumer<? super Kennel> consumer) throws SQLException {
+        return databaseConnection.stream("SELECT * FROM kennels", DatabaseConnection.STREAMING_FETCH_SIZE,
+                this::mapResultSetToKennel, consumer);
+    }
+
+    private Kennel mapResultSetToKennel(ResultSet resultSet) throws SQLException {
+        return new Kennel(
+                resultSet.getString("kennel_id"),
+                resultSet.getString("kennel_name"),
+                resultSet.getInt("kennel_capacity"),
+                resultSet.getString("kennel_status")
+        );
+    }
 }
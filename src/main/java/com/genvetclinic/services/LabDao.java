@@ -5,6 +5,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.function.Consumer;
 
 /**
  * The {@code LabDao} class provides data access methods for managing laboratories
@@ -44,42 +45,71 @@ public class LabDao {
     }
 
     // Methods for saving, updating, retrieving, and deleting lab records...
-    public void saveLab(Lab lab) throws SQLException {
+    public Lab saveLab(Lab lab) throws SQLException {
         String sql = "INSERT INTO laboratories (lab_id, lab_name, no_of_lab_equipment, lab_status) VALUES (?, ?, ?, ?)";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            setSaveLabParameters(preparedStatement, lab);
-            preparedStatement.executeUpdate();
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                setSaveLabParameters(preparedStatement, lab);
+                preparedStatement.executeUpdate();
+                EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.LABORATORIES, null, lab.getLabStatus());
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         }
+        EventBus.getInstance().publish(EntityChangeEvent.saved(Lab.class, lab.getLabId(), lab));
+        return lab;
     }
 
-    public void updateLab(Lab lab) throws SQLException {
+    public Lab updateLab(Lab lab) throws SQLException {
         String sql = "UPDATE laboratories SET lab_name = ?, no_of_lab_equipment = ?, lab_status = ? WHERE lab_id = ?";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            setUpdateLabParameters(preparedStatement, lab);
-            preparedStatement.setString(4, lab.getLabId());
-            preparedStatement.executeUpdate();
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                String storedStatus = EntityStatusCountsDao.lockStoredStatus(connection, EntityStatusCountsDao.Entity.LABORATORIES, lab.getLabId());
+                setUpdateLabParameters(preparedStatement, lab);
+                preparedStatement.setString(4, lab.getLabId());
+                if (preparedStatement.executeUpdate() > 0) {
+                    EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.LABORATORIES, storedStatus, lab.getLabStatus());
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         }
+        EventBus.getInstance().publish(EntityChangeEvent.updated(Lab.class, lab.getLabId(), lab));
+        return lab;
     }
 
-    public void deleteLab(Lab lab) throws SQLException {
+    public boolean deleteLab(Lab lab) throws SQLException {
         String sql = "DELETE FROM laboratories WHERE lab_id = ?";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setString(1, lab.getLabId());
-            preparedStatement.executeUpdate();
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                String storedStatus = EntityStatusCountsDao.lockStoredStatus(connection, EntityStatusCountsDao.Entity.LABORATORIES, lab.getLabId());
+                preparedStatement.setString(1, lab.getLabId());
+                boolean deleted = preparedStatement.executeUpdate() > 0;
+                if (deleted) {
+                    EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.LABORATORIES, storedStatus, null);
+                }
+                connection.commit();
+                if (deleted) {
+                    EventBus.getInstance().publish(EntityChangeEvent.deleted(Lab.class, lab.getLabId(), lab));
+                }
+                return deleted;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         }
     }
 
     public int countLabsWithAttentionNeeded() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM laboratories WHERE lab_status <> 'Available for Testing'";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
-            resultSet.next();
-            return resultSet.getInt(1);
-        }
+        return new EntityStatusCountsDao(databaseConnection)
+                .countNeedingAttention(EntityStatusCountsDao.Entity.LABORATORIES);
     }
 
     /**
@@ -89,8 +119,16 @@ public class LabDao {
      * @throws SQLException if a database access error occurs.
      */
     public String getNotificationTextForLabs() throws SQLException {
-        int labsNeedingAttentionCount = countLabsWithAttentionNeeded();
+        return buildNotificationText(countLabsWithAttentionNeeded());
+    }
 
+    /**
+     * Builds the laboratory notification message for the given count.
+     *
+     * @param labsNeedingAttentionCount the number of labs that need attention.
+     * @return the notification message.
+     */
+    public static String buildNotificationText(int labsNeedingAttentionCount) {
         if (labsNeedingAttentionCount > 0) {
             return labsNeedingAttentionCount + " laboratory(ies) \n that need your attention.";
         } else {
@@ -112,4 +150,24 @@ public class LabDao {
         preparedStatement.setString(3, lab.getLabStatus());
     }
 
+    /**
+     * Streams every lab in the database to the given consumer, one row at a time.
+     *
+     * @param consumer the consumer that receives each {@link Lab}.
+     * @return the number of lab records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamLabs(Consumer<? super Lab> consumer) throws SQLException {
+        return databaseConnection.stream("SELECT * FROM laboratories", DatabaseConnection.STREAMING_FETCH_SIZE,
+                this::mapResultSetToLab, consumer);
+    }
+
+    private Lab mapResultSetToLab(ResultSet resultSet) throws SQLException {
+        return new Lab(
+                resultSet.getString("lab_id"),
+                resultSet.getString("lab_name"),
+                resultSet.getInt("no_of_lab_equipment"),
+                resultSet.getString("lab_status")
+        );
+    }
 }
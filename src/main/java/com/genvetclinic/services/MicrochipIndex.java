@@ -0,0 +1,185 @@
+package com.genvetclinic.services;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code MicrochipIndex} class maps microchip IDs to patient IDs in memory, so that a chip scanned at the
+ * front desk resolves to its patient with a single hash lookup followed by a primary key read.
+ *
+ * <p>The index is warmed from the database on a background thread at startup and kept current by
+ * {@link PatientDao}, which calls {@link #put(String, String)} and {@link #remove(String)} after each write.
+ * Chip IDs are compared case-insensitively, matching the collation of {@code patients.mchip_id}. Until the
+ * index is warm, or when a chip is not found in it, {@link PatientDao#findByMicrochip(String)} falls back to the
+ * unique index on {@code mchip_id}.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class MicrochipIndex {
+
+    private static MicrochipIndex instance;
+
+    private final DatabaseConnection databaseConnection;
+
+    /**
+     * Patient ID by normalized chip ID.
+     */
+    private final Map<String, String> patientIdsByChip = new ConcurrentHashMap<>();
+
+    /**
+     * Normalized chip ID by patient ID, used to drop a patient's old chip when it changes or is deleted.
+     */
+    private final Map<String, String> chipsByPatientId = new ConcurrentHashMap<>();
+
+    private volatile boolean warm;
+
+    /**
+     * Constructs a new {@code MicrochipIndex} that warms from the specified database connection.
+     *
+     * @param databaseConnection the {@link DatabaseConnection} used to read the patients table.
+     */
+    public MicrochipIndex(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Returns the index shared by the whole application, creating it (cold) on first use.
+     *
+     * @return the shared {@code MicrochipIndex}.
+     * @throws SQLException if the database driver cannot be loaded.
+     */
+    public static synchronized MicrochipIndex getInstance() throws SQLException {
+        if (instance == null) {
+            instance = new MicrochipIndex(new DatabaseConnection());
+        }
+        return instance;
+    }
+
+    /**
+     * Warms the shared index on a background daemon thread.
+     */
+    public static void warmInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                getInstance().warm();
+            } catch (SQLException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, "vcms-microchip-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Records a patient's chip in the shared index. Called by {@link PatientDao} after each save or update,
+     * so that a failure here never fails the write itself.
+     *
+     * @param patientId the patient's ID.
+     * @param chipId    the patient's chip ID, or {@code null} if the patient has none.
+     */
+    static void recordSaved(String patientId, String chipId) {
+        try {
+            getInstance().put(patientId, chipId);
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Removes a deleted patient from the shared index. Called by {@link PatientDao} after each delete.
+     *
+     * @param patientId the deleted patient's ID.
+     */
+    static void recordDeleted(String patientId) {
+        try {
+            getInstance().remove(patientId);
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Loads every chipped patient into the index. Writes recorded while warming are kept, because
+     * {@link #put(String, String)} always replaces the patient's previous entry.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    public void warm() throws SQLException {
+        databaseConnection.stream("SELECT patient_id, mchip_id FROM patients WHERE mchip_id IS NOT NULL",
+                DatabaseConnection.STREAMING_FETCH_SIZE,
+                resultSet -> new String[] { resultSet.getString(1), resultSet.getString(2) },
+                row -> {
+                    if (!chipsByPatientId.containsKey(row[0])) {
+                        put(row[0], row[1]);
+                    }
+                });
+        warm = true;
+    }
+
+    /**
+     * Checks whether the index has been loaded from the database.
+     *
+     * @return {@code true} once {@link #warm()} has completed.
+     */
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Returns the ID of the patient carrying the given chip.
+     *
+     * @param chipId the scanned chip ID.
+     * @return the patient ID, or {@code null} if the chip is not in the index.
+     */
+    public String getPatientId(String chipId) {
+        String key = normalize(chipId);
+        return key == null ? null : patientIdsByChip.get(key);
+    }
+
+    /**
+     * Sets the chip of a patient, replacing any chip previously recorded for it.
+     *
+     * @param patientId the patient's ID.
+     * @param chipId    the chip ID, or {@code null} if the patient has none.
+     */
+    public synchronized void put(String patientId, String chipId) {
+        if (patientId == null) {
+            return;
+        }
+        remove(patientId);
+        String key = normalize(chipId);
+        if (key != null) {
+            patientIdsByChip.put(key, patientId);
+            chipsByPatientId.put(patientId, key);
+        }
+    }
+
+    /**
+     * Removes a patient's chip from the index.
+     *
+     * @param patientId the patient's ID.
+     */
+    public synchronized void remove(String patientId) {
+        if (patientId == null) {
+            return;
+        }
+        String oldKey = chipsByPatientId.remove(patientId);
+        if (oldKey != null) {
+            patientIdsByChip.remove(oldKey, patientId);
+        }
+    }
+
+    public int size() {
+        return patientIdsByChip.size();
+    }
+
+    // Chip IDs are matched case-insensitively, ignoring surrounding whitespace...
+    private static String normalize(String chipId) {
+        String storedId = PatientDao.toStoredMicrochipId(chipId);
+        return storedId == null ? null : storedId.toUpperCase(Locale.ROOT);
+    }
+}
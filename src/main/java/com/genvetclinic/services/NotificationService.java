@@ -0,0 +1,232 @@
+package com.genvetclinic.services;
+
+import com.genvetclinic.models.Appointment;
+import com.genvetclinic.models.Boarder;
+import com.genvetclinic.models.Item;
+import com.genvetclinic.models.Kennel;
+import com.genvetclinic.models.Lab;
+import com.genvetclinic.models.Patient;
+import com.genvetclinic.models.Personnel;
+import com.genvetclinic.models.Transaction;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.util.Duration;
+
+/**
+ * The {@code NotificationService} class keeps the counters behind the dashboard notifications and exposes them
+ * as JavaFX properties, so the notification texts change the moment any panel saves.
+ *
+ * <p>No rows are held in memory. The status counters are read from the {@code entity_status_counts} table the
+ * DAOs maintain on every write, and the "this week" counters from range counts over the indexed date columns of
+ * the {@link com.genvetclinic.utils.WeekWindow}. Each counter is read once when the service starts and again
+ * whenever the {@link EventBus} reports a write to the model class it counts; a write does not carry the value
+ * it replaced, so the counter re-reads its count rather than guessing the difference. Reads run on a background
+ * thread, and reads requested while one is still queued are coalesced. The "this week" counters are re-read at
+ * midnight. The properties are only updated on the JavaFX Application Thread, so they can be bound to directly.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class NotificationService {
+
+    private static NotificationService instance;
+
+    private final Counter patientsAdmittedThisWeek = new Counter(() -> new PatientDao().countPatientsAdmittedThisWeek());
+    private final Counter personnelHiredThisWeek =
+            new Counter(() -> new PersonnelDao().countRecentlyHiredPersonnelWithinWeek());
+    private final Counter boardersAdmittedThisWeek = new Counter(() -> new BoarderDao().countRecentlyAdmittedBoarders());
+    private final Counter boardersDepartingWithinWeek =
+            new Counter(() -> new BoarderDao().countBoardersWithDepartureDateWithinWeek());
+    private final Counter appointmentsNeedingAttention =
+            new Counter(() -> new AppointmentDao().countAppointmentsNeedingAttentionAndWithinWeek());
+    private final Counter itemsNeedingAttention = new Counter(() -> new ItemDao().countItemsNeedingAttention());
+    private final Counter kennelsNeedingAttention = new Counter(() -> new KennelDao().countKennelsNeedingAttention());
+    private final Counter labsNeedingAttention = new Counter(() -> new LabDao().countLabsWithAttentionNeeded());
+    private final Counter transactionsNeedingAttention =
+            new Counter(() -> new TransactionDao().countTransactionsNeedingAttention());
+
+    private final List<Counter> counters = List.of(patientsAdmittedThisWeek, personnelHiredThisWeek,
+            boardersAdmittedThisWeek, boardersDepartingWithinWeek, appointmentsNeedingAttention, itemsNeedingAttention,
+            kennelsNeedingAttention, labsNeedingAttention, transactionsNeedingAttention);
+
+    private final ReadOnlyBooleanWrapper ready = new ReadOnlyBooleanWrapper(this, "ready");
+
+    /**
+     * Reads the counters from the database, one at a time.
+     */
+    private final ExecutorService countExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "vcms-notifications");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final PauseTransition midnightRecount = new PauseTransition();
+
+    private NotificationService() {
+        midnightRecount.setOnFinished(event -> {
+            counters.forEach(Counter::refresh);
+            scheduleMidnightRecount();
+        });
+    }
+
+    /**
+     * Returns the notification service shared by the whole application, creating and starting it on first use.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @return the shared {@code NotificationService}.
+     */
+    public static synchronized NotificationService getInstance() {
+        if (instance == null) {
+            instance = new NotificationService();
+            instance.start();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts the shared service, so that its counters are loaded before the dashboard is first shown.
+     * Must be called on the JavaFX Application Thread.
+     */
+    public static void startInBackground() {
+        getInstance();
+    }
+
+    /**
+     * Becomes {@code true} once every counter has been read from the database.
+     *
+     * @return the property.
+     */
+    public ReadOnlyBooleanProperty readyProperty() {
+        return ready.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty patientsAdmittedThisWeekProperty() {
+        return patientsAdmittedThisWeek.count.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty personnelHiredThisWeekProperty() {
+        return personnelHiredThisWeek.count.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty boardersAdmittedThisWeekProperty() {
+        return boardersAdmittedThisWeek.count.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty boardersDepartingWithinWeekProperty() {
+        return boardersDepartingWithinWeek.count.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty appointmentsNeedingAttentionProperty() {
+        return appointmentsNeedingAttention.count.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty itemsNeedingAttentionProperty() {
+        return itemsNeedingAttention.count.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty kennelsNeedingAttentionProperty() {
+        return kennelsNeedingAttention.count.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty labsNeedingAttentionProperty() {
+        return labsNeedingAttention.count.getReadOnlyProperty();
+    }
+
+    public ReadOnlyIntegerProperty transactionsNeedingAttentionProperty() {
+        return transactionsNeedingAttention.count.getReadOnlyProperty();
+    }
+
+    // Methods for reading the counters and following the event bus...
+    private void start() {
+        follow(Patient.class, patientsAdmittedThisWeek);
+        follow(Personnel.class, personnelHiredThisWeek);
+        follow(Boarder.class, boardersAdmittedThisWeek, boardersDepartingWithinWeek);
+        follow(Appointment.class, appointmentsNeedingAttention);
+        follow(Item.class, itemsNeedingAttention);
+        follow(Kennel.class, kennelsNeedingAttention);
+        follow(Lab.class, labsNeedingAttention);
+        follow(Transaction.class, transactionsNeedingAttention);
+
+        counters.forEach(Counter::refresh);
+        scheduleMidnightRecount();
+    }
+
+    private <T> void follow(Class<T> entityType, Counter... affectedCounters) {
+        EventBus.getInstance().subscribe(entityType, event -> {
+            for (Counter counter : affectedCounters) {
+                counter.refresh();
+            }
+        });
+    }
+
+    private void scheduleMidnightRecount() {
+        LocalDateTime now = LocalDateTime.now();
+        long millisToMidnight = java.time.Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis();
+        // A second past midnight, so that WeekWindow has already moved on to the new day.
+        midnightRecount.setDuration(Duration.millis(millisToMidnight + 1000));
+        midnightRecount.playFromStart();
+    }
+
+    private void updateReady() {
+        ready.set(counters.stream().allMatch(counter -> counter.loaded));
+    }
+
+    /**
+     * Reads the current value of one counter from the database.
+     */
+    @FunctionalInterface
+    private interface CountQuery {
+        int count() throws SQLException;
+    }
+
+    /**
+     * One notification count. {@link #refresh()} may be called from any thread; the property is only written on
+     * the JavaFX Application Thread.
+     */
+    private final class Counter {
+
+        private final CountQuery query;
+        private final ReadOnlyIntegerWrapper count = new ReadOnlyIntegerWrapper();
+        private final AtomicBoolean refreshQueued = new AtomicBoolean();
+        private boolean loaded;
+
+        private Counter(CountQuery query) {
+            this.query = query;
+        }
+
+        /**
+         * Queues a read of the counter, unless one is queued and has not started yet; that read will already see
+         * every write committed before this call.
+         */
+        private void refresh() {
+            if (!refreshQueued.compareAndSet(false, true)) {
+                return;
+            }
+            countExecutor.execute(() -> {
+                refreshQueued.set(false);
+                try {
+                    int value = query.count();
+                    Platform.runLater(() -> {
+                        count.set(value);
+                        loaded = true;
+                        updateReady();
+                    });
+                } catch (SQLException | RuntimeException e) {
+                    // Keep showing the previous count; the next write or the midnight recount reads it again.
+                    e.printStackTrace();
+                }
+            });
+        }
+    }
+}
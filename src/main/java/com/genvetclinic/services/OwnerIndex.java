@@ -0,0 +1,440 @@
+package com.genvetclinic.services;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * The {@code OwnerIndex} class keeps an in-memory inverted index of the people recorded across the clinic's
+ * tables: patient owners, boarder owners, appointment clients and transaction payers. It answers "every record
+ * about this person" without a database round trip.
+ *
+ * <p>Names are split into lower-case word tokens, and every query token matches any indexed token it is a
+ * prefix of, so {@code "jo rod"} finds {@code "John Rodriguez"}. A record matches when all query tokens match.
+ * The index only holds each record's source, ID and name; callers load the full record from its DAO.
+ *
+ * <p>The index is rebuilt from the database on a background thread at startup and kept current by the DAOs,
+ * which call {@link #put(Source, String, String)} and {@link #remove(Source, String)} after each write.
+ * Writes made while a rebuild is running are replayed onto the rebuilt index before it replaces the old one.
+ * The size, estimated memory use and rebuild time of the index are logged after each background rebuild.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class OwnerIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(OwnerIndex.class.getName());
+
+    /**
+     * The tables whose people are indexed, with the columns read when the index is rebuilt.
+     */
+    public enum Source {
+        PATIENT("patients", "patient_id", "owner_name"),
+        BOARDER("boarders", "boarder_id", "b_owner_name"),
+        APPOINTMENT("appointment", "appointment_id", "client_name"),
+        TRANSACTION("transaction", "transaction_id", "payer");
+
+        private final String table;
+        private final String idColumn;
+        private final String nameColumn;
+
+        Source(String table, String idColumn, String nameColumn) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.nameColumn = nameColumn;
+        }
+
+        private String selectSql() {
+            return "SELECT " + idColumn + ", " + nameColumn + " FROM " + table;
+        }
+    }
+
+    /**
+     * A record found in the index.
+     */
+    public static final class Entry {
+
+        private final Source source;
+        private final String id;
+        private final String name;
+
+        private Entry(Source source, String id, String name) {
+            this.source = source;
+            this.id = id;
+            this.name = name;
+        }
+
+        public Source getSource() {
+            return source;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return source + " " + id + " (" + name + ")";
+        }
+    }
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing(Entry::getSource)
+            .thenComparing(Entry::getName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Entry::getId);
+
+    private static OwnerIndex instance;
+
+    private final DatabaseConnection databaseConnection;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The index currently answering lookups. Guarded by {@link #lock}.
+     */
+    private Index current = new Index();
+
+    /**
+     * Writes made while a rebuild is running, replayed onto the rebuilt index. Guarded by {@link #lock}.
+     */
+    private List<Consumer<Index>> pendingWrites;
+
+    private volatile long lastRebuildMillis = -1;
+
+    /**
+     * Constructs a new {@code OwnerIndex} that rebuilds from the specified database connection.
+     *
+     * @param databaseConnection the {@link DatabaseConnection} used to read the indexed tables.
+     */
+    public OwnerIndex(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Returns the index shared by the whole application, creating it (empty) on first use.
+     *
+     * @return the shared {@code OwnerIndex}.
+     * @throws SQLException if the database driver cannot be loaded.
+     */
+    public static synchronized OwnerIndex getInstance() throws SQLException {
+        if (instance == null) {
+            instance = new OwnerIndex(new DatabaseConnection());
+        }
+        return instance;
+    }
+
+    /**
+     * Rebuilds the shared index on a background daemon thread. Lookups keep using the previous index until
+     * the rebuild has finished.
+     */
+    public static void rebuildInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                OwnerIndex index = getInstance();
+                index.rebuild();
+                LOGGER.info(index::getStatistics);
+            } catch (SQLException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, "vcms-owner-index");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Records a write to the shared index, if it can be created. Called by the DAOs after each save or
+     * update, so that a failure here never fails the write itself.
+     *
+     * @param source the table the record belongs to.
+     * @param id     the record's ID.
+     * @param name   the person's name, or {@code null} if the record no longer names anyone.
+     */
+    static void recordSaved(Source source, String id, String name) {
+        try {
+            getInstance().put(source, id, name);
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Removes a deleted record from the shared index, if it can be created. Called by the DAOs after each delete.
+     *
+     * @param source the table the record belonged to.
+     * @param id     the record's ID.
+     */
+    static void recordDeleted(Source source, String id) {
+        try {
+            getInstance().remove(source, id);
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads every indexed table and replaces the index with the result.
+     *
+     * @throws SQLException if a database access error occurs.
+     */
+    public void rebuild() throws SQLException {
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                return;
+            }
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.nanoTime();
+        Index rebuilt = new Index();
+        boolean complete = false;
+        try {
+            for (Source source : Source.values()) {
+                databaseConnection.stream(source.selectSql(), DatabaseConnection.STREAMING_FETCH_SIZE,
+                        resultSet -> new Entry(source, resultSet.getString(1), resultSet.getString(2)),
+                        entry -> rebuilt.put(entry.source, entry.id, entry.name));
+            }
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // A failed rebuild keeps the previous index, which has already seen every write.
+                if (complete) {
+                    pendingWrites.forEach(write -> write.accept(rebuilt));
+                    current = rebuilt;
+                }
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lastRebuildMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Adds or replaces a record in the index.
+     *
+     * @param source the table the record belongs to.
+     * @param id     the record's ID.
+     * @param name   the person's name, or {@code null} if the record no longer names anyone.
+     */
+    public void put(Source source, String id, String name) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            current.put(source, id, name);
+            if (pendingWrites != null) {
+                pendingWrites.add(index -> index.put(source, id, name));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a record from the index.
+     *
+     * @param source the table the record belonged to.
+     * @param id     the record's ID.
+     */
+    public void remove(Source source, String id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            current.remove(source, id);
+            if (pendingWrites != null) {
+                pendingWrites.add(index -> index.remove(source, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds every record naming a person that matches the query.
+     *
+     * @param query one or more name prefixes, e.g. {@code "jo rod"}.
+     * @return the matching records, grouped by source and ordered by name.
+     */
+    public List<Entry> lookup(String query) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Entry> matches = new ArrayList<>(current.lookup(queryTokens));
+            matches.sort(ENTRY_ORDER);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of records in the index.
+     *
+     * @return the indexed record count.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a one-line summary of the index size, memory use and last rebuild time.
+     *
+     * @return the index statistics.
+     */
+    public String getStatistics() {
+        lock.readLock().lock();
+        try {
+            return "OwnerIndex[records=" + current.size() + ", tokens=" + current.tokenCount()
+                    + ", postings=" + current.postingCount() + ", ~" + current.estimateBytes() / 1024 + " KB"
+                    + ", lastRebuild=" + lastRebuildMillis + " ms]";
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Splits a name into lower-case word tokens, dropping duplicates but keeping their order...
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * The index data itself. Not thread-safe; every access goes through the enclosing lock.
+     */
+    private static class Index {
+
+        // Rough per-object heap costs on a 64-bit JVM with compressed references, used for the estimate.
+        private static final int STRING_OVERHEAD_BYTES = 40;
+        private static final int MAP_ENTRY_BYTES = 40;
+        private static final int SET_ENTRY_BYTES = 36;
+        private static final int ENTRY_BYTES = 24;
+
+        private final Map<String, Entry> entriesByKey = new HashMap<>();
+        private final NavigableMap<String, Set<Entry>> postings = new TreeMap<>();
+        private int postingCount;
+        private long nameChars;
+
+        void put(Source source, String id, String name) {
+            String key = source.ordinal() + ":" + id;
+            remove(key);
+            List<String> tokens = tokenize(name);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            Entry entry = new Entry(source, id, name);
+            entriesByKey.put(key, entry);
+            nameChars += key.length() + id.length() + name.length();
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> new HashSet<>()).add(entry);
+                postingCount++;
+            }
+        }
+
+        void remove(Source source, String id) {
+            remove(source.ordinal() + ":" + id);
+        }
+
+        private void remove(String key) {
+            Entry entry = entriesByKey.remove(key);
+            if (entry == null) {
+                return;
+            }
+            nameChars -= key.length() + entry.id.length() + entry.name.length();
+            for (String token : tokenize(entry.name)) {
+                Set<Entry> entries = postings.get(token);
+                if (entries != null && entries.remove(entry)) {
+                    postingCount--;
+                    if (entries.isEmpty()) {
+                        postings.remove(token);
+                    }
+                }
+            }
+        }
+
+        Set<Entry> lookup(List<String> queryTokens) {
+            Set<Entry> matches = null;
+            for (String queryToken : queryTokens) {
+                Set<Entry> tokenMatches = new HashSet<>();
+                for (Set<Entry> entries : postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).values()) {
+                    if (matches == null) {
+                        tokenMatches.addAll(entries);
+                    } else {
+                        for (Entry entry : entries) {
+                            if (matches.contains(entry)) {
+                                tokenMatches.add(entry);
+                            }
+                        }
+                    }
+                }
+                matches = tokenMatches;
+                if (matches.isEmpty()) {
+                    break;
+                }
+            }
+            return matches == null ? Collections.emptySet() : matches;
+        }
+
+        int size() {
+            return entriesByKey.size();
+        }
+
+        int tokenCount() {
+            return postings.size();
+        }
+
+        int postingCount() {
+            return postingCount;
+        }
+
+        long estimateBytes() {
+            long tokenChars = 0;
+            for (String token : postings.keySet()) {
+                tokenChars += token.length();
+            }
+            long entries = (long) entriesByKey.size() * (MAP_ENTRY_BYTES + ENTRY_BYTES + 3L * STRING_OVERHEAD_BYTES);
+            long tokens = (long) postings.size() * (MAP_ENTRY_BYTES + STRING_OVERHEAD_BYTES + 64);
+            long postingEntries = (long) postingCount * SET_ENTRY_BYTES;
+            return entries + tokens + postingEntries + nameChars + tokenChars;
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.genvetclinic.services;
 
 import com.genvetclinic.models.Patient;
+import com.genvetclinic.utils.DateRange;
+import com.genvetclinic.utils.WeekWindow;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * The {@code PatientDao} class provides data access methods for managing patient information
@@ -21,6 +26,17 @@ import java.sql.SQLException;
  */
 public class PatientDao {
 
+    /**
+     * The value shown in the patient form for a patient without a microchip.
+     */
+    private static final String NO_MICROCHIP = "n/a";
+
+    /**
+     * Patients read by ID, shared by every {@code PatientDao}. Writes through any instance invalidate the
+     * patient they touch; a patient changed by another workstation is re-read within the TTL.
+     */
+    private static final EntityCache<String, Patient> PATIENT_CACHE = new EntityCache<>("patients", 1000, 10 * 60 * 1000L);
+
     /**
      * The {@link DatabaseConnection} instance used to establish a connection to the database.
      */
@@ -40,7 +56,7 @@ public class PatientDao {
     }
 
      // Methods for saving, updating, and deleting patient records...
-    public void savePatient(Patient patient) throws SQLException {
+    public Patient savePatient(Patient patient) throws SQLException {
         String sql = "INSERT INTO patients (patient_id, patient_name, patient_species, patient_breed, age_in_years, patient_color, admitted_date, "
                 + "medical_history, vaccination_history, special_instruction, owner_name, owner_contact, owner_email, owner_address, patient_insurance, "
                 + "patient_weight, mchip_id, patient_gender) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
@@ -48,10 +64,16 @@ public class PatientDao {
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
             setSavePatientParameters(preparedStatement, patient);
             preparedStatement.executeUpdate();
+        } finally {
+            PATIENT_CACHE.invalidate(patient.getPatientid());
         }
+        OwnerIndex.recordSaved(OwnerIndex.Source.PATIENT, patient.getPatientid(), patient.getOwnerName());
+        MicrochipIndex.recordSaved(patient.getPatientid(), patient.getMicrochipId());
+        EventBus.getInstance().publish(EntityChangeEvent.saved(Patient.class, patient.getPatientid(), patient));
+        return patient;
     }
     
-    public void updatePatient(Patient patient) throws SQLException {
+    public Patient updatePatient(Patient patient) throws SQLException {
         String sql = "UPDATE patients SET patient_name = ?, patient_species = ?, patient_breed = ?, age_in_years = ?, patient_color = ?, "
                 + "admitted_date = ?, medical_history = ?, vaccination_history = ?, special_instruction = ?, owner_name = ?, owner_contact = ?, "
                 + "owner_email = ?, owner_address = ?, patient_insurance = ?, patient_weight = ?, mchip_id = ?, patient_gender = ? "
@@ -62,18 +84,33 @@ public class PatientDao {
             setUpdatePatientParameters(preparedStatement, patient);
             preparedStatement.setString(18, patient.getPatientid()); 
             preparedStatement.executeUpdate();
+        } finally {
+            PATIENT_CACHE.invalidate(patient.getPatientid());
         }
+        OwnerIndex.recordSaved(OwnerIndex.Source.PATIENT, patient.getPatientid(), patient.getOwnerName());
+        MicrochipIndex.recordSaved(patient.getPatientid(), patient.getMicrochipId());
+        EventBus.getInstance().publish(EntityChangeEvent.updated(Patient.class, patient.getPatientid(), patient));
+        return patient;
     }
     
-    public void deletePatient(Patient patient) {
+    public boolean deletePatient(Patient patient) {
         String sql = "DELETE FROM patients WHERE patient_id = ?";
         try (Connection connection = databaseConnection.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
             preparedStatement.setString(1, patient.getPatientid());
 
-            preparedStatement.executeUpdate();
+            boolean deleted = preparedStatement.executeUpdate() > 0;
+            if (deleted) {
+                EventBus.getInstance().publish(EntityChangeEvent.deleted(Patient.class, patient.getPatientid(), patient));
+                OwnerIndex.recordDeleted(OwnerIndex.Source.PATIENT, patient.getPatientid());
+                MicrochipIndex.recordDeleted(patient.getPatientid());
+            }
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
+        } finally {
+            PATIENT_CACHE.invalidate(patient.getPatientid());
         }
     }
 
@@ -128,13 +165,17 @@ public class PatientDao {
      */
     
     public int countPatientsAdmittedThisWeek() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM patients WHERE admitted_date >= CURDATE() - INTERVAL DAYOFWEEK(CURDATE()) - 1 DAY AND admitted_date < CURDATE() + INTERVAL 7 - DAYOFWEEK(CURDATE()) DAY";
+        DateRange week = WeekWindow.currentWeek();
+        String sql = "SELECT COUNT(*) FROM patients WHERE admitted_date >= ? AND admitted_date < ?";
         
         try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
-            resultSet.next();
-            return resultSet.getInt(1);
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setDate(1, Date.valueOf(week.getStart()));
+            preparedStatement.setDate(2, Date.valueOf(week.getEndExclusive()));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
         }
     }    
     
@@ -156,7 +197,7 @@ public class PatientDao {
         preparedStatement.setString(14, patient.getOwnerAddress());
         preparedStatement.setString(15, patient.getPatientInsurance());
         preparedStatement.setBigDecimal(16, patient.getPatientWeight());
-        preparedStatement.setString(17, patient.getMicrochipId());
+        preparedStatement.setString(17, toStoredMicrochipId(patient.getMicrochipId()));
         preparedStatement.setString(18, patient.getPatientGender());
     }
 
@@ -176,7 +217,168 @@ public class PatientDao {
         preparedStatement.setString(13, patient.getOwnerAddress());
         preparedStatement.setString(14, patient.getPatientInsurance());
         preparedStatement.setBigDecimal(15, patient.getPatientWeight());
-        preparedStatement.setString(16, patient.getMicrochipId());
+        preparedStatement.setString(16, toStoredMicrochipId(patient.getMicrochipId()));
         preparedStatement.setString(17, patient.getPatientGender());
     }
+
+    /**
+     * Retrieves one page of patients ordered by ID, using keyset pagination on the primary key: the page
+     * starts right after the last patient of the previous page, so the query seeks straight to it.
+     *
+     * @param lastPatientId the ID of the last patient on the previous page, or {@code null} for the first page.
+     * @param limit         the maximum number of patients to return.
+     * @return the patients of the page.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Patient> getPatientsPage(String lastPatientId, int limit) throws SQLException {
+        if (lastPatientId == null) {
+            return databaseConnection.query("SELECT * FROM patients ORDER BY patient_id LIMIT ?",
+                    this::mapResultSetToPatient, limit);
+        }
+        return databaseConnection.query("SELECT * FROM patients WHERE patient_id > ? ORDER BY patient_id LIMIT ?",
+                this::mapResultSetToPatient, lastPatientId, limit);
+    }
+
+    /**
+     * Returns the ID of the patient a number of patients after the given one, in ID order. Only the primary
+     * key index is read. Used to find where a page starts when the page before it has not been read.
+     *
+     * @param lastPatientId the ID to count from, or {@code null} to count from the first patient.
+     * @param skip          the number of patients to skip.
+     * @return the patient ID, or {@code null} if there are not that many patients after it.
+     * @throws SQLException if a database access error occurs.
+     */
+    public String getPatientIdAfter(String lastPatientId, int skip) throws SQLException {
+        if (lastPatientId == null) {
+            return databaseConnection.queryForObject("SELECT patient_id FROM patients ORDER BY patient_id LIMIT 1 OFFSET ?",
+                    resultSet -> resultSet.getString("patient_id"), skip);
+        }
+        return databaseConnection.queryForObject(
+                "SELECT patient_id FROM patients WHERE patient_id > ? ORDER BY patient_id LIMIT 1 OFFSET ?",
+                resultSet -> resultSet.getString("patient_id"), lastPatientId, skip);
+    }
+
+    /**
+     * Streams every patient in the database to the given consumer, one row at a time.
+     *
+     * @param consumer the consumer that receives each {@link Patient}.
+     * @return the number of patient records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamPatients(Consumer<? super Patient> consumer) throws SQLException {
+        return databaseConnection.stream("SELECT * FROM patients", DatabaseConnection.STREAMING_FETCH_SIZE,
+                this::mapResultSetToPatient, consumer);
+    }
+
+    /**
+     * Retrieves a patient by ID, from the patient cache if it holds the patient.
+     *
+     * @param patientId the ID of the patient.
+     * @return the patient, or {@code null} if there is none with that ID.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Patient getPatientById(String patientId) throws SQLException {
+        return PATIENT_CACHE.get(patientId, id -> databaseConnection.queryForObject(
+                "SELECT * FROM patients WHERE patient_id = ?", this::mapResultSetToPatient, id));
+    }
+
+    /**
+     * Finds the patient carrying the given microchip. The chip is first resolved through the in-memory
+     * {@link MicrochipIndex} and read by primary key; chips missing from the index are looked up through the
+     * unique index on {@code mchip_id}.
+     *
+     * @param microchipId the scanned microchip ID.
+     * @return the patient carrying the chip, or {@code null} if no patient does.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Patient findByMicrochip(String microchipId) throws SQLException {
+        String chipId = toStoredMicrochipId(microchipId);
+        if (chipId == null) {
+            return null;
+        }
+        String patientId = MicrochipIndex.getInstance().getPatientId(chipId);
+        if (patientId != null) {
+            Patient patient = getPatientById(patientId);
+            if (patient != null && chipId.equalsIgnoreCase(patient.getMicrochipId())) {
+                return patient;
+            }
+        }
+        return databaseConnection.queryForObject("SELECT * FROM patients WHERE mchip_id = ?",
+                this::mapResultSetToPatient, chipId);
+    }
+
+    /**
+     * Searches for patients whose name, owner name, owner contact or microchip ID starts with the given text.
+     * Each column is matched in its own branch of a {@code UNION} so that every branch is a range scan on that
+     * column's index; the matching IDs are then joined back to the table to read the full rows.
+     *
+     * @param query the text the matched values must start with; case-insensitive.
+     * @param limit the maximum number of patients to return.
+     * @return the matching patients ordered by name, or an empty list if the query is blank.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Patient> search(String query, int limit) throws SQLException {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String sql = "SELECT p.* FROM patients p JOIN ("
+                + "(SELECT patient_id FROM patients WHERE patient_name LIKE ? ESCAPE '!' LIMIT ?) "
+                + "UNION (SELECT patient_id FROM patients WHERE owner_name LIKE ? ESCAPE '!' LIMIT ?) "
+                + "UNION (SELECT patient_id FROM patients WHERE owner_contact LIKE ? ESCAPE '!' LIMIT ?) "
+                + "UNION (SELECT patient_id FROM patients WHERE mchip_id LIKE ? ESCAPE '!' LIMIT ?)"
+                + ") matches ON matches.patient_id = p.patient_id "
+                + "ORDER BY p.patient_name, p.patient_id LIMIT ?";
+        String pattern = toPrefixPattern(query.strip());
+        return databaseConnection.query(sql, this::mapResultSetToPatient,
+                pattern, limit, pattern, limit, pattern, limit, pattern, limit, limit);
+    }
+
+    // Escapes LIKE wildcards in user input so that only a trailing '%' is left, keeping the match a prefix match.
+    private static String toPrefixPattern(String text) {
+        StringBuilder pattern = new StringBuilder(text.length() + 1);
+        for (char c : text.toCharArray()) {
+            if (c == '!' || c == '%' || c == '_') {
+                pattern.append('!');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * Converts a microchip ID entered in the patient form to the value stored in {@code mchip_id}. Patients
+     * without a chip are stored as {@code NULL}, so that they do not collide on the column's unique index.
+     *
+     * @param microchipId the microchip ID as entered, possibly {@code "n/a"}.
+     * @return the trimmed chip ID, or {@code null} if the patient has no chip.
+     */
+    static String toStoredMicrochipId(String microchipId) {
+        if (microchipId == null || microchipId.isBlank() || microchipId.strip().equalsIgnoreCase(NO_MICROCHIP)) {
+            return null;
+        }
+        return microchipId.strip();
+    }
+
+    private Patient mapResultSetToPatient(ResultSet resultSet) throws SQLException {
+        return new Patient(
+                resultSet.getString("patient_id"),
+                resultSet.getString("patient_name"),
+                resultSet.getString("patient_species"),
+                resultSet.getString("patient_breed"),
+                resultSet.getBigDecimal("age_in_years"),
+                resultSet.getString("patient_color"),
+                resultSet.getDate("admitted_date").toLocalDate(),
+                resultSet.getString("medical_history"),
+                resultSet.getString("vaccination_history"),
+                resultSet.getString("special_instruction"),
+                resultSet.getString("owner_name"),
+                resultSet.getString("owner_contact"),
+                resultSet.getString("owner_email"),
+                resultSet.getString("owner_address"),
+                resultSet.getString("patient_insurance"),
+                resultSet.getBigDecimal("patient_weight"),
+                Objects.requireNonNullElse(resultSet.getString("mchip_id"), NO_MICROCHIP),
+                resultSet.getString("patient_gender")
+        );
+    }
 }
@@ -1,12 +1,18 @@
 package com.genvetclinic.services;
 
 import com.genvetclinic.models.Personnel;
+import com.genvetclinic.utils.DateRange;
+import com.genvetclinic.utils.WeekWindow;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The {@code PersonnelDao} class provides data access methods for managing Personnel entities
@@ -45,7 +51,7 @@ public class PersonnelDao {
         this.databaseConnection = databaseConnection;
     }
 
-    public void savePersonnel(Personnel personnel) throws SQLException {
+    public Personnel savePersonnel(Personnel personnel) throws SQLException {
         String sql = "INSERT INTO personnel (personnel_id, personnel_name, personnel_email, personnel_address, personnel_contact, "
                 + "emergency_contact, job_title, vet_specialization, hire_date, work_schedule, performance_rating, attendance_rating, "
                 + "personnel_certification) "
@@ -55,10 +61,12 @@ public class PersonnelDao {
             setSavePersonnelParameters(preparedStatement, personnel);
             preparedStatement.executeUpdate();
         }
+        EventBus.getInstance().publish(EntityChangeEvent.saved(Personnel.class, personnel.getPersonnelId(), personnel));
+        return personnel;
     }
 
     // Methods for saving, updating, deleting, and retrieving personnel information...
-    public void updatePersonnel(Personnel personnel) throws SQLException {
+    public Personnel updatePersonnel(Personnel personnel) throws SQLException {
         String sql = "UPDATE personnel SET personnel_name = ?, personnel_email = ?, personnel_address = ?, personnel_contact = ?, "
             + "emergency_contact = ?, job_title = ?, vet_specialization = ?, hire_date = ?, work_schedule = ?, performance_rating = ?, "
             + "attendance_rating = ?, personnel_certification = ? "
@@ -69,16 +77,23 @@ public class PersonnelDao {
             preparedStatement.setString(13, personnel.getPersonnelId());
             preparedStatement.executeUpdate();
         }
+        EventBus.getInstance().publish(EntityChangeEvent.updated(Personnel.class, personnel.getPersonnelId(), personnel));
+        return personnel;
     }
 
-    public void deletePersonnel(Personnel personnel) {
+    public boolean deletePersonnel(Personnel personnel) {
         String sql = "DELETE FROM personnel WHERE personnel_id = ?";
         try (Connection connection = databaseConnection.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
             preparedStatement.setString(1, personnel.getPersonnelId());
-            preparedStatement.executeUpdate();
+            boolean deleted = preparedStatement.executeUpdate() > 0;
+            if (deleted) {
+                EventBus.getInstance().publish(EntityChangeEvent.deleted(Personnel.class, personnel.getPersonnelId(), personnel));
+            }
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
+            return false;
         }
     }
 
@@ -115,18 +130,50 @@ public class PersonnelDao {
     }
 
     public int countRecentlyHiredPersonnelWithinWeek() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM personnel WHERE hire_date >= CURDATE() - INTERVAL DAYOFWEEK(CURDATE())-1 DAY AND hire_date < CURDATE() + INTERVAL 7-DAYOFWEEK(CURDATE()) DAY";
+        DateRange week = WeekWindow.currentWeek();
+        String sql = "SELECT COUNT(*) FROM personnel WHERE hire_date >= ? AND hire_date < ?";
+        try (Connection connection = databaseConnection.getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setDate(1, Date.valueOf(week.getStart()));
+            preparedStatement.setDate(2, Date.valueOf(week.getEndExclusive()));
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Retrieves every personnel name paired with its job title, formatted as "Name - Job Title"
+     * for the appointment assignment menu.
+     *
+     * @return a list of personnel names with their job titles.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<String> getAllPersonnelNamesWithJobTitle() throws SQLException {
+        List<String> personnelNames = new ArrayList<>();
+        String sql = "SELECT personnel_name, job_title FROM personnel";
         try (Connection connection = databaseConnection.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql);
              ResultSet resultSet = preparedStatement.executeQuery()) {
-            resultSet.next();
-            return resultSet.getInt(1);
+            while (resultSet.next()) {
+                personnelNames.add(resultSet.getString("personnel_name") + " - " + resultSet.getString("job_title"));
+            }
         }
+        return personnelNames;
     }
 
     public String getNotificationTextForPersonnel() throws SQLException {
-        int recentlyHiredPersonnelCount = countRecentlyHiredPersonnelWithinWeek();
+        return buildNotificationText(countRecentlyHiredPersonnelWithinWeek());
+    }
 
+    /**
+     * Builds the personnel notification message for the given count.
+     *
+     * @param recentlyHiredPersonnelCount the number of personnel hired this week.
+     * @return the notification message.
+     */
+    public static String buildNotificationText(int recentlyHiredPersonnelCount) {
         if (recentlyHiredPersonnelCount > 0) {
             return recentlyHiredPersonnelCount + " recently \n hired personnel.";
         } else {
@@ -188,4 +235,36 @@ public class PersonnelDao {
         preparedStatement.setString(12, personnel.getCertification());
     }    
     
+
+    /**
+     * Streams every personnel in the database to the given consumer, one row at a time.
+     *
+     * @param consumer the consumer that receives each {@link Personnel}.
+     * @return the number of personnel records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamPersonnel(Consumer<? super Personnel> consumer) throws SQLException {
+        return databaseConnection.stream("SELECT * FROM personnel", DatabaseConnection.STREAMING_FETCH_SIZE,
+                this::mapResultSetToPersonnel, consumer);
+    }
+
+    private Personnel mapResultSetToPersonnel(ResultSet resultSet) throws SQLException {
+        Personnel personnel = new Personnel();
+        personnel.setPersonnelId(resultSet.getString("personnel_id"));
+        personnel.setPersonnelName(resultSet.getString("personnel_name"));
+        personnel.setPersonnelEmail(resultSet.getString("personnel_email"));
+        personnel.setPersonnelAddress(resultSet.getString("personnel_address"));
+        personnel.setPersonnelContact(resultSet.getString("personnel_contact"));
+        personnel.setEmergencyContact(resultSet.getString("emergency_contact"));
+        personnel.setJobTitle(resultSet.getString("job_title"));
+        personnel.setVetSpec(resultSet.getString("vet_specialization"));
+        personnel.setCertification(resultSet.getString("personnel_certification"));
+        personnel.setWorkSched(resultSet.getString("work_schedule"));
+        personnel.setHireDate(resultSet.getDate("hire_date").toLocalDate());
+        String perfRatingString = resultSet.getString("performance_rating");
+        personnel.setPerfRating(perfRatingString != null ? new BigDecimal(perfRatingString) : null);
+        String attRatingString = resultSet.getString("attendance_rating");
+        personnel.setAttendRating(attRatingString != null ? new BigDecimal(attRatingString) : null);
+        return personnel;
+    }
 }
@@ -0,0 +1,122 @@
+package com.genvetclinic.services;
+
+import com.genvetclinic.models.Personnel;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code PersonnelRoster} class caches the "name - job title" list offered when personnel are assigned to
+ * appointments. The roster is read from the database on first use and kept until a personnel record is saved,
+ * updated or deleted, which the {@link PersonnelDao} announces on the {@link EventBus}.
+ *
+ * <p>Every reload bumps {@link #getVersion()}, so menus built from the roster can tell whether they need to be
+ * rebuilt. {@link #filter(String, int)} provides the type-ahead matching for those menus.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class PersonnelRoster {
+
+    private static PersonnelRoster instance;
+
+    private List<String> entries;
+    private List<String> lowerCaseEntries;
+    private long version;
+
+    private PersonnelRoster() {
+        EventBus.getInstance().subscribe(Personnel.class, event -> invalidate());
+    }
+
+    /**
+     * Returns the roster shared by the whole application, creating it on first use.
+     *
+     * @return the shared {@code PersonnelRoster}.
+     */
+    public static synchronized PersonnelRoster getInstance() {
+        if (instance == null) {
+            instance = new PersonnelRoster();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the "name - job title" entry of every personnel, reading them from the database if the roster
+     * has changed since it was last read.
+     *
+     * @return the roster entries, in database order.
+     * @throws SQLException if a database access error occurs.
+     */
+    public synchronized List<String> getEntries() throws SQLException {
+        ensureLoaded();
+        return entries;
+    }
+
+    /**
+     * Returns the version of the roster, which changes whenever the roster is reloaded.
+     *
+     * @return the roster version.
+     * @throws SQLException if a database access error occurs.
+     */
+    public synchronized long getVersion() throws SQLException {
+        ensureLoaded();
+        return version;
+    }
+
+    /**
+     * Returns the entries that contain every word of the query, ignoring case.
+     *
+     * @param query the words typed so far; a blank query matches every entry.
+     * @param limit the maximum number of entries to return.
+     * @return the first {@code limit} matching entries, in roster order.
+     * @throws SQLException if a database access error occurs.
+     */
+    public synchronized List<String> filter(String query, int limit) throws SQLException {
+        ensureLoaded();
+        String[] words = query == null || query.isBlank()
+                ? new String[0]
+                : query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+
+        List<String> matches = new ArrayList<>();
+        for (int i = 0; i < entries.size() && matches.size() < limit; i++) {
+            if (containsAll(lowerCaseEntries.get(i), words)) {
+                matches.add(entries.get(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Drops the cached roster, so that the next read reloads it.
+     */
+    public synchronized void invalidate() {
+        entries = null;
+        lowerCaseEntries = null;
+    }
+
+    // Methods for loading and matching the roster...
+    private void ensureLoaded() throws SQLException {
+        if (entries != null) {
+            return;
+        }
+        List<String> loaded = List.copyOf(new PersonnelDao().getAllPersonnelNamesWithJobTitle());
+        List<String> lowerCase = new ArrayList<>(loaded.size());
+        for (String entry : loaded) {
+            lowerCase.add(entry.toLowerCase(Locale.ROOT));
+        }
+        entries = loaded;
+        lowerCaseEntries = lowerCase;
+        version++;
+    }
+
+    private static boolean containsAll(String entry, String[] words) {
+        for (String word : words) {
+            if (!entry.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,171 @@
+package com.genvetclinic.services;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@code PooledConnection} class wraps a physical connection owned by a {@link ConnectionPool}.
+ * Each borrow hands out a fresh {@link Connection} handle whose {@code close()} returns the physical
+ * connection to the pool. A handle cannot be used after it has been closed, so a DAO holding on to a
+ * stale handle can never interfere with the next borrower.
+ *
+ * <p>Prepared statements created through a handle are kept in a per-connection {@link StatementCache},
+ * so a DAO that runs the same SQL on every call reuses the statement prepared by an earlier borrow.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+class PooledConnection {
+
+    /**
+     * The pool that owns this connection.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * The underlying physical connection.
+     */
+    private final Connection physical;
+
+    /**
+     * Prepared statements kept open on the physical connection, keyed by SQL text.
+     */
+    private final StatementCache statementCache;
+
+    /**
+     * The time, in milliseconds, at which the connection was last returned to the pool.
+     */
+    private volatile long lastReturnedMillis = System.currentTimeMillis();
+
+    PooledConnection(ConnectionPool pool, Connection physical) {
+        this.pool = pool;
+        this.physical = physical;
+        this.statementCache = new StatementCache(pool, physical, pool.getStatementCacheSize());
+    }
+
+    /**
+     * Creates a new handle for a borrower.
+     *
+     * @return a {@link Connection} proxy backed by the physical connection.
+     */
+    Connection borrow() {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                new Handle());
+    }
+
+    long getLastReturnedMillis() {
+        return lastReturnedMillis;
+    }
+
+    Connection getPhysicalConnection() {
+        return physical;
+    }
+
+    int getCachedStatementCount() {
+        return statementCache.size();
+    }
+
+    boolean isValid(int timeoutSeconds) {
+        try {
+            return physical.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Rolls back any open transaction and restores auto-commit so that the next borrower starts
+     * from a clean state.
+     *
+     * @return {@code true} if the connection can be reused, {@code false} if it should be discarded.
+     */
+    boolean resetForReuse() {
+        try {
+            statementCache.releaseAll();
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+            lastReturnedMillis = System.currentTimeMillis();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    void closePhysical() {
+        statementCache.clear();
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Only plain forward-only, read-only statements are cached; other variants are prepared as usual.
+    private static boolean isCacheablePrepare(Method method, Object[] args) {
+        if (!method.getName().equals("prepareStatement") || args == null || !(args[0] instanceof String)) {
+            return false;
+        }
+        if (args.length == 1) {
+            return true;
+        }
+        return args.length == 3
+                && Integer.valueOf(ResultSet.TYPE_FORWARD_ONLY).equals(args[1])
+                && Integer.valueOf(ResultSet.CONCUR_READ_ONLY).equals(args[2]);
+    }
+
+    /**
+     * Invocation handler for a single borrow of the physical connection.
+     */
+    private class Handle implements InvocationHandler {
+
+        private boolean closed;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + (closed ? ", closed" : "") + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if (isCacheablePrepare(method, args)) {
+                return statementCache.prepare((String) args[0]);
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
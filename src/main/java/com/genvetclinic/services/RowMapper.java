@@ -0,0 +1,29 @@
+package com.genvetclinic.services;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * The {@code RowMapper} interface maps the current row of a {@link ResultSet} to an object.
+ * It is used by the query methods of {@link DatabaseConnection} so that DAOs only describe how a
+ * row becomes a model, while the connection handling and cursor management live in one place.
+ *
+ * <p>Implementations should only read the current row and must not advance the cursor.
+ *
+ * @param <T> the type of object produced for each row.
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps the current row of the result set.
+     *
+     * @param resultSet the result set positioned on the row to map.
+     * @return the mapped object.
+     * @throws SQLException if a column cannot be read.
+     */
+    T mapRow(ResultSet resultSet) throws SQLException;
+}
@@ -0,0 +1,136 @@
+package com.genvetclinic.services;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * The {@code SchemaMigration} class describes one versioned change to the database schema, applied once by
+ * {@link SchemaMigrator}. A migration is a list of steps plus the queries it is meant to speed up; the
+ * migrator logs the {@code EXPLAIN} of those queries before and after the steps run.
+ *
+ * <p>Every step is safe to run against a schema that already has the change, such as a database created from
+ * the current {@code vcms_database.sql}, so a migration can always be recorded as applied.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class SchemaMigration {
+
+    /**
+     * A single change made by a migration.
+     */
+    public interface Step {
+
+        /**
+         * Applies the change on the given connection.
+         *
+         * @param connection the connection to the migrated database.
+         * @throws SQLException if the change cannot be applied.
+         */
+        void apply(Connection connection) throws SQLException;
+    }
+
+    private final int version;
+    private final String description;
+    private final List<Step> steps;
+    private final List<String> explainQueries;
+
+    /**
+     * Constructs a new {@code SchemaMigration}.
+     *
+     * @param version        the schema version the migration brings the database to; versions are applied
+     *                       in ascending order.
+     * @param description    a short description of the change, stored with the applied version.
+     * @param steps          the changes to apply, in order.
+     * @param explainQueries the queries whose plans are logged before and after the migration.
+     */
+    public SchemaMigration(int version, String description, List<Step> steps, List<String> explainQueries) {
+        this.version = version;
+        this.description = description;
+        this.steps = List.copyOf(steps);
+        this.explainQueries = List.copyOf(explainQueries);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public List<String> getExplainQueries() {
+        return explainQueries;
+    }
+
+    /**
+     * Returns a step that runs a single SQL statement. The statement itself must be safe to run twice.
+     *
+     * @param sql the statement to run.
+     * @return the step.
+     */
+    public static Step sql(String sql) {
+        return connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(sql);
+            }
+        };
+    }
+
+    /**
+     * Returns a step that adds a secondary index unless the table already has an index with that name.
+     *
+     * @param table     the indexed table.
+     * @param indexName the name of the index.
+     * @param columns   the indexed columns, in order.
+     * @return the step.
+     */
+    public static Step addIndex(String table, String indexName, String... columns) {
+        return addIndex(table, indexName, false, columns);
+    }
+
+    /**
+     * Returns a step that adds a unique index unless the table already has an index with that name.
+     *
+     * @param table     the indexed table.
+     * @param indexName the name of the index.
+     * @param columns   the indexed columns, in order.
+     * @return the step.
+     */
+    public static Step addUniqueIndex(String table, String indexName, String... columns) {
+        return addIndex(table, indexName, true, columns);
+    }
+
+    // Index steps check information_schema first, because MySQL has no ADD INDEX IF NOT EXISTS...
+    private static Step addIndex(String table, String indexName, boolean unique, String... columns) {
+        String sql = "ALTER TABLE `" + table + "` ADD " + (unique ? "UNIQUE " : "") + "KEY `" + indexName
+                + "` (`" + String.join("`, `", columns) + "`)";
+        return connection -> {
+            if (!indexExists(connection, table, indexName)) {
+                sql(sql).apply(connection);
+            }
+        };
+    }
+
+    private static boolean indexExists(Connection connection, String table, String indexName) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?";
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setString(1, table);
+            preparedStatement.setString(2, indexName);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1) > 0;
+            }
+        }
+    }
+}
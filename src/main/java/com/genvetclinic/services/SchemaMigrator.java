@@ -0,0 +1,244 @@
+package com.genvetclinic.services;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code SchemaMigrator} class brings the database schema up to date when the application starts. Applied
+ * versions are recorded in the {@code schema_version} table, and every {@link SchemaMigration} with a higher
+ * version is applied in ascending order. If a migration fails, the ones after it are not attempted, so the
+ * next start retries from the failed version.
+ *
+ * <p>For each migration the {@code EXPLAIN} of the queries it targets is printed before and after it runs,
+ * which shows whether those queries moved from full table scans to index lookups.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class SchemaMigrator {
+
+    /**
+     * The migrations shipped with the application, in version order.
+     */
+    public static final List<SchemaMigration> MIGRATIONS = List.of(
+            new SchemaMigration(1, "Patient search and microchip indexes",
+                    List.of(
+                            SchemaMigration.addIndex("patients", "idx_patients_patient_name", "patient_name"),
+                            SchemaMigration.addIndex("patients", "idx_patients_owner_name", "owner_name"),
+                            SchemaMigration.addIndex("patients", "idx_patients_owner_contact", "owner_contact"),
+                            SchemaMigration.sql("UPDATE patients SET mchip_id = NULL "
+                                    + "WHERE TRIM(mchip_id) = '' OR TRIM(mchip_id) = 'n/a'"),
+                            SchemaMigration.addUniqueIndex("patients", "uq_patients_mchip_id", "mchip_id")),
+                    List.of(
+                            "SELECT patient_id FROM patients WHERE owner_name LIKE 'a%'",
+                            "SELECT patient_id FROM patients WHERE mchip_id = '900000000000000'")),
+            new SchemaMigration(2, "Indexes for date, status and lookup predicates",
+                    List.of(
+                            SchemaMigration.addIndex("patients", "idx_patients_admitted_date", "admitted_date"),
+                            SchemaMigration.addIndex("boarders", "idx_boarders_date_boarded", "date_boarded"),
+                            SchemaMigration.addIndex("boarders", "idx_boarders_date_departed", "date_departed"),
+                            SchemaMigration.addIndex("personnel", "idx_personnel_hire_date", "hire_date"),
+                            SchemaMigration.addIndex("appointment", "idx_appointment_date", "appointment_date"),
+                            SchemaMigration.addIndex("transaction", "idx_transaction_status",
+                                    "transaction_status", "transaction_amt"),
+                            SchemaMigration.addIndex("inventory", "idx_inventory_item_status", "item_status"),
+                            SchemaMigration.addIndex("kennels", "idx_kennels_kennel_status", "kennel_status"),
+                            SchemaMigration.addIndex("laboratories", "idx_laboratories_lab_status", "lab_status"),
+                            SchemaMigration.addIndex("admin", "idx_admin_username", "username"),
+                            SchemaMigration.addIndex("activation", "idx_activation_code", "activation_code")),
+                    List.of(
+                            "SELECT COUNT(*) FROM patients WHERE admitted_date >= CURDATE() - INTERVAL 7 DAY",
+                            "SELECT COUNT(*) FROM boarders WHERE date_boarded >= CURDATE() - INTERVAL 7 DAY",
+                            "SELECT COUNT(*) FROM boarders WHERE date_departed <= CURDATE() + INTERVAL 7 DAY",
+                            "SELECT COUNT(*) FROM personnel WHERE hire_date >= CURDATE() - INTERVAL 7 DAY",
+                            "SELECT * FROM appointment WHERE appointment_date BETWEEN CURDATE() AND CURDATE() + INTERVAL 7 DAY",
+                            "SELECT COALESCE(SUM(transaction_amt), 0) FROM transaction WHERE transaction_status = 'Captured'",
+                            "SELECT COUNT(*) FROM inventory WHERE item_status <> 'In Stock'",
+                            "SELECT COUNT(*) FROM kennels WHERE kennel_status <> 'Available for Boarding'",
+                            "SELECT COUNT(*) FROM laboratories WHERE lab_status <> 'Available for Testing'",
+                            "SELECT * FROM admin WHERE username = 'admin'",
+                            "SELECT COUNT(*) FROM activation WHERE activation_code = 'ABCDEFGHIJ'")),
+            new SchemaMigration(3, "Monthly transaction partitions and transaction archive",
+                    List.of(
+                            SchemaMigration.sql("CREATE TABLE IF NOT EXISTS transaction_archive ("
+                                    + "transaction_id varchar(10) NOT NULL, "
+                                    + "payer varchar(255) DEFAULT NULL, "
+                                    + "payee varchar(255) DEFAULT NULL, "
+                                    + "transaction_type varchar(255) DEFAULT NULL, "
+                                    + "transaction_desc text DEFAULT NULL, "
+                                    + "transaction_amt decimal(10,2) DEFAULT NULL, "
+                                    + "amt_received decimal(10,2) DEFAULT NULL, "
+                                    + "payment_method varchar(255) DEFAULT NULL, "
+                                    + "receipt_no int(10) DEFAULT NULL, "
+                                    + "transac_datetime datetime NOT NULL, "
+                                    + "transaction_change decimal(10,2) DEFAULT NULL, "
+                                    + "transaction_status varchar(255) DEFAULT NULL, "
+                                    + "PRIMARY KEY (transaction_id, transac_datetime), "
+                                    + "KEY idx_transaction_archive_status (transaction_status, transaction_amt)"
+                                    + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci"),
+                            TransactionArchiver::partitionTable),
+                    List.of(
+                            "SELECT * FROM transaction WHERE transac_datetime >= CURDATE() - INTERVAL 1 MONTH",
+                            "SELECT COALESCE(SUM(transaction_amt), 0) FROM transaction WHERE transaction_status = 'Captured'")),
+            new SchemaMigration(4, "Daily earnings rollup",
+                    List.of(
+                            SchemaMigration.sql("CREATE TABLE IF NOT EXISTS earnings_rollup ("
+                                    + "rollup_date date NOT NULL, "
+                                    + "payment_method varchar(255) NOT NULL, "
+                                    + "captured_total decimal(14,2) NOT NULL DEFAULT 0.00, "
+                                    + "captured_count int(11) NOT NULL DEFAULT 0, "
+                                    + "PRIMARY KEY (rollup_date, payment_method)"
+                                    + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci"),
+                            SchemaMigration.sql("DELETE FROM earnings_rollup"),
+                            SchemaMigration.sql("INSERT INTO earnings_rollup "
+                                    + "(rollup_date, payment_method, captured_total, captured_count) "
+                                    + "SELECT DATE(transac_datetime), COALESCE(payment_method, ''), SUM(transaction_amt), "
+                                    + "COUNT(*) FROM (SELECT transac_datetime, payment_method, transaction_amt "
+                                    + "FROM transaction WHERE transaction_status = 'Captured' "
+                                    + "AND transaction_amt IS NOT NULL UNION ALL "
+                                    + "SELECT transac_datetime, payment_method, transaction_amt FROM transaction_archive "
+                                    + "WHERE transaction_status = 'Captured' AND transaction_amt IS NOT NULL) captured "
+                                    + "GROUP BY DATE(transac_datetime), COALESCE(payment_method, '')")),
+                    List.of(
+                            "SELECT COALESCE(SUM(captured_total), 0) FROM earnings_rollup")),
+            new SchemaMigration(5, "Status counters for notification badges",
+                    List.of(
+                            SchemaMigration.sql("CREATE TABLE IF NOT EXISTS entity_status_counts ("
+                                    + "entity varchar(32) NOT NULL, "
+                                    + "status varchar(255) NOT NULL, "
+                                    + "status_count int(11) NOT NULL DEFAULT 0, "
+                                    + "PRIMARY KEY (entity, status)"
+                                    + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci")),
+                    List.of(
+                            "SELECT COALESCE(SUM(status_count), 0) FROM entity_status_counts "
+                                    + "WHERE entity = 'inventory' AND status NOT IN ('In Stock')")),
+            new SchemaMigration(6, "Appointment schedule index per personnel",
+                    List.of(
+                            SchemaMigration.addIndex("appointment", "idx_appointment_personnel_date",
+                                    "assigned_personnel", "appointment_date")),
+                    List.of(
+                            "SELECT * FROM appointment WHERE assigned_personnel = 'n/a' "
+                                    + "AND appointment_date >= CURDATE() AND appointment_date < CURDATE() + INTERVAL 2 DAY"))
+    );
+
+    private static final String VERSION_TABLE_SQL = "CREATE TABLE IF NOT EXISTS schema_version ("
+            + "version int(11) NOT NULL, "
+            + "description varchar(255) NOT NULL, "
+            + "applied_at datetime NOT NULL, "
+            + "execution_ms int(11) NOT NULL, "
+            + "PRIMARY KEY (version)"
+            + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci";
+
+    private final DatabaseConnection databaseConnection;
+
+    /**
+     * Constructs a new {@code SchemaMigrator} for the specified database connection.
+     *
+     * @param databaseConnection the {@link DatabaseConnection} of the database to migrate.
+     */
+    public SchemaMigrator(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Applies the shipped {@link #MIGRATIONS} to the application database. Failures are logged rather than
+     * thrown, so that the application still starts on an older schema.
+     */
+    public static void migrateOnStartup() {
+        try {
+            new SchemaMigrator(new DatabaseConnection()).migrate(MIGRATIONS);
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Applies every migration whose version has not been recorded yet, in ascending version order.
+     *
+     * @param migrations the migrations to consider.
+     * @return the number of migrations applied.
+     * @throws SQLException if the version table cannot be read or a migration fails.
+     */
+    public int migrate(List<SchemaMigration> migrations) throws SQLException {
+        List<SchemaMigration> pending = new ArrayList<>(migrations);
+        pending.sort(Comparator.comparingInt(SchemaMigration::getVersion));
+
+        int applied = 0;
+        try (Connection connection = databaseConnection.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(VERSION_TABLE_SQL);
+            }
+            Set<Integer> appliedVersions = getAppliedVersions(connection);
+            for (SchemaMigration migration : pending) {
+                if (!appliedVersions.contains(migration.getVersion())) {
+                    apply(connection, migration);
+                    applied++;
+                }
+            }
+        }
+        System.out.println("Schema migrations: " + applied + " applied, " + (pending.size() - applied) + " up to date");
+        return applied;
+    }
+
+    // Methods for applying a single migration and logging its query plans...
+    private void apply(Connection connection, SchemaMigration migration) throws SQLException {
+        String label = "V" + migration.getVersion() + " " + migration.getDescription();
+        logExplain(connection, label + " (before)", migration.getExplainQueries());
+
+        long start = System.nanoTime();
+        for (SchemaMigration.Step step : migration.getSteps()) {
+            step.apply(connection);
+        }
+        long executionMillis = (System.nanoTime() - start) / 1_000_000;
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                "INSERT INTO schema_version (version, description, applied_at, execution_ms) VALUES (?, ?, NOW(), ?)")) {
+            preparedStatement.setInt(1, migration.getVersion());
+            preparedStatement.setString(2, migration.getDescription());
+            preparedStatement.setLong(3, executionMillis);
+            preparedStatement.executeUpdate();
+        }
+
+        System.out.println("Applied migration " + label + " in " + executionMillis + " ms");
+        logExplain(connection, label + " (after)", migration.getExplainQueries());
+    }
+
+    private Set<Integer> getAppliedVersions(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT version FROM schema_version")) {
+            while (resultSet.next()) {
+                versions.add(resultSet.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private void logExplain(Connection connection, String label, List<String> queries) {
+        for (String query : queries) {
+            StringBuilder plan = new StringBuilder("EXPLAIN ").append(label).append(": ").append(query);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+                while (resultSet.next()) {
+                    plan.append("\n    table=").append(resultSet.getString("table"))
+                            .append(" type=").append(resultSet.getString("type"))
+                            .append(" key=").append(resultSet.getString("key"))
+                            .append(" rows=").append(resultSet.getString("rows"))
+                            .append(" extra=").append(resultSet.getString("Extra"));
+                }
+            } catch (SQLException e) {
+                plan.append("\n    unavailable: ").append(e.getMessage());
+            }
+            System.out.println(plan);
+        }
+    }
+}
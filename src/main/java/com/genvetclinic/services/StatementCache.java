@@ -0,0 +1,226 @@
+package com.genvetclinic.services;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code StatementCache} class keeps the prepared statements of a single pooled connection
+ * alive between borrows, keyed by their SQL text. A DAO that calls {@code prepareStatement(sql)}
+ * with a statement it has used before gets the already-parsed statement back; closing it clears
+ * its parameters and returns it to the cache instead of releasing it on the server.
+ *
+ * <p>The cache is bounded and evicts the least recently used statement once it is full. It is only
+ * ever used by the thread currently holding the connection, so it needs no locking of its own.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+class StatementCache {
+
+    /**
+     * The pool that owns the connection, used for shared hit/miss counters and settings.
+     */
+    private final ConnectionPool pool;
+
+    /**
+     * The physical connection whose statements are cached.
+     */
+    private final Connection physical;
+
+    /**
+     * Cached statements in access order, least recently used first.
+     */
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    StatementCache(ConnectionPool pool, Connection physical, int maxSize) {
+        this.pool = pool;
+        this.physical = physical;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() > maxSize) {
+                    eldest.getValue().evict();
+                    pool.recordStatementEviction();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a prepared statement for the given SQL, reusing a cached one when it is free.
+     *
+     * @param sql the SQL text of the statement.
+     * @return a {@link PreparedStatement} whose {@code close()} returns it to the cache.
+     * @throws SQLException if the statement cannot be prepared.
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        CachedStatement cached = statements.get(sql);
+        if (cached != null && !cached.inUse) {
+            pool.recordStatementHit();
+            return cached.checkOut();
+        }
+
+        pool.recordStatementMiss();
+        PreparedStatement statement = createStatement(sql);
+        if (cached != null) {
+            // The same SQL is already open on this connection (e.g. a nested query); hand out an uncached one.
+            return statement;
+        }
+        cached = new CachedStatement(statement);
+        statements.put(sql, cached);
+        return cached.checkOut();
+    }
+
+    /**
+     * Returns every statement still checked out to the cache. Called when the connection goes back
+     * to the pool so that a borrower that forgot to close a statement cannot pin it.
+     */
+    void releaseAll() {
+        List<CachedStatement> checkedOut = new ArrayList<>();
+        for (CachedStatement cached : statements.values()) {
+            if (cached.inUse) {
+                checkedOut.add(cached);
+            }
+        }
+        checkedOut.forEach(CachedStatement::checkIn);
+    }
+
+    /**
+     * Closes every cached statement. Called before the physical connection is closed.
+     */
+    void clear() {
+        Iterator<CachedStatement> iterator = statements.values().iterator();
+        while (iterator.hasNext()) {
+            iterator.next().evict();
+            iterator.remove();
+        }
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    // Prepares server-side when the pool asks for it and the driver supports it, client-side otherwise.
+    private PreparedStatement createStatement(String sql) throws SQLException {
+        if (pool.isServerPrepared(sql)) {
+            try {
+                Method serverPrepare = physical.getClass().getMethod("serverPrepareStatement", String.class);
+                return (PreparedStatement) serverPrepare.invoke(physical, sql);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // The driver has no server-side prepare; fall through to a regular statement.
+            }
+        }
+        return physical.prepareStatement(sql);
+    }
+
+    /**
+     * A cached physical statement and the proxy handed to DAOs.
+     */
+    private static class CachedStatement implements InvocationHandler {
+
+        private final PreparedStatement statement;
+        private final PreparedStatement proxy;
+        private boolean inUse;
+        private boolean evicted;
+        private boolean settingsChanged;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    this);
+        }
+
+        PreparedStatement checkOut() {
+            inUse = true;
+            return proxy;
+        }
+
+        void checkIn() {
+            inUse = false;
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+            try {
+                statement.clearParameters();
+                statement.clearWarnings();
+                if (settingsChanged) {
+                    statement.setFetchSize(0);
+                    statement.setMaxRows(0);
+                    statement.setQueryTimeout(0);
+                    settingsChanged = false;
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (inUse) {
+                        checkIn();
+                    }
+                    return null;
+                case "isClosed":
+                    return !inUse || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return statement.toString();
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setQueryTimeout":
+                    settingsChanged = true;
+                    break;
+                default:
+                    break;
+            }
+            if (!inUse) {
+                throw new SQLException("Statement has already been closed");
+            }
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.genvetclinic.services;
+
+import com.genvetclinic.models.Transaction;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code TransactionArchiver} class keeps the {@code transaction} table small. The table is range
+ * partitioned by the month of {@code transac_datetime}, one partition per month plus an empty
+ * {@code p_future} partition for anything later.
+ *
+ * <p>Once a day the archiver makes sure partitions exist for the current and next month. It then moves every
+ * month older than {@link #HOT_MONTHS} into {@code transaction_archive}. A month is moved by copying and
+ * deleting its rows in one JDBC transaction and then dropping its now empty partition. If the copy fails, or
+ * copies a different number of rows than the delete removes, the transaction is rolled back and the month
+ * stays where it is. Archived transactions are removed from the {@link OwnerIndex}, so the owner search stops
+ * offering them. Regular DAO reads only see the hot months; {@link TransactionDao} has explicit variants that
+ * include the archive.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class TransactionArchiver {
+
+    /**
+     * The number of months, including the current one, kept in the {@code transaction} table.
+     */
+    public static final int HOT_MONTHS = 12;
+
+    /**
+     * How often partitions are maintained and closed months archived.
+     */
+    private static final long RUN_INTERVAL_HOURS = 24;
+
+    /**
+     * The catch-all partition for dates beyond the last monthly partition.
+     */
+    private static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'uuuuMM");
+
+    private static ScheduledExecutorService scheduler;
+
+    private final DatabaseConnection databaseConnection;
+
+    /**
+     * Constructs a new {@code TransactionArchiver} for the specified database connection.
+     *
+     * @param databaseConnection the {@link DatabaseConnection} of the database to maintain.
+     */
+    public TransactionArchiver(DatabaseConnection databaseConnection) {
+        this.databaseConnection = databaseConnection;
+    }
+
+    /**
+     * Starts running the archiver in the background: once right away, then every {@link #RUN_INTERVAL_HOURS}
+     * hours.
+     */
+    public static synchronized void startInBackground() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vcms-transaction-archiver");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                new TransactionArchiver(new DatabaseConnection()).run();
+            } catch (SQLException | RuntimeException e) {
+                // Leave the partitions as they are; the next run will try again.
+                e.printStackTrace();
+            }
+        }, 0, RUN_INTERVAL_HOURS, TimeUnit.HOURS);
+    }
+
+    /**
+     * Stops the background archiver, if it was started. Called once when the application exits.
+     */
+    public static synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Adds the partitions for the current and next month and archives every month that is no longer hot.
+     * Does nothing if the {@code transaction} table is not partitioned.
+     *
+     * @return the number of transactions moved to the archive.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int run() throws SQLException {
+        int archived = 0;
+        try (Connection connection = databaseConnection.getConnection()) {
+            List<String> partitions = getPartitionNames(connection);
+            if (partitions.isEmpty()) {
+                return 0;
+            }
+            addMonthlyPartitions(connection, partitions, YearMonth.now().plusMonths(1));
+
+            YearMonth oldestHotMonth = YearMonth.now().minusMonths(HOT_MONTHS - 1);
+            for (String partition : getPartitionNames(connection)) {
+                YearMonth month = toMonth(partition);
+                if (month != null && month.isBefore(oldestHotMonth)) {
+                    archived += archivePartition(connection, partition);
+                }
+            }
+        }
+        if (archived > 0) {
+            // Archived rows leave the transaction table, so its status counters are rebuilt from what is left.
+            new EntityStatusCountsDao(databaseConnection).reconcile(EntityStatusCountsDao.Entity.TRANSACTION);
+            EventBus.getInstance().publish(EntityChangeEvent.reloaded(Transaction.class));
+        }
+        return archived;
+    }
+
+    /**
+     * Partitions the {@code transaction} table by month. Used by the schema migration that introduces the
+     * partitioning; does nothing if the table is already partitioned.
+     *
+     * <p>Partitioning requires {@code transac_datetime} to be part of the primary key, so the key becomes
+     * {@code (transaction_id, transac_datetime)} and {@code transac_datetime} becomes {@code NOT NULL}.
+     *
+     * @param connection the connection to the migrated database.
+     * @throws SQLException if the table cannot be partitioned.
+     */
+    static void partitionTable(Connection connection) throws SQLException {
+        if (!getPartitionNames(connection).isEmpty()) {
+            return;
+        }
+        // The first partition also holds everything older, so there is no need to go back past the hot months.
+        YearMonth firstMonth = YearMonth.now().minusMonths(HOT_MONTHS);
+        try (Statement statement = connection.createStatement()) {
+            // Rows without a date cannot be placed in a month; date them in the distant past so they are archived.
+            statement.executeUpdate("UPDATE transaction SET transac_datetime = '1970-01-01 00:00:00' "
+                    + "WHERE transac_datetime IS NULL");
+            statement.execute("ALTER TABLE transaction MODIFY transac_datetime datetime NOT NULL, "
+                    + "DROP PRIMARY KEY, ADD PRIMARY KEY (transaction_id, transac_datetime)");
+
+            try (ResultSet resultSet = statement.executeQuery("SELECT MIN(transac_datetime) FROM transaction")) {
+                if (resultSet.next() && resultSet.getTimestamp(1) != null) {
+                    YearMonth oldestMonth = YearMonth.from(resultSet.getTimestamp(1).toLocalDateTime());
+                    if (oldestMonth.isAfter(firstMonth)) {
+                        firstMonth = oldestMonth;
+                    }
+                }
+            }
+
+            List<String> definitions = new ArrayList<>();
+            for (YearMonth month = firstMonth; !month.isAfter(YearMonth.now().plusMonths(1)); month = month.plusMonths(1)) {
+                definitions.add(monthPartition(month));
+            }
+            definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+            statement.execute("ALTER TABLE transaction PARTITION BY RANGE COLUMNS(transac_datetime) ("
+                    + String.join(", ", definitions) + ")");
+        }
+    }
+
+    // Methods for inspecting, adding and archiving monthly partitions...
+    private static List<String> getPartitionNames(Connection connection) throws SQLException {
+        String sql = "SELECT partition_name FROM information_schema.partitions "
+                + "WHERE table_schema = DATABASE() AND table_name = 'transaction' AND partition_name IS NOT NULL "
+                + "ORDER BY partition_ordinal_position";
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                names.add(resultSet.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private void addMonthlyPartitions(Connection connection, List<String> partitions, YearMonth lastMonth)
+            throws SQLException {
+        YearMonth newestMonth = null;
+        for (String partition : partitions) {
+            YearMonth month = toMonth(partition);
+            if (month != null && (newestMonth == null || month.isAfter(newestMonth))) {
+                newestMonth = month;
+            }
+        }
+        if (newestMonth == null || !partitions.contains(FUTURE_PARTITION) || !newestMonth.isBefore(lastMonth)) {
+            return;
+        }
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = newestMonth.plusMonths(1); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            definitions.add(monthPartition(month));
+        }
+        definitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE transaction REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                    + String.join(", ", definitions) + ")");
+        }
+    }
+
+    private int archivePartition(Connection connection, String partition) throws SQLException {
+        List<String> archivedIds = new ArrayList<>();
+        int moved;
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            // Locks the month's rows, so the IDs read here are exactly the rows copied and deleted below.
+            try (ResultSet resultSet = statement.executeQuery("SELECT transaction_id FROM transaction PARTITION ("
+                    + partition + ") FOR UPDATE")) {
+                while (resultSet.next()) {
+                    archivedIds.add(resultSet.getString(1));
+                }
+            }
+            // A plain INSERT, so a row that cannot be archived fails the move instead of being skipped and deleted.
+            int copied = statement.executeUpdate("INSERT INTO transaction_archive SELECT * FROM transaction PARTITION ("
+                    + partition + ")");
+            moved = statement.executeUpdate("DELETE FROM transaction PARTITION (" + partition + ")");
+            if (moved != copied || moved != archivedIds.size()) {
+                throw new SQLException("Archiving partition " + partition + " copied " + copied
+                        + " transaction(s) but would delete " + moved + "; the partition was left in place");
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        for (String transactionId : archivedIds) {
+            OwnerIndex.recordDeleted(OwnerIndex.Source.TRANSACTION, transactionId);
+        }
+
+        // The partition is empty now; dropping it lets its range fall into the next partition.
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE transaction DROP PARTITION " + partition);
+        }
+        return moved;
+    }
+
+    private static String monthPartition(YearMonth month) {
+        return "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1)
+                + " 00:00:00')";
+    }
+
+    private static YearMonth toMonth(String partition) {
+        try {
+            return YearMonth.parse(partition, PARTITION_NAME);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * The {@code TransactionDao} class provides data access methods for managing Transaction entities
@@ -48,57 +49,146 @@ public class TransactionDao {
     }
 
     // Methods for saving, updating, deleting, and retrieving transaction information...
-    public void saveTransaction(Transaction transaction, String transactionStatus) throws SQLException {
+    public Transaction saveTransaction(Transaction transaction, String transactionStatus) throws SQLException {
         String sql = "INSERT INTO transaction (transaction_id, payer, payee, transaction_type, transaction_desc, " +
                      "transaction_amt, amt_received, payment_method, receipt_no, transac_datetime, transaction_change, transaction_status) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            setSaveTransactionParameters(preparedStatement, transaction, transactionStatus);
-            preparedStatement.executeUpdate();
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                setSaveTransactionParameters(preparedStatement, transaction, transactionStatus);
+                preparedStatement.executeUpdate();
+                EarningsRollupDao.apply(connection, transaction, transactionStatus, 1);
+                EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.TRANSACTION, null,
+                        transactionStatus);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         }
+        transaction.setTransactionStatus(transactionStatus);
+        OwnerIndex.recordSaved(OwnerIndex.Source.TRANSACTION, transaction.getTransactionId(), transaction.getPayer());
+        EventBus.getInstance().publish(EntityChangeEvent.saved(Transaction.class, transaction.getTransactionId(), transaction));
+        return transaction;
     }
 
-    public void updateTransaction(Transaction transaction, String transactionStatus) throws SQLException {
+    public Transaction updateTransaction(Transaction transaction, String transactionStatus) throws SQLException {
         String sql = "UPDATE transaction SET payer = ?, payee = ?, transaction_type = ?, " +
              "transaction_desc = ?, transaction_amt = ?, amt_received = ?, " +
              "payment_method = ?, receipt_no = ?, transac_datetime = ?, transaction_change = ?, transaction_status = ? " +
              "WHERE transaction_id = ?";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            setUpdateTransactionParameters(preparedStatement, transaction, transactionStatus);
-            preparedStatement.setString(12, transaction.getTransactionId()); 
-            preparedStatement.executeUpdate();
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                Transaction stored = lockStoredTransaction(connection, transaction.getTransactionId());
+                setUpdateTransactionParameters(preparedStatement, transaction, transactionStatus);
+                preparedStatement.setString(12, transaction.getTransactionId()); 
+                if (preparedStatement.executeUpdate() > 0 && stored != null) {
+                    EarningsRollupDao.apply(connection, stored, stored.getTransactionStatus(), -1);
+                    EarningsRollupDao.apply(connection, transaction, transactionStatus, 1);
+                    EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.TRANSACTION,
+                            stored.getTransactionStatus(), transactionStatus);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
         }
+        transaction.setTransactionStatus(transactionStatus);
+        OwnerIndex.recordSaved(OwnerIndex.Source.TRANSACTION, transaction.getTransactionId(), transaction.getPayer());
+        EventBus.getInstance().publish(EntityChangeEvent.updated(Transaction.class, transaction.getTransactionId(), transaction));
+        return transaction;
     }    
 
-    public void deleteTransaction(Transaction transaction) throws SQLException {
+    public boolean deleteTransaction(Transaction transaction) throws SQLException {
         String sql = "DELETE FROM transaction WHERE transaction_id = ?";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setString(1, transaction.getTransactionId());
-            preparedStatement.executeUpdate();
+        boolean deleted;
+        try (Connection connection = databaseConnection.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+                Transaction stored = lockStoredTransaction(connection, transaction.getTransactionId());
+                preparedStatement.setString(1, transaction.getTransactionId());
+                deleted = preparedStatement.executeUpdate() > 0;
+                if (deleted && stored != null) {
+                    EarningsRollupDao.apply(connection, stored, stored.getTransactionStatus(), -1);
+                    EntityStatusCountsDao.apply(connection, EntityStatusCountsDao.Entity.TRANSACTION,
+                            stored.getTransactionStatus(), null);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        if (deleted) {
+            EventBus.getInstance().publish(EntityChangeEvent.deleted(Transaction.class, transaction.getTransactionId(), transaction));
+            OwnerIndex.recordDeleted(OwnerIndex.Source.TRANSACTION, transaction.getTransactionId());
         }
+        return deleted;
     }
 
+    /**
+     * Retrieves the transactions of the hot months, i.e. those not yet moved to the archive.
+     *
+     * @return the hot transactions.
+     * @throws SQLException if a database access error occurs.
+     */
     public List<Transaction> getTransactions() throws SQLException {
-        List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transaction";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
-            while (resultSet.next()) {
-                transactions.add(mapResultSetToTransaction(resultSet));
-            }
-        }
-        return transactions;
+        return getTransactions(false);
     }
 
+    /**
+     * Retrieves the transactions of the hot months, and optionally the archived ones as well.
+     *
+     * @param includeArchived {@code true} to also read {@code transaction_archive}.
+     * @return the transactions.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Transaction> getTransactions(boolean includeArchived) throws SQLException {
+        return databaseConnection.query(selectTransactionsSql(includeArchived), this::mapResultSetToTransaction);
+    }
+
+    /**
+     * Streams every transaction of the hot months to the given consumer, one row at a time.
+     *
+     * @param consumer the consumer that receives each {@link Transaction}.
+     * @return the number of transaction records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamTransactions(Consumer<? super Transaction> consumer) throws SQLException {
+        return streamTransactions(consumer, false);
+    }
+
+    /**
+     * Streams every transaction of the hot months, and optionally the archived ones as well, to the given
+     * consumer, one row at a time.
+     *
+     * @param consumer        the consumer that receives each {@link Transaction}.
+     * @param includeArchived {@code true} to also read {@code transaction_archive}.
+     * @return the number of transaction records streamed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int streamTransactions(Consumer<? super Transaction> consumer, boolean includeArchived) throws SQLException {
+        return databaseConnection.stream(selectTransactionsSql(includeArchived), DatabaseConnection.STREAMING_FETCH_SIZE,
+                this::mapResultSetToTransaction, consumer);
+    }
+
+    /**
+     * Checks whether a transaction ID is already taken, by a hot or an archived transaction.
+     *
+     * @param transactionId the transaction ID to check.
+     * @return {@code true} if the ID is in use.
+     * @throws SQLException if a database access error occurs.
+     */
     public boolean isTransactionExists(String transactionId) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM transaction WHERE transaction_id = ?";
+        String sql = "SELECT (SELECT COUNT(*) FROM transaction WHERE transaction_id = ?) "
+                + "+ (SELECT COUNT(*) FROM transaction_archive WHERE transaction_id = ?)";
         try (Connection connection = databaseConnection.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
             preparedStatement.setString(1, transactionId);
+            preparedStatement.setString(2, transactionId);
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 resultSet.next();
                 int count = resultSet.getInt(1);
@@ -107,8 +197,48 @@ public class TransactionDao {
         }
     }
 
+    /**
+     * Reads the stored state of a transaction and locks its row until the enclosing JDBC transaction ends, so
+     * that the rollups can be adjusted by exactly what an update or delete changes.
+     *
+     * @param connection    the connection writing the transaction.
+     * @param transactionId the ID of the transaction.
+     * @return the stored transaction, or {@code null} if it does not exist.
+     * @throws SQLException if a database access error occurs.
+     */
+    private Transaction lockStoredTransaction(Connection connection, String transactionId) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                "SELECT * FROM transaction WHERE transaction_id = ? FOR UPDATE")) {
+            preparedStatement.setString(1, transactionId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? mapResultSetToTransaction(resultSet) : null;
+            }
+        }
+    }
+
+    /**
+     * Sums the captured transactions of the hot months.
+     *
+     * @return the total, or {@code null} if there are no captured transactions.
+     * @throws SQLException if a database access error occurs.
+     */
     public BigDecimal getTotalEarnings() throws SQLException {
-        String sql = "SELECT SUM(transaction_amt) FROM transaction WHERE transaction_status = 'Captured'";
+        return getTotalEarnings(false);
+    }
+
+    /**
+     * Sums the captured transactions of the hot months, and optionally the archived ones as well. The total
+     * including the archive is read from {@code earnings_rollup} rather than summed from both tables.
+     *
+     * @param includeArchived {@code true} to also count {@code transaction_archive}.
+     * @return the total, or {@code null} if there are no captured transactions.
+     * @throws SQLException if a database access error occurs.
+     */
+    public BigDecimal getTotalEarnings(boolean includeArchived) throws SQLException {
+        String sql = "SELECT SUM(transaction_amt) AS amount FROM transaction WHERE transaction_status = 'Captured'";
+        if (includeArchived) {
+            sql = "SELECT SUM(captured_total) FROM earnings_rollup";
+        }
         try (Connection connection = databaseConnection.getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql);
              ResultSet resultSet = preparedStatement.executeQuery()) {
@@ -118,18 +248,21 @@ public class TransactionDao {
     }
 
     public int countTransactionsNeedingAttention() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM transaction WHERE transaction_status NOT IN ('Authorized', 'Captured')";
-        try (Connection connection = databaseConnection.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql);
-             ResultSet resultSet = preparedStatement.executeQuery()) {
-            resultSet.next();
-            return resultSet.getInt(1);
-        }
+        return new EntityStatusCountsDao(databaseConnection)
+                .countNeedingAttention(EntityStatusCountsDao.Entity.TRANSACTION);
     }
     
     public String getNotificationTextForTransactions() throws SQLException {
-        int transactionsNeedingAttentionCount = countTransactionsNeedingAttention();
-    
+        return buildNotificationText(countTransactionsNeedingAttention());
+    }
+
+    /**
+     * Builds the transaction notification message for the given count.
+     *
+     * @param transactionsNeedingAttentionCount the number of transactions that need attention.
+     * @return the notification message.
+     */
+    public static String buildNotificationText(int transactionsNeedingAttentionCount) {
         if (transactionsNeedingAttentionCount > 0) {
             return transactionsNeedingAttentionCount + " transaction(s) \n that need your attention.";
         } else {
@@ -137,6 +270,13 @@ public class TransactionDao {
         }
     }
     
+    // Reads the archive through UNION ALL, so that the hot-only query never touches it...
+    private static String selectTransactionsSql(boolean includeArchived) {
+        return includeArchived
+                ? "SELECT * FROM transaction UNION ALL SELECT * FROM transaction_archive"
+                : "SELECT * FROM transaction";
+    }
+
     // Private methods for setting parameters during database operations...
     private void setSaveTransactionParameters(PreparedStatement preparedStatement, Transaction transaction, String transactionStatus) throws SQLException {
         preparedStatement.setString(1, transaction.getTransactionId());
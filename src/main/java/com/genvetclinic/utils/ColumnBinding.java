@@ -0,0 +1,53 @@
+package com.genvetclinic.utils;
+
+import java.util.function.Function;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.util.Callback;
+
+/**
+ * The {@code ColumnBinding} class binds a {@link TableColumn} to a getter of the row model without
+ * reflection, as a typed replacement for {@code PropertyValueFactory}.
+ *
+ * <p>{@code PropertyValueFactory} resolves the getter by name through reflection and reads it
+ * reflectively every time a cell asks for its value, which happens for every visible cell on every
+ * layout pass while the table scrolls. A column bound here calls the getter directly and wraps the
+ * value in a short-lived read-only property, which is far cheaper than the reflective read.
+ *
+ * @param <S> the type of the table rows.
+ * @param <T> the type of the column values.
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class ColumnBinding<S, T> implements Callback<CellDataFeatures<S, T>, ObservableValue<T>> {
+
+    private final Function<? super S, ? extends T> getter;
+
+    private ColumnBinding(Function<? super S, ? extends T> getter) {
+        this.getter = getter;
+    }
+
+    /**
+     * Binds a column to a value of its row model.
+     *
+     * @param <S>    the type of the table rows.
+     * @param <T>    the type of the column values.
+     * @param column the column to bind.
+     * @param getter returns the column value of a row, e.g. {@code Patient::getPatientName}.
+     */
+    public static <S, T> void bind(TableColumn<S, T> column, Function<? super S, ? extends T> getter) {
+        column.setCellValueFactory(new ColumnBinding<>(getter));
+    }
+
+    @Override
+    public ObservableValue<T> call(CellDataFeatures<S, T> cellData) {
+        S row = cellData.getValue();
+        if (row == null) {
+            return null;
+        }
+        return new ReadOnlyObjectWrapper<>(getter.apply(row));
+    }
+}
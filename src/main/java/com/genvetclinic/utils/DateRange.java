@@ -0,0 +1,106 @@
+package com.genvetclinic.utils;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * The {@code DateRange} class represents a half-open range of dates, {@code [start, endExclusive)}.
+ *
+ * <p>Queries bind the two bounds as parameters of {@code column >= ? AND column < ?}, which the database can
+ * answer with a range scan on the column's index. Adjacent ranges never overlap and never leave a gap, so
+ * consecutive weeks always add up to the days between them.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public final class DateRange {
+
+    private final LocalDate start;
+    private final LocalDate endExclusive;
+
+    /**
+     * Constructs a new {@code DateRange}.
+     *
+     * @param start        the first date in the range.
+     * @param endExclusive the first date after the range.
+     * @throws IllegalArgumentException if {@code endExclusive} is before {@code start}.
+     */
+    public DateRange(LocalDate start, LocalDate endExclusive) {
+        if (endExclusive.isBefore(start)) {
+            throw new IllegalArgumentException("Range ends before it starts: " + start + " - " + endExclusive);
+        }
+        this.start = start;
+        this.endExclusive = endExclusive;
+    }
+
+    /**
+     * Creates the range of {@code days} days starting at {@code start}.
+     *
+     * @param start the first date in the range.
+     * @param days  the number of days in the range.
+     * @return the range.
+     */
+    public static DateRange ofDays(LocalDate start, int days) {
+        return new DateRange(start, start.plusDays(days));
+    }
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public LocalDate getEndExclusive() {
+        return endExclusive;
+    }
+
+    /**
+     * Returns the last date in the range, for display.
+     *
+     * @return the day before {@link #getEndExclusive()}.
+     */
+    public LocalDate getEndInclusive() {
+        return endExclusive.minusDays(1);
+    }
+
+    /**
+     * Returns the number of days in the range.
+     *
+     * @return the length of the range in days.
+     */
+    public long getDays() {
+        return ChronoUnit.DAYS.between(start, endExclusive);
+    }
+
+    /**
+     * Checks whether a date falls within the range.
+     *
+     * @param date the date to check.
+     * @return {@code true} if {@code start <= date < endExclusive}.
+     */
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(start) && date.isBefore(endExclusive);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DateRange)) {
+            return false;
+        }
+        DateRange range = (DateRange) other;
+        return start.equals(range.start) && endExclusive.equals(range.endExclusive);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, endExclusive);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + endExclusive + ")";
+    }
+}
@@ -1,11 +1,14 @@
 package com.genvetclinic.utils;
 
+import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.input.MouseEvent;
 
 /**
  * The {@code EffectsUtils} class provides utility methods for applying visual effects to JavaFX controls.
  *
+ * <p>The effects are defined in the shared application stylesheet as style classes and pseudo-classes,
+ * so hovering over or pressing a control never replaces its inline style.
+ *
  * @author vcms-group
  * @version 1.0
  * @since 2023-11-19
@@ -13,33 +16,44 @@ import javafx.scene.input.MouseEvent;
 public class EffectsUtils {
 
     /**
-     * Adds a hover effect to the specified button, changing its background color and text fill on mouse enter and exit.
+     * The shared application stylesheet.
+     */
+    public static final String STYLESHEET = EffectsUtils.class.getResource("/com/genvetclinic/styles/vcms.css").toExternalForm();
+
+    private static final String PRIMARY_BUTTON_STYLE_CLASS = "primary-button";
+    private static final String TABLE_STYLE_CLASS = "vcms-table";
+
+    /**
+     * Adds the shared application stylesheet to the specified scene.
+     *
+     * @param scene The scene to style.
+     */
+    public static void applyStylesheet(Scene scene) {
+        if (!scene.getStylesheets().contains(STYLESHEET)) {
+            scene.getStylesheets().add(STYLESHEET);
+        }
+    }
+
+    /**
+     * Adds a hover effect to the specified button, darkening its background while it is hovered or pressed.
      *
      * @param button The button to apply the hover effect.
      */
     public static void addHoverEffect(Button button) {
-        button.addEventHandler(MouseEvent.MOUSE_ENTERED, (MouseEvent e) -> {
-            button.setStyle("-fx-background-color: #30694B; -fx-text-fill: #ffffff; -fx-alignment: center;");
-        });
-
-        button.addEventHandler(MouseEvent.MOUSE_EXITED, (MouseEvent e) -> {
-            button.setStyle("-fx-background-color: #358856; -fx-text-fill: #ffffff; -fx-alignment: center;");
-        });
+        if (!button.getStyleClass().contains(PRIMARY_BUTTON_STYLE_CLASS)) {
+            button.getStyleClass().add(PRIMARY_BUTTON_STYLE_CLASS);
+        }
     }
 
     /**
-     * Sets the selection color for rows in a TableView.
+     * Makes selected rows of a TableView use the clinic's selection color.
      *
-     * @param <T>    The type of items in the TableView.
-     * @param table  The TableView to set the selection color for.
-     * @param color  The color to be used for row selection.
+     * @param table  The TableView to style.
      */
-    public static <T> void setTableSelectionColor(TableView<T> table, String color) {
-        table.setRowFactory(tv -> {
-            TableRow<T> row = new TableRow<>();
-            row.setStyle("-fx-selection-bar: " + color + ";");
-            return row;
-        });
+    public static void setTableSelectionStyle(TableView<?> table) {
+        if (!table.getStyleClass().contains(TABLE_STYLE_CLASS)) {
+            table.getStyleClass().add(TABLE_STYLE_CLASS);
+        }
     }
 
 }
@@ -0,0 +1,160 @@
+package com.genvetclinic.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javafx.scene.image.Image;
+
+/**
+ * The {@code ImageCache} class decodes the application's icons and images once and shares the decoded
+ * {@link Image} between every panel that shows them, so switching panels does not read and decode the
+ * same PNG resources again.
+ *
+ * <p>An image can be requested at the size it is displayed at, in which case it is decoded straight to
+ * that size instead of at the full size of the resource. Each resource and size is cached separately.
+ * The cache is bounded by the memory taken by the decoded pixels and evicts the least recently used
+ * image once the limit is exceeded. Hit, miss and memory statistics are kept for diagnostics.
+ *
+ * <p>The cache is thread-safe, since panels may be loaded in the background.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class ImageCache {
+
+    /**
+     * The folder holding the application's images.
+     */
+    public static final String IMAGE_FOLDER = "/com/genvetclinic/images/";
+
+    /**
+     * The maximum memory, in bytes, taken by the decoded images held in the cache.
+     */
+    private static final long MAX_CACHED_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * Decoded images in access order, least recently used first.
+     */
+    private static final LinkedHashMap<String, Image> IMAGES = new LinkedHashMap<>(32, 0.75f, true);
+
+    private static long cachedBytes;
+    private static long hitCount;
+    private static long missCount;
+    private static long evictionCount;
+
+    private ImageCache() {
+    }
+
+    /**
+     * Returns an image from the image folder at the full size of the resource.
+     *
+     * @param fileName the file name of the image, e.g. {@code "Dashboard Icon.png"}.
+     * @return the decoded image.
+     * @throws IllegalArgumentException if the image does not exist.
+     */
+    public static Image getImage(String fileName) {
+        return getImage(fileName, 0, 0);
+    }
+
+    /**
+     * Returns an image from the image folder, decoded to fit within the given display size while
+     * preserving its aspect ratio.
+     *
+     * @param fileName the file name of the image, e.g. {@code "Dashboard Icon.png"}.
+     * @param width    the width the image is displayed at, or {@code 0} for the resource's width.
+     * @param height   the height the image is displayed at, or {@code 0} for the resource's height.
+     * @return the decoded image.
+     * @throws IllegalArgumentException if the image does not exist.
+     */
+    public static synchronized Image getImage(String fileName, double width, double height) {
+        String key = fileName + "@" + width + "x" + height;
+        Image image = IMAGES.get(key);
+        if (image != null) {
+            hitCount++;
+            return image;
+        }
+
+        missCount++;
+        image = decode(IMAGE_FOLDER + fileName, width, height);
+        IMAGES.put(key, image);
+        cachedBytes += byteSize(image);
+        evictOverLimit(key);
+        return image;
+    }
+
+    /**
+     * Removes every image from the cache. Images already shown keep being displayed.
+     */
+    public static synchronized void clear() {
+        IMAGES.clear();
+        cachedBytes = 0;
+    }
+
+    public static synchronized int getCachedImageCount() {
+        return IMAGES.size();
+    }
+
+    public static synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    public static synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public static synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public static synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns a one-line summary of the cache statistics, for logging.
+     *
+     * @return the cache statistics.
+     */
+    public static synchronized String getStatistics() {
+        return String.format("ImageCache[images=%d, bytes=%d, hits=%d, misses=%d, evictions=%d]",
+                IMAGES.size(), cachedBytes, hitCount, missCount, evictionCount);
+    }
+
+    // Methods for decoding images and keeping the cache within its memory limit...
+    private static Image decode(String resourcePath, double width, double height) {
+        try (InputStream stream = ImageCache.class.getResourceAsStream(resourcePath)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Image not found: " + resourcePath);
+            }
+            Image image = new Image(stream, width, height, true, true);
+            if (image.isError()) {
+                throw new IllegalArgumentException("Unable to decode image: " + resourcePath, image.getException());
+            }
+            return image;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read image: " + resourcePath, e);
+        }
+    }
+
+    // The most recently added image is always kept, even if it alone exceeds the limit.
+    private static void evictOverLimit(String keepKey) {
+        Iterator<Map.Entry<String, Image>> iterator = IMAGES.entrySet().iterator();
+        while (cachedBytes > MAX_CACHED_BYTES && iterator.hasNext()) {
+            Map.Entry<String, Image> eldest = iterator.next();
+            if (eldest.getKey().equals(keepKey)) {
+                continue;
+            }
+            cachedBytes -= byteSize(eldest.getValue());
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    // Decoded images are held as 32-bit pixels.
+    private static long byteSize(Image image) {
+        return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * 4;
+    }
+}
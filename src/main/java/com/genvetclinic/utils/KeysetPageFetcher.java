@@ -0,0 +1,111 @@
+package com.genvetclinic.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * The {@code KeysetPageFetcher} class fetches the pages of a {@link PagedObservableList} by keyset
+ * pagination: each page is read from just after the last key of the page before it, so the database
+ * seeks straight to the page through the key's index instead of counting the rows in front of it.
+ *
+ * <p>The last key of every page fetched so far is remembered, one key per page. A page whose previous
+ * page has not been fetched, for example after the scroll bar was dragged, is reached from the nearest
+ * earlier page with a known last key, by skipping the rows in between on the key index only.
+ *
+ * <p>Pages are fetched on the background threads of the paged list, so the fetcher is thread-safe.
+ *
+ * @param <T> the type of the rows.
+ * @param <K> the type of the key the rows are ordered by.
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class KeysetPageFetcher<T, K> implements PagedObservableList.PageFetcher<T> {
+
+    /**
+     * Reads the rows that follow a key, in key order.
+     *
+     * @param <T> the type of the rows.
+     * @param <K> the type of the key.
+     */
+    @FunctionalInterface
+    public interface PageQuery<T, K> {
+        List<T> fetchAfter(K lastKey, int limit) throws Exception;
+    }
+
+    /**
+     * Reads the key a number of rows after a key, in key order, or {@code null} if there are not that
+     * many rows after it.
+     *
+     * @param <K> the type of the key.
+     */
+    @FunctionalInterface
+    public interface KeyQuery<K> {
+        K fetchKeyAfter(K lastKey, int skip) throws Exception;
+    }
+
+    private final int pageSize;
+    private final Function<? super T, ? extends K> keyOf;
+    private final PageQuery<T, K> pageQuery;
+    private final KeyQuery<K> keyQuery;
+
+    /**
+     * The last key of each page found so far, by page index.
+     */
+    private final ConcurrentSkipListMap<Integer, K> lastKeys = new ConcurrentSkipListMap<>();
+
+    /**
+     * Constructs a new {@code KeysetPageFetcher}. Both queries receive a {@code null} key to start from
+     * the first row.
+     *
+     * @param pageSize  the number of rows in each page.
+     * @param keyOf     returns the key of a row.
+     * @param pageQuery reads the rows after a key.
+     * @param keyQuery  reads the key a number of rows after a key.
+     */
+    public KeysetPageFetcher(int pageSize, Function<? super T, ? extends K> keyOf, PageQuery<T, K> pageQuery,
+                             KeyQuery<K> keyQuery) {
+        this.pageSize = pageSize;
+        this.keyOf = keyOf;
+        this.pageQuery = pageQuery;
+        this.keyQuery = keyQuery;
+    }
+
+    @Override
+    public List<T> fetchPage(int pageIndex) throws Exception {
+        K lastKeyBefore = null;
+        if (pageIndex > 0) {
+            lastKeyBefore = findLastKey(pageIndex - 1);
+            if (lastKeyBefore == null) {
+                // The table has fewer rows than when it was counted.
+                return List.of();
+            }
+        }
+
+        List<T> page = pageQuery.fetchAfter(lastKeyBefore, pageSize);
+        if (!page.isEmpty()) {
+            lastKeys.put(pageIndex, keyOf.apply(page.get(page.size() - 1)));
+        }
+        return page;
+    }
+
+    // Finds the last key of a page, skipping forward from the nearest earlier page with a known last key.
+    private K findLastKey(int pageIndex) throws Exception {
+        K lastKey = lastKeys.get(pageIndex);
+        if (lastKey != null) {
+            return lastKey;
+        }
+
+        Map.Entry<Integer, K> nearest = lastKeys.floorEntry(pageIndex);
+        int fromPage = nearest != null ? nearest.getKey() : -1;
+        K fromKey = nearest != null ? nearest.getValue() : null;
+
+        lastKey = keyQuery.fetchKeyAfter(fromKey, (pageIndex - fromPage) * pageSize - 1);
+        if (lastKey != null) {
+            lastKeys.put(pageIndex, lastKey);
+        }
+        return lastKey;
+    }
+}
@@ -0,0 +1,241 @@
+package com.genvetclinic.utils;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javafx.collections.ObservableListBase;
+import javafx.concurrent.Task;
+
+/**
+ * The {@code PagedObservableList} class is a read-only {@code ObservableList} for a {@code TableView}
+ * that fetches its rows one page at a time, only when the table asks for them.
+ *
+ * <p>The list reports the full row count from the start, so the table's scroll bar covers every row,
+ * but a row's page is only fetched the first time the table renders that row. Until then the row is
+ * {@code null} and shows up empty. Pages are fetched in the background and the next or previous page is
+ * fetched ahead when a row near a page boundary is rendered. Fetched pages are kept in an LRU cache of
+ * at most {@code maxCachedPages} pages; an evicted page is simply fetched again if it is shown again.
+ *
+ * <p>The list must only be used from the JavaFX Application Thread. It cannot be sorted, and rows can
+ * only be replaced in place with {@link #set(int, Object)} while their page is in memory; build a new
+ * list when rows are added or removed.
+ *
+ * @param <T> the type of the rows.
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class PagedObservableList<T> extends ObservableListBase<T> {
+
+    /**
+     * Fetches one page of rows. Called on a background thread.
+     *
+     * @param <T> the type of the rows.
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T> {
+        List<T> fetchPage(int pageIndex) throws Exception;
+    }
+
+    /**
+     * Background threads shared by every paged list.
+     */
+    private static final ExecutorService PAGE_LOADER = createPageLoader();
+
+    private final int size;
+    private final int pageSize;
+    private final int prefetchMargin;
+    private final int maxCachedPages;
+    private final PageFetcher<T> pageFetcher;
+
+    /**
+     * The page most recently requested by the table. Fetches queued for pages far from it are skipped,
+     * so dragging the scroll bar does not fetch every page along the way.
+     */
+    private volatile int latestRequestedPage;
+
+    /**
+     * Fetched pages in access order, least recently used first.
+     */
+    private final LinkedHashMap<Integer, List<T>> pages;
+
+    /**
+     * Pages currently being fetched.
+     */
+    private final Set<Integer> loadingPages = new HashSet<>();
+
+    /**
+     * Constructs a new {@code PagedObservableList}.
+     *
+     * @param size           the total number of rows.
+     * @param pageSize       the number of rows in each page.
+     * @param maxCachedPages the maximum number of pages kept in memory.
+     * @param pageFetcher    fetches a page of rows by page index.
+     */
+    public PagedObservableList(int size, int pageSize, int maxCachedPages, PageFetcher<T> pageFetcher) {
+        this.size = size;
+        this.pageSize = pageSize;
+        this.prefetchMargin = Math.max(1, pageSize / 4);
+        this.maxCachedPages = maxCachedPages;
+        this.pageFetcher = pageFetcher;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        int pageIndex = index / pageSize;
+        int offset = index % pageSize;
+
+        if (offset >= pageSize - prefetchMargin && (pageIndex + 1) * pageSize < size) {
+            requestPage(pageIndex + 1);
+        } else if (offset < prefetchMargin && pageIndex > 0) {
+            requestPage(pageIndex - 1);
+        }
+
+        List<T> page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex);
+            return null;
+        }
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Searches only the pages already in memory, so looking up a row never fetches the whole table.
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            int offset = entry.getValue().indexOf(o);
+            if (offset >= 0) {
+                return entry.getKey() * pageSize + offset;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Replaces a row whose page is in memory, for example after the row has been edited.
+     *
+     * @throws IllegalStateException if the row's page has not been fetched or has been evicted.
+     */
+    @Override
+    public T set(int index, T element) {
+        Objects.checkIndex(index, size);
+        List<T> page = pages.get(index / pageSize);
+        int offset = index % pageSize;
+        if (page == null || offset >= page.size()) {
+            throw new IllegalStateException("Row " + index + " is not in memory");
+        }
+
+        T previous = page.set(offset, element);
+        beginChange();
+        nextSet(index, previous);
+        endChange();
+        return previous;
+    }
+
+    /**
+     * Finds the first row in memory matching the given condition, without fetching any page.
+     *
+     * @param matcher the condition a row must satisfy.
+     * @return the index of the matching row, or {@code -1} if no row in memory matches.
+     */
+    public int indexOfCached(Predicate<? super T> matcher) {
+        for (Map.Entry<Integer, List<T>> entry : pages.entrySet()) {
+            List<T> page = entry.getValue();
+            for (int offset = 0; offset < page.size(); offset++) {
+                if (matcher.test(page.get(offset))) {
+                    return entry.getKey() * pageSize + offset;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    // Methods for fetching pages in the background and publishing them to the table...
+    private void requestPage(int pageIndex) {
+        latestRequestedPage = pageIndex;
+        if (pages.containsKey(pageIndex) || !loadingPages.add(pageIndex)) {
+            return;
+        }
+
+        Task<List<T>> task = new Task<>() {
+            @Override
+            protected List<T> call() throws Exception {
+                if (Math.abs(pageIndex - latestRequestedPage) > maxCachedPages) {
+                    return null;
+                }
+                return pageFetcher.fetchPage(pageIndex);
+            }
+        };
+
+        task.setOnSucceeded(event -> {
+            loadingPages.remove(pageIndex);
+            if (task.getValue() != null) {
+                pages.put(pageIndex, task.getValue());
+                firePageUpdated(pageIndex);
+            }
+        });
+
+        task.setOnFailed(event -> {
+            loadingPages.remove(pageIndex);
+            task.getException().printStackTrace();
+        });
+
+        PAGE_LOADER.execute(task);
+    }
+
+    private void firePageUpdated(int pageIndex) {
+        int from = pageIndex * pageSize;
+        int to = Math.min(size, from + pageSize);
+        beginChange();
+        for (int i = from; i < to; i++) {
+            nextUpdate(i);
+        }
+        endChange();
+    }
+
+    private static ExecutorService createPageLoader() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(2, 2, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "vcms-page-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
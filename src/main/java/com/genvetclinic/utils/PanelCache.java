@@ -0,0 +1,93 @@
+package com.genvetclinic.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javafx.scene.layout.Pane;
+
+/**
+ * The {@code PanelCache} class keeps loaded FXML panels, together with their controllers, alive
+ * between visits so that switching back to a panel does not parse its FXML, rebuild its scene graph
+ * or re-create its controller and DAOs.
+ *
+ * <p>The cache holds at most {@code maxPanels} panels and evicts the least recently shown one when
+ * it is full. It is not thread-safe and must only be used from the JavaFX Application Thread.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class PanelCache {
+
+    /**
+     * Loaded panels in access order, least recently shown first.
+     */
+    private final LinkedHashMap<String, CachedPanel> panels;
+
+    /**
+     * Constructs a new {@code PanelCache} that holds at most the given number of panels.
+     *
+     * @param maxPanels the maximum number of panels kept alive.
+     */
+    public PanelCache(int maxPanels) {
+        this.panels = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPanel> eldest) {
+                return size() > maxPanels;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached panel for the given FXML file and marks it as recently used.
+     *
+     * @param fxmlFileName the FXML file the panel was loaded from.
+     * @return the cached panel, or {@code null} if it is not cached.
+     */
+    public CachedPanel get(String fxmlFileName) {
+        return panels.get(fxmlFileName);
+    }
+
+    /**
+     * Adds a loaded panel to the cache, evicting the least recently used panel if the cache is full.
+     *
+     * @param fxmlFileName the FXML file the panel was loaded from.
+     * @param panel        the loaded panel.
+     */
+    public void put(String fxmlFileName, CachedPanel panel) {
+        panels.put(fxmlFileName, panel);
+    }
+
+    public boolean contains(String fxmlFileName) {
+        return panels.containsKey(fxmlFileName);
+    }
+
+    public int size() {
+        return panels.size();
+    }
+
+    public void clear() {
+        panels.clear();
+    }
+
+    /**
+     * A loaded panel and the controller created for it by the {@code FXMLLoader}.
+     */
+    public static class CachedPanel {
+
+        private final Pane pane;
+        private final Object controller;
+
+        public CachedPanel(Pane pane, Object controller) {
+            this.pane = pane;
+            this.controller = controller;
+        }
+
+        public Pane getPane() {
+            return pane;
+        }
+
+        public Object getController() {
+            return controller;
+        }
+    }
+}
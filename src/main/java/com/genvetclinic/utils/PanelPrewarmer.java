@@ -0,0 +1,152 @@
+package com.genvetclinic.utils;
+
+import com.genvetclinic.utils.PanelCache.CachedPanel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.logging.Logger;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.layout.Pane;
+
+/**
+ * The {@code PanelPrewarmer} class loads dashboard panels in the background right after login, so that
+ * the first visit to a panel does not pay for FXML parsing, controller wiring, icon decoding and the
+ * panel's first database query.
+ *
+ * <p>Panels are loaded one at a time on a single low-priority daemon thread. Each loaded panel is handed
+ * to the consumer registered with {@link #handTo(BiConsumer)} on the JavaFX Application Thread; panels
+ * that finish before a consumer is registered are held until one is. The time taken to warm each panel is
+ * recorded, available from {@link #getWarmupMillis()}, and logged together with the {@link ImageCache}
+ * statistics once all panels are warm.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class PanelPrewarmer {
+
+    private static final Logger LOGGER = Logger.getLogger(PanelPrewarmer.class.getName());
+
+    private static PanelPrewarmer current;
+
+    private final List<String> fxmlFileNames;
+
+    /**
+     * Warm panels waiting for a consumer. Only accessed on the JavaFX Application Thread.
+     */
+    private final Map<String, CachedPanel> undeliveredPanels = new LinkedHashMap<>();
+
+    /**
+     * The time, in milliseconds, taken to warm each panel, in the order the panels finished.
+     */
+    private final Map<String, Long> warmupMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private BiConsumer<String, CachedPanel> consumer;
+    private volatile boolean cancelled;
+    private volatile boolean finished;
+
+    private PanelPrewarmer(List<String> fxmlFileNames) {
+        this.fxmlFileNames = new ArrayList<>(fxmlFileNames);
+    }
+
+    /**
+     * Starts warming the given panels in the background, cancelling any prewarm still running from an
+     * earlier login.
+     *
+     * @param fxmlFileNames the FXML files of the panels to warm, in the order they should be loaded.
+     * @return the new {@code PanelPrewarmer}.
+     */
+    public static synchronized PanelPrewarmer start(List<String> fxmlFileNames) {
+        if (current != null) {
+            current.cancel();
+        }
+        current = new PanelPrewarmer(fxmlFileNames);
+
+        Thread thread = new Thread(current::warmPanels, "vcms-panel-prewarm");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+        return current;
+    }
+
+    /**
+     * Returns the prewarmer started by the most recent login.
+     *
+     * @return the current {@code PanelPrewarmer}, or {@code null} if none has been started.
+     */
+    public static synchronized PanelPrewarmer current() {
+        return current;
+    }
+
+    /**
+     * Registers the consumer that receives warm panels. Panels already warm are delivered immediately.
+     * Must be called on the JavaFX Application Thread.
+     *
+     * @param consumer receives the FXML file name and the loaded panel.
+     */
+    public void handTo(BiConsumer<String, CachedPanel> consumer) {
+        this.consumer = consumer;
+        undeliveredPanels.forEach(consumer);
+        undeliveredPanels.clear();
+    }
+
+    /**
+     * Stops warming panels. A panel that is already loading is discarded when it finishes.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Returns the time, in milliseconds, taken to warm each panel so far.
+     *
+     * @return the warm-up time per FXML file.
+     */
+    public Map<String, Long> getWarmupMillis() {
+        synchronized (warmupMillis) {
+            return new LinkedHashMap<>(warmupMillis);
+        }
+    }
+
+    // Methods for loading panels on the prewarm thread and delivering them...
+    private void warmPanels() {
+        for (String fxmlFileName : fxmlFileNames) {
+            if (cancelled) {
+                return;
+            }
+            try {
+                long start = System.nanoTime();
+                FXMLLoader loader = new FXMLLoader(PanelPrewarmer.class.getResource(fxmlFileName));
+                Pane pane = loader.load();
+                CachedPanel panel = new CachedPanel(pane, loader.getController());
+                warmupMillis.put(fxmlFileName, (System.nanoTime() - start) / 1_000_000);
+
+                Platform.runLater(() -> deliver(fxmlFileName, panel));
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+        finished = true;
+        LOGGER.info(() -> "Panels warmed in " + getWarmupMillis() + " ms; " + ImageCache.getStatistics());
+    }
+
+    private void deliver(String fxmlFileName, CachedPanel panel) {
+        if (cancelled) {
+            return;
+        }
+        if (consumer != null) {
+            consumer.accept(fxmlFileName, panel);
+        } else {
+            undeliveredPanels.put(fxmlFileName, panel);
+        }
+    }
+}
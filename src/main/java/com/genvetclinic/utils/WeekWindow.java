@@ -0,0 +1,94 @@
+package com.genvetclinic.utils;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * The {@code WeekWindow} class is the single definition of "this week" used by the DAOs and the dashboard.
+ * Weeks start on {@link #FIRST_DAY_OF_WEEK} and are expressed as half-open {@link DateRange}s.
+ *
+ * <p>The ranges are computed once per day and reused until the next local midnight, so the many "this week"
+ * queries issued by the dashboard and the panels all bind the same bounds.
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public final class WeekWindow {
+
+    /**
+     * The day every week starts on.
+     */
+    public static final DayOfWeek FIRST_DAY_OF_WEEK = DayOfWeek.SUNDAY;
+
+    /**
+     * The number of days after today covered by {@link #upcomingWeek()}.
+     */
+    private static final int UPCOMING_DAYS = 7;
+
+    private static volatile WeekWindow current;
+
+    private final LocalDate today;
+    private final DateRange currentWeek;
+    private final DateRange upcomingWeek;
+    private final long validUntilMillis;
+
+    private WeekWindow(LocalDate today, ZoneId zone) {
+        this.today = today;
+        LocalDate startOfWeek = today.with(TemporalAdjusters.previousOrSame(FIRST_DAY_OF_WEEK));
+        this.currentWeek = DateRange.ofDays(startOfWeek, 7);
+        this.upcomingWeek = DateRange.ofDays(today, UPCOMING_DAYS + 1);
+        this.validUntilMillis = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Returns the calendar week containing today, from {@link #FIRST_DAY_OF_WEEK} up to (but excluding)
+     * the same day of the next week.
+     *
+     * @return the current week.
+     */
+    public static DateRange currentWeek() {
+        return get().currentWeek;
+    }
+
+    /**
+     * Returns today and the seven days after it, used for "due within a week" checks.
+     *
+     * @return the range {@code [today, today + 8 days)}.
+     */
+    public static DateRange upcomingWeek() {
+        return get().upcomingWeek;
+    }
+
+    /**
+     * Returns the date the cached ranges were computed for.
+     *
+     * @return today's date.
+     */
+    public static LocalDate today() {
+        return get().today;
+    }
+
+    /**
+     * Returns the calendar week containing the given date.
+     *
+     * @param date any date in the week.
+     * @return the week containing {@code date}.
+     */
+    public static DateRange weekOf(LocalDate date) {
+        return DateRange.ofDays(date.with(TemporalAdjusters.previousOrSame(FIRST_DAY_OF_WEEK)), 7);
+    }
+
+    // Recomputes the ranges the first time they are needed after midnight...
+    private static WeekWindow get() {
+        WeekWindow window = current;
+        if (window == null || System.currentTimeMillis() >= window.validUntilMillis) {
+            ZoneId zone = ZoneId.systemDefault();
+            window = new WeekWindow(LocalDate.now(zone), zone);
+            current = window;
+        }
+        return window;
+    }
+}
@@ -28,6 +28,7 @@ public class WindowUtils {
             FXMLLoader loader = new FXMLLoader(WindowUtils.class.getResource("/com/genvetclinic/ui/" + fxmlFileName));
             Parent root = loader.load();
             Scene scene = new Scene(root);
+            EffectsUtils.applyStylesheet(scene);
             Stage stage = new Stage();
             stage.setTitle(title);
             stage.setScene(scene);
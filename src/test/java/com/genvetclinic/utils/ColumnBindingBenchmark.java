@@ -0,0 +1,289 @@
+package com.genvetclinic.utils;
+
+import com.genvetclinic.models.Patient;
+import com.genvetclinic.models.Transaction;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.Stage;
+
+/**
+ * The {@code ColumnBindingBenchmark} class measures how long a {@link TableView} takes to lay out each
+ * frame while it scrolls through 50,000 rows, with the columns bound by {@code PropertyValueFactory}
+ * and by {@link ColumnBinding}.
+ *
+ * <p>It uses the same columns as the patient and transaction panels and synthetic rows, so it needs no
+ * database. For every table and binding it prints the average and 95th percentile of the CSS and layout
+ * time per frame, which is where cell values are computed, and of the time between frames. With
+ * {@code --cells} it instead computes every cell value of every row directly, without a scene, and prints
+ * the time per pass over the table and per cell; that mode needs no display.
+ *
+ * <p>The benchmark lives with the test sources, so it is not part of the application. Run it from the
+ * project root after {@code mvn test-compile}:
+ * <pre>
+ * java --module-path target/classes:&lt;javafx jars&gt; --patch-module com.genvetclinic=target/test-classes \
+ *     -m com.genvetclinic/com.genvetclinic.utils.ColumnBindingBenchmark [--cells]
+ * </pre>
+ *
+ * @author vcms-group
+ * @version 1.0
+ * @since 2023-11-19
+ */
+public class ColumnBindingBenchmark {
+
+    private static final int ROW_COUNT = 50_000;
+    private static final int ROWS_PER_FRAME = 40;
+    private static final int WARMUP_FRAMES = 60;
+    private static final int CELL_PASSES = 20;
+    private static final int WARMUP_CELL_PASSES = 5;
+
+    /**
+     * Counts the non-null cell values, so the cell value computations cannot be optimized away.
+     */
+    private static volatile long cellValueCount;
+
+    private static final List<ColumnSpec<Patient>> PATIENT_COLUMNS = Arrays.asList(
+            new ColumnSpec<>("patientid", Patient::getPatientid),
+            new ColumnSpec<>("patientName", Patient::getPatientName),
+            new ColumnSpec<>("patientSpecies", Patient::getPatientSpecies),
+            new ColumnSpec<>("patientBreed", Patient::getPatientBreed),
+            new ColumnSpec<>("patientAge", Patient::getPatientAge),
+            new ColumnSpec<>("patientGender", Patient::getPatientGender),
+            new ColumnSpec<>("patientColor", Patient::getPatientColor),
+            new ColumnSpec<>("patientWeight", Patient::getPatientWeight),
+            new ColumnSpec<>("microchipId", Patient::getMicrochipId),
+            new ColumnSpec<>("admittedDate", Patient::getAdmittedDate),
+            new ColumnSpec<>("ownerName", Patient::getOwnerName),
+            new ColumnSpec<>("ownerContact", Patient::getOwnerContact),
+            new ColumnSpec<>("ownerEmail", Patient::getOwnerEmail),
+            new ColumnSpec<>("ownerAddress", Patient::getOwnerAddress),
+            new ColumnSpec<>("patientInsurance", Patient::getPatientInsurance),
+            new ColumnSpec<>("medicalHistory", Patient::getMedicalHistory),
+            new ColumnSpec<>("vaccineHistory", Patient::getVaccineHistory),
+            new ColumnSpec<>("specialInstructions", Patient::getSpecialInstructions));
+
+    private static final List<ColumnSpec<Transaction>> TRANSACTION_COLUMNS = Arrays.asList(
+            new ColumnSpec<>("transactionId", Transaction::getTransactionId),
+            new ColumnSpec<>("payer", Transaction::getPayer),
+            new ColumnSpec<>("payee", Transaction::getPayee),
+            new ColumnSpec<>("transactionType", Transaction::getTransactionType),
+            new ColumnSpec<>("transactionDesc", Transaction::getTransactionDesc),
+            new ColumnSpec<>("transactionAmt", Transaction::getTransactionAmt),
+            new ColumnSpec<>("amtReceived", Transaction::getAmtReceived),
+            new ColumnSpec<>("paymentMethod", Transaction::getPaymentMethod),
+            new ColumnSpec<>("receiptNo", Transaction::getReceiptNo),
+            new ColumnSpec<>("transacDateTime", Transaction::getTransacDateTime),
+            new ColumnSpec<>("transactionChange", Transaction::getTransactionChange),
+            new ColumnSpec<>("transactionStatus", Transaction::getTransactionStatus));
+
+    private final Stage stage = new Stage();
+    private final List<Runnable> runs = new ArrayList<>();
+
+    /**
+     * The frame being measured by the current run, or {@code -1} between runs.
+     */
+    private final int[] currentFrame = { -1 };
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--cells")) {
+            measureCellValues();
+        } else {
+            Platform.startup(() -> new ColumnBindingBenchmark().start());
+        }
+    }
+
+    private void start() {
+        ObservableList<Patient> patients = createRows(ColumnBindingBenchmark::createPatient);
+        ObservableList<Transaction> transactions = createRows(ColumnBindingBenchmark::createTransaction);
+
+        runs.add(() -> measure("Patients, PropertyValueFactory", patients, PATIENT_COLUMNS, false));
+        runs.add(() -> measure("Patients, ColumnBinding", patients, PATIENT_COLUMNS, true));
+        runs.add(() -> measure("Transactions, PropertyValueFactory", transactions, TRANSACTION_COLUMNS, false));
+        runs.add(() -> measure("Transactions, ColumnBinding", transactions, TRANSACTION_COLUMNS, true));
+
+        stage.setTitle("Column binding benchmark");
+        stage.show();
+        runNext();
+    }
+
+    private void runNext() {
+        if (runs.isEmpty()) {
+            stage.close();
+            Platform.exit();
+            return;
+        }
+        runs.remove(0).run();
+    }
+
+    // Scrolls the table from top to bottom, a fixed number of rows per frame, timing every frame.
+    private <S> void measure(String name, ObservableList<S> rows, List<ColumnSpec<S>> columns, boolean typedBinding) {
+        TableView<S> table = new TableView<>();
+        table.getColumns().addAll(createColumns(columns, typedBinding));
+        table.setItems(rows);
+
+        Scene scene = new Scene(table, 1280, 720);
+        int frameCount = ROW_COUNT / ROWS_PER_FRAME;
+        long[] layoutNanos = new long[frameCount + WARMUP_FRAMES];
+        long[] frameNanos = new long[frameCount + WARMUP_FRAMES];
+        long[] layoutStart = new long[1];
+
+        Runnable preLayout = () -> layoutStart[0] = System.nanoTime();
+        Runnable postLayout = () -> {
+            int frame = currentFrame[0];
+            if (frame >= 0 && frame < layoutNanos.length) {
+                layoutNanos[frame] += System.nanoTime() - layoutStart[0];
+            }
+        };
+        scene.addPreLayoutPulseListener(preLayout);
+        scene.addPostLayoutPulseListener(postLayout);
+        stage.setScene(scene);
+
+        new AnimationTimer() {
+            private long previousFrame;
+
+            @Override
+            public void handle(long now) {
+                int frame = currentFrame[0];
+                if (frame >= 0 && frame < frameNanos.length) {
+                    frameNanos[frame] = now - previousFrame;
+                }
+                previousFrame = now;
+
+                int next = frame + 1;
+                if (next >= frameNanos.length) {
+                    stop();
+                    scene.removePreLayoutPulseListener(preLayout);
+                    scene.removePostLayoutPulseListener(postLayout);
+                    currentFrame[0] = -1;
+                    report(name, Arrays.copyOfRange(layoutNanos, WARMUP_FRAMES, layoutNanos.length),
+                            Arrays.copyOfRange(frameNanos, WARMUP_FRAMES + 1, frameNanos.length));
+                    Platform.runLater(ColumnBindingBenchmark.this::runNext);
+                    return;
+                }
+                currentFrame[0] = next;
+                int scrollRow = Math.max(0, next - WARMUP_FRAMES) * ROWS_PER_FRAME;
+                table.scrollTo(Math.min(scrollRow, ROW_COUNT - 1));
+            }
+        }.start();
+    }
+
+    // Computes every cell value of every row a number of times, the way the table's cells ask for them.
+    private static void measureCellValues() {
+        ObservableList<Patient> patients = createRows(ColumnBindingBenchmark::createPatient);
+        ObservableList<Transaction> transactions = createRows(ColumnBindingBenchmark::createTransaction);
+
+        measureCellValues("Patients, PropertyValueFactory", patients, PATIENT_COLUMNS, false);
+        measureCellValues("Patients, ColumnBinding", patients, PATIENT_COLUMNS, true);
+        measureCellValues("Transactions, PropertyValueFactory", transactions, TRANSACTION_COLUMNS, false);
+        measureCellValues("Transactions, ColumnBinding", transactions, TRANSACTION_COLUMNS, true);
+    }
+
+    private static <S> void measureCellValues(String name, List<S> rows, List<ColumnSpec<S>> columns,
+                                              boolean typedBinding) {
+        List<TableColumn<S, Object>> tableColumns = createColumns(columns, typedBinding);
+        long[] passNanos = new long[CELL_PASSES];
+        long count = 0;
+        for (int pass = -WARMUP_CELL_PASSES; pass < CELL_PASSES; pass++) {
+            long start = System.nanoTime();
+            for (S row : rows) {
+                for (TableColumn<S, Object> column : tableColumns) {
+                    if (column.getCellValueFactory().call(new CellDataFeatures<>(null, column, row)).getValue() != null) {
+                        count++;
+                    }
+                }
+            }
+            if (pass >= 0) {
+                passNanos[pass] = System.nanoTime() - start;
+            }
+        }
+        cellValueCount += count;
+
+        Arrays.sort(passNanos);
+        long cellsPerPass = (long) rows.size() * tableColumns.size();
+        System.out.printf("%-36s pass avg %7.2f ms  p95 %7.2f ms | %6.1f ns per cell%n", name, average(passNanos),
+                percentile(passNanos, 0.95), average(passNanos) * 1_000_000.0 / cellsPerPass);
+    }
+
+    private static <S> List<TableColumn<S, Object>> createColumns(List<ColumnSpec<S>> columns, boolean typedBinding) {
+        List<TableColumn<S, Object>> tableColumns = new ArrayList<>();
+        for (ColumnSpec<S> spec : columns) {
+            TableColumn<S, Object> column = new TableColumn<>(spec.property);
+            if (typedBinding) {
+                ColumnBinding.bind(column, spec.getter);
+            } else {
+                column.setCellValueFactory(new PropertyValueFactory<>(spec.property));
+            }
+            tableColumns.add(column);
+        }
+        return tableColumns;
+    }
+
+    private static void report(String name, long[] layoutNanos, long[] frameNanos) {
+        Arrays.sort(layoutNanos);
+        Arrays.sort(frameNanos);
+        System.out.printf("%-36s layout avg %6.2f ms  p95 %6.2f ms | frame avg %6.2f ms  p95 %6.2f ms%n", name,
+                average(layoutNanos), percentile(layoutNanos, 0.95), average(frameNanos), percentile(frameNanos, 0.95));
+    }
+
+    private static double average(long[] sortedNanos) {
+        return Arrays.stream(sortedNanos).average().orElse(0) / 1_000_000.0;
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        return sortedNanos[(int) Math.min(sortedNanos.length - 1, Math.round(percentile * sortedNanos.length))] / 1_000_000.0;
+    }
+
+    // Methods for generating synthetic rows...
+    private static <S> ObservableList<S> createRows(IntFunction<S> rowFactory) {
+        List<S> rows = new ArrayList<>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows.add(rowFactory.apply(i));
+        }
+        return FXCollections.observableArrayList(rows);
+    }
+
+    private static Patient createPatient(int i) {
+        return new Patient(String.format("P%09d", i), "Patient " + i, i % 2 == 0 ? "Dog" : "Cat", "Breed " + i % 40,
+                BigDecimal.valueOf(i % 15), "Brown", LocalDate.of(2023, 1, 1).plusDays(i % 365), "None", "Rabies",
+                "n/a", "Owner " + i, "0917" + String.format("%07d", i), "owner" + i + "@example.com",
+                "Street " + i, "n/a", BigDecimal.valueOf(5 + i % 30), "MC" + i, i % 2 == 0 ? "Male" : "Female");
+    }
+
+    private static Transaction createTransaction(int i) {
+        BigDecimal amount = BigDecimal.valueOf(500 + i % 5000);
+        return new Transaction(String.format("T%09d", i), "Payer " + i, "Clinic", "Service", "Check-up " + i,
+                amount, amount.add(BigDecimal.valueOf(100)), "Cash", "R" + i,
+                LocalDateTime.of(2023, 1, 1, 8, 0).plusMinutes(i * 7L), BigDecimal.valueOf(100), "Paid");
+    }
+
+    /**
+     * A benchmark column: the property name used by {@code PropertyValueFactory} and the matching getter.
+     */
+    private static class ColumnSpec<S> {
+
+        private final String property;
+        private final Function<S, Object> getter;
+
+        ColumnSpec(String property, Function<S, Object> getter) {
+            this.property = property;
+            this.getter = getter;
+        }
+    }
+}
@@ -127,6 +127,50 @@ INSERT INTO `boarders` (`boarder_id`, `boarder_name`, `boarder_species`, `boarde
 
 -- --------------------------------------------------------
 
+--
+-- Table structure for table `earnings_rollup`
+--
+
+CREATE TABLE `earnings_rollup` (
+  `rollup_date` date NOT NULL,
+  `payment_method` varchar(255) NOT NULL,
+  `captured_total` decimal(14,2) NOT NULL DEFAULT 0.00,
+  `captured_count` int(11) NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+--
+-- Dumping data for table `earnings_rollup`
+--
+
+INSERT INTO `earnings_rollup` (`rollup_date`, `payment_method`, `captured_total`, `captured_count`) VALUES
+('2023-11-26', 'Cash', 8550.00, 1),
+('2023-12-01', 'Cash', 8600.00, 2);
+
+-- --------------------------------------------------------
+
+--
+-- Table structure for table `entity_status_counts`
+--
+
+CREATE TABLE `entity_status_counts` (
+  `entity` varchar(32) NOT NULL,
+  `status` varchar(255) NOT NULL,
+  `status_count` int(11) NOT NULL DEFAULT 0
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+--
+-- Dumping data for table `entity_status_counts`
+--
+
+INSERT INTO `entity_status_counts` (`entity`, `status`, `status_count`) VALUES
+('inventory', 'In Stock', 1),
+('inventory', 'In transit', 1),
+('kennels', 'Available for Boarding', 1),
+('laboratories', 'Available for Testing', 1),
+('transaction', 'Captured', 3);
+
+-- --------------------------------------------------------
+
 --
 -- Table structure for table `inventory`
 --
@@ -223,11 +267,11 @@ CREATE TABLE `patients` (
 --
 
 INSERT INTO `patients` (`patient_id`, `patient_name`, `patient_species`, `patient_breed`, `age_in_years`, `patient_color`, `admitted_date`, `medical_history`, `vaccination_history`, `special_instruction`, `owner_name`, `owner_contact`, `owner_email`, `owner_address`, `patient_insurance`, `patient_weight`, `mchip_id`, `patient_gender`) VALUES
-('1dd2af4e', 'Buddy', 'Dog', 'Golden Retriever', 2.0, 'Light Brown', '2023-11-18', 'n/a', 'Rabies Vaccine\nDistemper Vaccine\nParainfluenza Vaccine', 'n/a', 'Juan Dela Cruz', '09458762314', 'jdc@sample.com', 'Batangas City', 'n/a', 34.00, 'n/a', 'Male'),
-('1f0d8ddd', 'Ming', 'Cat', 'Tabby Cat', 2.5, 'Orange', '2023-11-19', 'n/a', 'Rabies Vaccine\nParvovirus Vaccine\n', 'n/a', 'Maria Santos', '09454623134', 'maria@sample.com', 'Lemery', 'n/a', 4.50, 'n/a', 'Male'),
-('HC734711', 'Scout', 'Dog', 'Chow Chow', 8.5, 'Red', '2023-12-04', 'n/a', 'n/a', 'n/a', 'Paul Bautista', '09454432212', 'paul@email.com', 'Batangas City', 'n/a', 32.00, 'n/a', 'Male'),
-('RT493871', 'Dolly', 'Snake', 'Ball Python', 6.5, 'Axanthic', '2023-11-27', 'n/a', 'n/a', 'n/a', 'Richard Perez', '09774563421', 'ricky@email.com', 'Lipa City', 'n/a', 1.80, 'n/a', 'Female'),
-('YL271643', 'Billy', 'Bird', 'Red and Green Macaw', 25.5, 'Red and Green', '2023-11-29', 'Regular Checkups', 'Polyomavirus Vaccine', 'n/a', 'Nigel Sanchez', '09855623435', 'nigel@email.com', 'Batangas City', 'n/a', 1.70, 'n/a', 'Male');
+('1dd2af4e', 'Buddy', 'Dog', 'Golden Retriever', 2.0, 'Light Brown', '2023-11-18', 'n/a', 'Rabies Vaccine\nDistemper Vaccine\nParainfluenza Vaccine', 'n/a', 'Juan Dela Cruz', '09458762314', 'jdc@sample.com', 'Batangas City', 'n/a', 34.00, NULL, 'Male'),
+('1f0d8ddd', 'Ming', 'Cat', 'Tabby Cat', 2.5, 'Orange', '2023-11-19', 'n/a', 'Rabies Vaccine\nParvovirus Vaccine\n', 'n/a', 'Maria Santos', '09454623134', 'maria@sample.com', 'Lemery', 'n/a', 4.50, NULL, 'Male'),
+('HC734711', 'Scout', 'Dog', 'Chow Chow', 8.5, 'Red', '2023-12-04', 'n/a', 'n/a', 'n/a', 'Paul Bautista', '09454432212', 'paul@email.com', 'Batangas City', 'n/a', 32.00, NULL, 'Male'),
+('RT493871', 'Dolly', 'Snake', 'Ball Python', 6.5, 'Axanthic', '2023-11-27', 'n/a', 'n/a', 'n/a', 'Richard Perez', '09774563421', 'ricky@email.com', 'Lipa City', 'n/a', 1.80, NULL, 'Female'),
+('YL271643', 'Billy', 'Bird', 'Red and Green Macaw', 25.5, 'Red and Green', '2023-11-29', 'Regular Checkups', 'Polyomavirus Vaccine', 'n/a', 'Nigel Sanchez', '09855623435', 'nigel@email.com', 'Batangas City', 'n/a', 1.70, NULL, 'Male');
 
 -- --------------------------------------------------------
 
@@ -276,10 +320,16 @@ CREATE TABLE `transaction` (
   `amt_received` decimal(10,2) DEFAULT NULL,
   `payment_method` varchar(255) DEFAULT NULL,
   `receipt_no` int(10) DEFAULT NULL,
-  `transac_datetime` datetime DEFAULT NULL,
+  `transac_datetime` datetime NOT NULL,
   `transaction_change` decimal(10,2) DEFAULT NULL,
   `transaction_status` varchar(255) DEFAULT NULL
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci
+PARTITION BY RANGE  COLUMNS(`transac_datetime`)
+(
+PARTITION p202311 VALUES LESS THAN ('2023-12-01 00:00:00') ENGINE=InnoDB,
+PARTITION p202312 VALUES LESS THAN ('2024-01-01 00:00:00') ENGINE=InnoDB,
+PARTITION p_future VALUES LESS THAN (MAXVALUE) ENGINE=InnoDB
+);
 
 --
 -- Dumping data for table `transaction`
@@ -290,63 +340,124 @@ INSERT INTO `transaction` (`transaction_id`, `payer`, `payee`, `transaction_type
 ('MI203964', 'Raul Marquez', 'Generic Veterinary Clinic', 'Diagnostic Services', 'Parasitology Diagnosis', 4400.00, 5000.00, 'Cash', 208269627, '2023-12-01 13:44:01', 600.00, 'Captured'),
 ('PD953991', 'John Rodriguez', 'Generic Veterinary Clinc', 'Boarding and Grooming Fees', '2 Month Board + Grooming', 8550.00, 9000.00, 'Cash', 1276307446, '2023-11-26 23:25:20', 450.00, 'Captured');
 
+-- --------------------------------------------------------
+
+--
+-- Table structure for table `transaction_archive`
+--
+
+CREATE TABLE `transaction_archive` (
+  `transaction_id` varchar(10) NOT NULL,
+  `payer` varchar(255) DEFAULT NULL,
+  `payee` varchar(255) DEFAULT NULL,
+  `transaction_type` varchar(255) DEFAULT NULL,
+  `transaction_desc` text DEFAULT NULL,
+  `transaction_amt` decimal(10,2) DEFAULT NULL,
+  `amt_received` decimal(10,2) DEFAULT NULL,
+  `payment_method` varchar(255) DEFAULT NULL,
+  `receipt_no` int(10) DEFAULT NULL,
+  `transac_datetime` datetime NOT NULL,
+  `transaction_change` decimal(10,2) DEFAULT NULL,
+  `transaction_status` varchar(255) DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
 --
 -- Indexes for dumped tables
 --
 
+--
+-- Indexes for table `activation`
+--
+ALTER TABLE `activation`
+  ADD KEY `idx_activation_code` (`activation_code`);
+
 --
 -- Indexes for table `admin`
 --
 ALTER TABLE `admin`
-  ADD PRIMARY KEY (`admin_id`);
+  ADD PRIMARY KEY (`admin_id`),
+  ADD KEY `idx_admin_username` (`username`);
 
 --
 -- Indexes for table `appointment`
 --
 ALTER TABLE `appointment`
-  ADD PRIMARY KEY (`appointment_id`);
+  ADD PRIMARY KEY (`appointment_id`),
+  ADD KEY `idx_appointment_date` (`appointment_date`),
+  ADD KEY `idx_appointment_personnel_date` (`assigned_personnel`,`appointment_date`);
 
 --
 -- Indexes for table `boarders`
 --
 ALTER TABLE `boarders`
-  ADD PRIMARY KEY (`boarder_id`);
+  ADD PRIMARY KEY (`boarder_id`),
+  ADD KEY `idx_boarders_date_boarded` (`date_boarded`),
+  ADD KEY `idx_boarders_date_departed` (`date_departed`);
+
+--
+-- Indexes for table `earnings_rollup`
+--
+ALTER TABLE `earnings_rollup`
+  ADD PRIMARY KEY (`rollup_date`,`payment_method`);
+
+--
+-- Indexes for table `entity_status_counts`
+--
+ALTER TABLE `entity_status_counts`
+  ADD PRIMARY KEY (`entity`,`status`);
 
 --
 -- Indexes for table `inventory`
 --
 ALTER TABLE `inventory`
-  ADD PRIMARY KEY (`item_id`);
+  ADD PRIMARY KEY (`item_id`),
+  ADD KEY `idx_inventory_item_status` (`item_status`);
 
 --
 -- Indexes for table `kennels`
 --
 ALTER TABLE `kennels`
-  ADD PRIMARY KEY (`kennel_id`);
+  ADD PRIMARY KEY (`kennel_id`),
+  ADD KEY `idx_kennels_kennel_status` (`kennel_status`);
 
 --
 -- Indexes for table `laboratories`
 --
 ALTER TABLE `laboratories`
-  ADD PRIMARY KEY (`lab_id`);
+  ADD PRIMARY KEY (`lab_id`),
+  ADD KEY `idx_laboratories_lab_status` (`lab_status`);
 
 --
 -- Indexes for table `patients`
 --
 ALTER TABLE `patients`
-  ADD PRIMARY KEY (`patient_id`);
+  ADD PRIMARY KEY (`patient_id`),
+  ADD KEY `idx_patients_patient_name` (`patient_name`),
+  ADD KEY `idx_patients_admitted_date` (`admitted_date`),
+  ADD KEY `idx_patients_owner_name` (`owner_name`),
+  ADD KEY `idx_patients_owner_contact` (`owner_contact`),
+  ADD UNIQUE KEY `uq_patients_mchip_id` (`mchip_id`);
 
 --
 -- Indexes for table `personnel`
 --
 ALTER TABLE `personnel`
-  ADD PRIMARY KEY (`personnel_id`);
+  ADD PRIMARY KEY (`personnel_id`),
+  ADD KEY `idx_personnel_hire_date` (`hire_date`);
 
 --
 -- Indexes for table `transaction`
 --
 ALTER TABLE `transaction`
-  ADD PRIMARY KEY (`transaction_id`);
+  ADD PRIMARY KEY (`transaction_id`,`transac_datetime`),
+  ADD KEY `idx_transaction_status` (`transaction_status`,`transaction_amt`);
+
+--
+-- Indexes for table `transaction_archive`
+--
+ALTER TABLE `transaction_archive`
+  ADD PRIMARY KEY (`transaction_id`,`transac_datetime`),
+  ADD KEY `idx_transaction_archive_status` (`transaction_status`,`transaction_amt`);
 COMMIT;
 
 /*!40101 SET CHARACTER_SET_CLIENT=@OLD_CHARACTER_SET_CLIENT */;